@@ -0,0 +1,58 @@
+package com.moviecliapplication;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.inject.Guice;
+import com.google.inject.Injector;
+import com.google.inject.util.Modules;
+import com.moviecliapplication.client.AsyncTMDbClient;
+import com.moviecliapplication.client.FixtureTMDbClient;
+import com.moviecliapplication.config.AppModule;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+
+public final class Fixtures {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper()
+            .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+
+    private Fixtures() {
+    }
+
+    public static byte[] bytes(String name) {
+        try (InputStream in = Fixtures.class.getResourceAsStream("/fixtures/" + name)) {
+            if (in == null) {
+                throw new IOException("Missing fixture " + name);
+            }
+            return in.readAllBytes();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public static <T> T parse(String name, Class<T> type) {
+        try {
+            return OBJECT_MAPPER.readValue(bytes(name), type);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public static Injector injector(String movieFixture) {
+        System.setProperty("cache.disk.enabled", "false");
+        System.setProperty("index.persist", "false");
+        System.setProperty("genres.persist", "false");
+        System.setProperty("catalog.enabled", "false");
+        FixtureTMDbClient client = new FixtureTMDbClient(movieFixture);
+        return Guice.createInjector(Modules.override(new AppModule()).with(binder -> {
+            binder.bind(AsyncTMDbClient.class).toInstance(client);
+            binder.bind(FixtureTMDbClient.class).toInstance(client);
+        }));
+    }
+
+    public static ObjectMapper objectMapper() {
+        return OBJECT_MAPPER;
+    }
+}
@@ -0,0 +1,77 @@
+package com.moviecliapplication;
+
+import com.google.inject.Injector;
+import com.moviecliapplication.domain.Movie;
+import com.moviecliapplication.render.TextWrapper;
+import com.moviecliapplication.service.MovieService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.CharArrayWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RenderingBenchmark {
+
+    @Param({"movie-list-1.json", "movie-list-20.json", "movie-list-500.json"})
+    private String fixture;
+
+    @Param({"plain", "table", "ndjson"})
+    private String format;
+
+    private MovieCliApp app;
+    private List<Movie> movies;
+    private String overview;
+    private PrintStream originalOut;
+    private CharArrayWriter sink;
+
+    @Setup
+    public void setUp() {
+        // The app wraps System.out once, so it has to be replaced before the app is created.
+        originalOut = System.out;
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+        System.setProperty("render.format", format);
+        Injector injector = Fixtures.injector(fixture);
+        app = injector.getInstance(MovieCliApp.class);
+        movies = injector.getInstance(MovieService.class).getPopularMovies(1).orElseThrow().content();
+        overview = movies.getFirst().overview();
+        sink = new CharArrayWriter(4096);
+    }
+
+    @TearDown
+    public void tearDown() {
+        System.setOut(originalOut);
+        System.clearProperty("render.format");
+    }
+
+    @Benchmark
+    public int wrapText() throws IOException {
+        sink.reset();
+        TextWrapper.wrap(overview, 80, sink);
+        return sink.size();
+    }
+
+    @Benchmark
+    public void displayMovies() {
+        app.displayMovies(movies);
+    }
+}
@@ -0,0 +1,63 @@
+package com.moviecliapplication;
+
+import com.google.inject.Injector;
+import com.moviecliapplication.domain.Movie;
+import com.moviecliapplication.domain.Page;
+import com.moviecliapplication.service.MovieService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+// One cold measurement per fork: injector bootstrap to the first menu, and on to the first rendered result.
+// JVM boot itself is reported by running the application with --startup-check.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 0)
+@Measurement(iterations = 1)
+@Fork(10)
+public class StartupBenchmark {
+
+    private PrintStream originalOut;
+
+    @Setup
+    public void setUp() {
+        originalOut = System.out;
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+    }
+
+    @TearDown
+    public void tearDown() {
+        System.setOut(originalOut);
+    }
+
+    @Benchmark
+    public MovieCliApp timeToFirstMenu() {
+        MovieCliApp app = Fixtures.injector("movie-list-20.json").getInstance(MovieCliApp.class);
+        app.printMenu();
+        return app;
+    }
+
+    @Benchmark
+    public Optional<Page<Movie>> timeToFirstResult() {
+        Injector injector = Fixtures.injector("movie-list-20.json");
+        MovieCliApp app = injector.getInstance(MovieCliApp.class);
+        app.printMenu();
+        Optional<Page<Movie>> page = injector.getInstance(MovieService.class).searchByName("Alien", 1);
+        page.ifPresent(result -> app.displayMovies(result.content()));
+        return page;
+    }
+}
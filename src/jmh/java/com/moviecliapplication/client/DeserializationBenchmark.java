@@ -0,0 +1,55 @@
+package com.moviecliapplication.client;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.moviecliapplication.Fixtures;
+import com.moviecliapplication.model.MovieListResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DeserializationBenchmark {
+
+    @Param({"movie-list-1.json", "movie-list-20.json", "movie-list-500.json"})
+    private String fixture;
+
+    private byte[] body;
+    private ObjectMapper objectMapper;
+    private JsonBodyHandler<MovieListResponse> bodyHandler;
+
+    @Setup
+    public void setUp() {
+        body = Fixtures.bytes(fixture);
+        objectMapper = Fixtures.objectMapper();
+        bodyHandler = new JsonBodyHandler<>(objectMapper, MovieListResponse.class);
+    }
+
+    @Benchmark
+    public MovieListResponse stringBodyDatabind() throws IOException {
+        String json = new String(body, StandardCharsets.UTF_8);
+        return objectMapper.readValue(json, MovieListResponse.class);
+    }
+
+    @Benchmark
+    public MovieListResponse streamingBody() {
+        return bodyHandler.read(new ByteArrayInputStream(body));
+    }
+}
@@ -0,0 +1,68 @@
+package com.moviecliapplication.client;
+
+import com.moviecliapplication.Fixtures;
+import com.moviecliapplication.model.GenreListResponse;
+import com.moviecliapplication.model.MovieListResponse;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+public class FixtureTMDbClient implements AsyncTMDbClient {
+
+    private final MovieListResponse movies;
+    private final GenreListResponse genres;
+
+    public FixtureTMDbClient(String movieFixture) {
+        this.movies = Fixtures.parse(movieFixture, MovieListResponse.class);
+        this.genres = Fixtures.parse("genre-list.json", GenreListResponse.class);
+    }
+
+    public MovieListResponse movies() {
+        return movies;
+    }
+
+    @Override
+    public CompletableFuture<MovieListResponse> searchMoviesByNameAsync(String name, int page) {
+        return CompletableFuture.completedFuture(movies);
+    }
+
+    @Override
+    public CompletableFuture<MovieListResponse> discoverMoviesByGenreAsync(int genreId, int page) {
+        return CompletableFuture.completedFuture(movies);
+    }
+
+    @Override
+    public CompletableFuture<MovieListResponse> discoverMoviesByYearAsync(int year, int page) {
+        return CompletableFuture.completedFuture(movies);
+    }
+
+    @Override
+    public CompletableFuture<MovieListResponse> discoverMoviesAsync(Map<String, String> filters, int page) {
+        return CompletableFuture.completedFuture(movies);
+    }
+
+    @Override
+    public CompletableFuture<MovieListResponse> getPopularMoviesAsync(int page) {
+        return CompletableFuture.completedFuture(movies);
+    }
+
+    @Override
+    public CompletableFuture<MovieListResponse> getTopRatedMoviesAsync(int page) {
+        return CompletableFuture.completedFuture(movies);
+    }
+
+    @Override
+    public CompletableFuture<MovieListResponse> getNowPlayingMoviesAsync(int page) {
+        return CompletableFuture.completedFuture(movies);
+    }
+
+    @Override
+    public CompletableFuture<MovieListResponse> getUpcomingMoviesAsync(int page) {
+        return CompletableFuture.completedFuture(movies);
+    }
+
+    @Override
+    public CompletableFuture<GenreListResponse> getGenreListAsync() {
+        return CompletableFuture.completedFuture(genres);
+    }
+}
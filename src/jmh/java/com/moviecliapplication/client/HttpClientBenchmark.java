@@ -0,0 +1,91 @@
+package com.moviecliapplication.client;
+
+import com.moviecliapplication.Fixtures;
+import com.moviecliapplication.config.AppConfig;
+import com.moviecliapplication.metrics.Metrics;
+import com.moviecliapplication.model.MovieListResponse;
+import com.moviecliapplication.replay.StandInOptions;
+import com.moviecliapplication.replay.StandInServer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+// Requests per second against the in-process stand-in under 32 concurrent callers, with one shared client
+// versus a client per request, and with and without gzip. The stand-in speaks cleartext HTTP/1.1, so the
+// connection count printed at the end of each trial is the number of TCP handshakes.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Threads(32)
+@Fork(1)
+public class HttpClientBenchmark {
+
+    @Param({"shared", "perRequest"})
+    private String client;
+
+    @Param({"true", "false"})
+    private String gzip;
+
+    private StandInServer server;
+    private HttpClientFactory factory;
+    private HttpClient sharedClient;
+    private JsonBodyHandler<MovieListResponse> bodyHandler;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        System.setProperty("http.gzip", gzip);
+        System.setProperty("http.version", "HTTP_1_1");
+        AppConfig appConfig = new AppConfig();
+        server = new StandInServer(new StandInOptions(0, Files.createTempDirectory("http-bench"), Duration.ZERO,
+                Duration.ZERO, 0, 0, false), appConfig);
+        server.start();
+        factory = new HttpClientFactory(appConfig, new Metrics(appConfig));
+        sharedClient = factory.create();
+        bodyHandler = new JsonBodyHandler<>(Fixtures.objectMapper(), MovieListResponse.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        System.out.printf("%n%d requests over %d connections%n", server.served(), server.connections());
+        sharedClient.close();
+        server.close();
+    }
+
+    @Benchmark
+    public MovieListResponse fetchPage() throws IOException, InterruptedException {
+        int page = ThreadLocalRandom.current().nextInt(1, 501);
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(server.baseUrl() + "/movie/popular?page=" + page))
+                .header("Accept", "application/json");
+        if (factory.acceptsGzip()) {
+            request.header("Accept-Encoding", "gzip");
+        }
+        if (client.equals("shared")) {
+            return sharedClient.send(request.build(), bodyHandler).body().get();
+        }
+        try (HttpClient perRequest = factory.create()) {
+            return perRequest.send(request.build(), bodyHandler).body().get();
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.moviecliapplication.search;
+
+import com.google.inject.Injector;
+import com.moviecliapplication.Fixtures;
+import com.moviecliapplication.service.MovieService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MovieIndexBenchmark {
+
+    @Param({"secret", "detect", "spacship love"})
+    private String query;
+
+    private MovieIndex movieIndex;
+
+    @Setup
+    public void setUp() {
+        Injector injector = Fixtures.injector("movie-list-500.json");
+        movieIndex = injector.getInstance(MovieIndex.class);
+        injector.getInstance(MovieService.class).getPopularMovies(1);
+    }
+
+    @Benchmark
+    public List<SearchHit> search() {
+        return movieIndex.search(query, 20);
+    }
+}
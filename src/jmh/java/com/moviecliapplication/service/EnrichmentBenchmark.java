@@ -0,0 +1,49 @@
+package com.moviecliapplication.service;
+
+import com.google.inject.Injector;
+import com.moviecliapplication.Fixtures;
+import com.moviecliapplication.client.FixtureTMDbClient;
+import com.moviecliapplication.domain.Movie;
+import com.moviecliapplication.domain.Page;
+import com.moviecliapplication.model.MovieListResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EnrichmentBenchmark {
+
+    @Param({"movie-list-1.json", "movie-list-20.json", "movie-list-500.json"})
+    private String fixture;
+
+    private MovieServiceImpl movieService;
+    private MovieListResponse response;
+
+    @Setup
+    public void setUp() {
+        Injector injector = Fixtures.injector(fixture);
+        movieService = injector.getInstance(MovieServiceImpl.class);
+        injector.getInstance(GenreCatalog.class).ready().join();
+        response = injector.getInstance(FixtureTMDbClient.class).movies();
+    }
+
+    @Benchmark
+    public Page<Movie> enrichAndCreatePage() {
+        return movieService.enrichAndCreatePage(response);
+    }
+}
@@ -2,33 +2,398 @@ package com.moviecliapplication;
 
 import com.google.inject.Guice;
 import com.google.inject.Injector;
+import com.moviecliapplication.analytics.AnalyticsOptions;
+import com.moviecliapplication.analytics.AnalyticsReport;
+import com.moviecliapplication.analytics.MovieAnalytics;
+import com.moviecliapplication.batch.BatchException;
+import com.moviecliapplication.batch.BatchOptions;
+import com.moviecliapplication.batch.BatchResult;
+import com.moviecliapplication.batch.BatchRunner;
+import com.moviecliapplication.config.AppConfig;
 import com.moviecliapplication.config.AppModule;
+import com.moviecliapplication.daemon.DaemonClient;
+import com.moviecliapplication.daemon.DaemonOptions;
+import com.moviecliapplication.daemon.DaemonServer;
 import com.moviecliapplication.domain.Movie;
 import com.moviecliapplication.domain.Genre;
 import com.moviecliapplication.domain.Page;
+import com.moviecliapplication.harvest.CatalogHarvester;
+import com.moviecliapplication.harvest.HarvestException;
+import com.moviecliapplication.harvest.HarvestOptions;
+import com.moviecliapplication.harvest.HarvestResult;
+import com.moviecliapplication.load.LoadGenerator;
+import com.moviecliapplication.load.LoadOptions;
+import com.moviecliapplication.load.LoadReport;
+import com.moviecliapplication.metrics.Metrics;
+import com.moviecliapplication.metrics.StatsReporter;
+import com.moviecliapplication.render.MovieRenderer;
+import com.moviecliapplication.render.TypeaheadPrompt;
+import com.moviecliapplication.replay.StandInOptions;
+import com.moviecliapplication.replay.StandInServer;
+import com.moviecliapplication.service.MovieQuery;
+import com.moviecliapplication.service.MovieQueryEngine;
 import com.moviecliapplication.service.MovieService;
+import com.moviecliapplication.service.PrefetchSession;
+import com.moviecliapplication.service.Prefetcher;
+import com.moviecliapplication.service.TypeaheadSearch;
+import com.moviecliapplication.service.TypeaheadSession;
+import com.moviecliapplication.sync.CatalogSync;
+import com.moviecliapplication.sync.SyncOptions;
+import com.moviecliapplication.sync.SyncResult;
 import jakarta.inject.Inject;
 
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.time.Duration;
 import java.util.List;
 import java.util.Optional;
 import java.util.Scanner;
+import java.util.concurrent.CompletableFuture;
 import java.util.function.Function;
+import java.util.function.IntFunction;
 
 public class MovieCliApp {
 
     private final MovieService movieService;
+    private final MovieQueryEngine queryEngine;
+    private final TypeaheadSearch typeaheadSearch;
+    private final Prefetcher prefetcher;
+    private final Metrics metrics;
+    private final StatsReporter statsReporter;
     private final Scanner scanner;
+    // Results go through one buffered writer and are flushed once per page instead of per printf.
+    private final Writer console;
+    private final String renderFormat;
+    private final int renderWidth;
+    private final MovieRenderer renderer;
+    private final boolean typeahead;
 
     @Inject
-    public MovieCliApp(MovieService movieService) {
+    public MovieCliApp(MovieService movieService, MovieQueryEngine queryEngine, TypeaheadSearch typeaheadSearch,
+                       Prefetcher prefetcher, Metrics metrics, StatsReporter statsReporter, AppConfig appConfig) {
         this.movieService = movieService;
+        this.queryEngine = queryEngine;
+        this.typeaheadSearch = typeaheadSearch;
+        this.prefetcher = prefetcher;
+        this.metrics = metrics;
+        this.statsReporter = statsReporter;
         this.scanner = new Scanner(System.in);
+        this.console = new BufferedWriter(new OutputStreamWriter(System.out, StandardCharsets.UTF_8), 1 << 16);
+        String format = appConfig.getString("render.format", "plain").toLowerCase();
+        if (!MovieRenderer.FORMATS.contains(format)) {
+            System.err.println("Unknown render.format " + format + ", using plain");
+            format = "plain";
+        }
+        this.renderFormat = format;
+        this.renderWidth = appConfig.getInt("render.width", 80);
+        this.typeahead = appConfig.getBoolean("typeahead.enabled", true);
+        try {
+            this.renderer = MovieRenderer.create(format, console, renderWidth);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
     }
 
     public static void main(String[] args) {
+        // No method interception is used, so skip Guice's bytecode generation and binding-source stack traces;
+        // both are start-up cost only.
+        setDefaultProperty("guice_bytecode_gen_option", "DISABLED");
+        setDefaultProperty("guice_include_stack_traces", "OFF");
+        if (args.length > 0 && args[0].equals("--startup-check")) {
+            runStartupCheck(args);
+            return;
+        }
+        if (args.length > 0 && args[0].equals("--stand-in")) {
+            runStandIn(args);
+            return;
+        }
+        if (args.length > 0 && args[0].equals("--client")) {
+            runClient(args);
+            return;
+        }
+        if (args.length > 0 && args[0].equals("--load")) {
+            runLoad(args);
+            return;
+        }
+        if (args.length > 0 && args[0].equals("--sync")) {
+            // A sync has to see what TMDb returns now; a cached page, fresh or stale, would look unchanged.
+            // Every page is revalidated instead, so one that did not change costs a 304.
+            setDefaultProperty("cache.alwaysRevalidate", "true");
+        }
+        Injector injector = Guice.createInjector(new AppModule());
+        if (args.length > 0 && args[0].equals("--harvest")) {
+            runHarvest(injector, args);
+        } else if (args.length > 0 && args[0].equals("--sync")) {
+            runSync(injector, args);
+        } else if (args.length > 0 && args[0].equals("--analyze")) {
+            runAnalytics(injector, args);
+        } else if (args.length > 0 && args[0].equals("--batch")) {
+            runBatch(injector, args);
+        } else if (args.length > 0 && args[0].equals("--serve")) {
+            runServer(injector, args);
+            return;
+        } else {
+            MovieCliApp app = injector.getInstance(MovieCliApp.class);
+            app.run();
+        }
+        injector.getInstance(StatsReporter.class).dumpIfConfigured();
+    }
+
+    private static void runHarvest(Injector injector, String[] args) {
+        HarvestOptions options;
+        try {
+            options = HarvestOptions.parse(args);
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.println(HarvestOptions.USAGE);
+            return;
+        }
+        try {
+            HarvestResult result = injector.getInstance(CatalogHarvester.class).harvest(options);
+            System.out.printf("Harvested %d movies from %d pages (%d failed, %d duplicates) into %s in %.1fs%n",
+                    result.moviesWritten(), result.pagesFetched(), result.pagesFailed(),
+                    result.duplicatesSkipped(), options.output(), result.elapsed().toMillis() / 1000.0);
+        } catch (IOException | HarvestException e) {
+            System.err.println("Harvest failed: " + e.getMessage());
+        }
+    }
+
+    private static void runSync(Injector injector, String[] args) {
+        SyncOptions options;
+        try {
+            options = SyncOptions.parse(args);
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.println(SyncOptions.USAGE);
+            return;
+        }
+        try {
+            SyncResult result = injector.getInstance(CatalogSync.class).sync(options);
+            System.out.printf("Synced %d listings: %d added, %d changed, %d removed, written to %s%n",
+                    result.listings(), result.added(), result.changed(), result.removed(), options.delta());
+            System.out.printf("Fetched %d of %d pages (%d unchanged, %d carried over, %d failed) in %.1fs%s%n",
+                    result.pagesFetched(), result.pagesInFull(), result.pagesUnchanged(), result.pagesCarried(),
+                    result.pagesFailed(), result.elapsed().toMillis() / 1000.0,
+                    result.budgetExhausted() ? "; request budget used up" : "");
+        } catch (IOException e) {
+            System.err.println("Sync failed: " + e.getMessage());
+        }
+    }
+
+    private static void runAnalytics(Injector injector, String[] args) {
+        AnalyticsOptions options;
+        try {
+            options = AnalyticsOptions.parse(args);
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.println(AnalyticsOptions.USAGE);
+            return;
+        }
+        Writer output = new BufferedWriter(new OutputStreamWriter(System.out, StandardCharsets.UTF_8), 1 << 16);
+        try {
+            AnalyticsReport report = injector.getInstance(MovieAnalytics.class).run(options);
+            report.write(output, options.format(), options.histogram());
+            output.flush();
+            System.err.printf("Aggregated %d movies (%d unrated, %d duplicates) from %d pages (%d failed) in %.1fs%n",
+                    report.movies(), report.unrated(), report.duplicates(), report.pagesFetched(),
+                    report.pagesFailed(), report.elapsed().toMillis() / 1000.0);
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+        } catch (IOException e) {
+            System.err.println("Could not write the report: " + e.getMessage());
+        }
+    }
+
+    private static void runBatch(Injector injector, String[] args) {
+        BatchOptions options;
+        try {
+            options = BatchOptions.parse(args);
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.println(BatchOptions.USAGE);
+            return;
+        }
+        Writer output = new BufferedWriter(new OutputStreamWriter(System.out, StandardCharsets.UTF_8), 1 << 16);
+        try (BufferedReader input = options.input() == null
+                ? new BufferedReader(new InputStreamReader(System.in, StandardCharsets.UTF_8))
+                : Files.newBufferedReader(options.input(), StandardCharsets.UTF_8)) {
+            BatchResult result = injector.getInstance(BatchRunner.class).run(options, input, output);
+            output.flush();
+            System.err.printf("Ran %d queries (%d failed), %d pages (%d failed), %d movies in %.1fs%n",
+                    result.queries(), result.queriesFailed(), result.pagesFetched(), result.pagesFailed(),
+                    result.moviesWritten(), result.elapsed().toMillis() / 1000.0);
+        } catch (IOException | BatchException e) {
+            System.err.println("Batch failed: " + e.getMessage());
+        }
+    }
+
+    private static void runServer(Injector injector, String[] args) {
+        DaemonServer server = injector.getInstance(DaemonServer.class);
+        DaemonOptions options;
+        try {
+            options = DaemonOptions.parse(args, server.defaultPort());
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.println(DaemonOptions.USAGE);
+            return;
+        }
+        try {
+            server.start(options.port());
+        } catch (IOException e) {
+            System.err.println("Could not start server: " + e.getMessage());
+            return;
+        }
+        StatsReporter statsReporter = injector.getInstance(StatsReporter.class);
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            server.close();
+            statsReporter.dumpIfConfigured();
+        }));
+        System.err.println("Movie server listening on http://127.0.0.1:" + server.port() + ". Press Ctrl+C to stop.");
+    }
+
+    private static void runClient(String[] args) {
+        DaemonOptions options;
+        try {
+            options = DaemonOptions.parse(args, new AppConfig().getInt("daemon.port", 8787));
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.println(DaemonOptions.USAGE);
+            return;
+        }
+        try {
+            new DaemonClient().run(options);
+        } catch (IOException e) {
+            System.err.println("Request to server failed: " + e.getMessage());
+        }
+    }
+
+    private static void runLoad(String[] args) {
+        LoadOptions options;
+        try {
+            options = LoadOptions.parse(args);
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.println(LoadOptions.USAGE);
+            return;
+        }
+        if (options.endpoint() != null) {
+            System.setProperty("tmdb.base.url", options.endpoint());
+        }
+        // Runs start from the same state and leave the user's index, genres and catalog alone.
+        setDefaultProperty("cache.disk.enabled", "false");
+        setDefaultProperty("index.persist", "false");
+        setDefaultProperty("genres.persist", "false");
+        setDefaultProperty("catalog.enabled", "false");
+
         Injector injector = Guice.createInjector(new AppModule());
-        MovieCliApp app = injector.getInstance(MovieCliApp.class);
-        app.run();
+        try {
+            LoadReport report = injector.getInstance(LoadGenerator.class).run(options);
+            report.write(options.output());
+            System.out.printf("%d steps (%d errors, %.2f%%) in %.1fs: %.1f ops/s, p50 %.2f ms, p99 %.2f ms,"
+                            + " p99.9 %.2f ms; report written to %s%n",
+                    report.operations(), report.errors(), report.errorRate() * 100, report.elapsedSeconds(),
+                    report.throughput(), report.latency().p50Millis(), report.latency().p99Millis(),
+                    report.latency().p999Millis(), options.output());
+        } catch (IOException e) {
+            System.err.println("Could not write the load report: " + e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            System.err.println("Load test interrupted.");
+        }
+        injector.getInstance(StatsReporter.class).dumpIfConfigured();
+    }
+
+    private static void runStartupCheck(String[] args) {
+        boolean offline = false;
+        StringBuilder query = new StringBuilder();
+        for (int i = 1; i < args.length; i++) {
+            if (args[i].equals("--offline")) {
+                offline = true;
+            } else {
+                query.append(query.isEmpty() ? "" : " ").append(args[i]);
+            }
+        }
+
+        StandInServer standIn = null;
+        if (offline) {
+            standIn = new StandInServer(StandInOptions.parse(new String[] {"--stand-in", "--port", "0"}), new AppConfig());
+            try {
+                standIn.start();
+            } catch (IOException e) {
+                System.err.println("Could not start stand-in server: " + e.getMessage());
+                return;
+            }
+            System.setProperty("tmdb.base.url", standIn.baseUrl());
+            setDefaultProperty("cache.disk.enabled", "false");
+            setDefaultProperty("index.persist", "false");
+            setDefaultProperty("genres.persist", "false");
+        }
+
+        try {
+            Injector injector = Guice.createInjector(new AppModule());
+            MovieCliApp app = injector.getInstance(MovieCliApp.class);
+            app.printMenu();
+            System.out.println();
+            long firstMenuAt = System.currentTimeMillis();
+
+            app.movieService.searchByName(query.isEmpty() ? "Alien" : query.toString(), 1)
+                    .ifPresent(page -> app.displayMovies(page.content()));
+            long firstResultAt = System.currentTimeMillis();
+
+            // Read only after both timestamps are taken: loading java.management is not part of the budget.
+            long jvmStartAt = ManagementFactory.getRuntimeMXBean().getStartTime();
+            AppConfig appConfig = injector.getInstance(AppConfig.class);
+            Duration firstMenu = Duration.ofMillis(firstMenuAt - jvmStartAt);
+            Duration firstResult = Duration.ofMillis(firstResultAt - jvmStartAt);
+            Duration menuBudget = appConfig.getDuration("startup.budget.firstMenu", Duration.ofSeconds(1));
+            Duration resultBudget = appConfig.getDuration("startup.budget.firstResult", Duration.ofSeconds(2));
+            System.err.printf("Startup: first menu %d ms (budget %d ms, %s), first result %d ms (budget %d ms, %s)%n",
+                    firstMenu.toMillis(), menuBudget.toMillis(), firstMenu.compareTo(menuBudget) <= 0 ? "ok" : "OVER",
+                    firstResult.toMillis(), resultBudget.toMillis(), firstResult.compareTo(resultBudget) <= 0 ? "ok" : "OVER");
+        } finally {
+            if (standIn != null) {
+                standIn.close();
+            }
+        }
+    }
+
+    private static void setDefaultProperty(String key, String value) {
+        if (System.getProperty(key) == null) {
+            System.setProperty(key, value);
+        }
+    }
+
+    private static void runStandIn(String[] args) {
+        StandInOptions options;
+        try {
+            options = StandInOptions.parse(args);
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.println(StandInOptions.USAGE);
+            return;
+        }
+        StandInServer server = new StandInServer(options, new AppConfig());
+        try {
+            server.start();
+        } catch (IOException e) {
+            System.err.println("Could not start stand-in server: " + e.getMessage());
+            return;
+        }
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            server.close();
+            System.out.printf("Stand-in served %d requests (%d recorded).%n", server.served(), server.recorded());
+        }));
+        System.out.println("TMDb stand-in listening on " + server.baseUrl()
+                + (options.record() ? " (recording to " : " (fixtures from ") + options.fixtureDirectory() + ")");
+        System.out.println("Run the CLI with -Dtmdb.base.url=" + server.baseUrl() + " to use it. Press Ctrl+C to stop.");
     }
 
     public void run() {
@@ -42,7 +407,9 @@ public class MovieCliApp {
                 case "2" -> handleNameSearch();
                 case "3" -> handleGenreSearch();
                 case "4" -> handleYearSearch();
-                case "5", "exit" -> running = false;
+                case "5" -> handleCombinedSearch();
+                case "6", "exit" -> running = false;
+                case "stats" -> System.out.print(statsReporter.toText());
                 case null, default -> System.out.println("Invalid choice. Please try again.");
             }
         }
@@ -50,20 +417,41 @@ public class MovieCliApp {
         scanner.close();
     }
 
-    private void printMenu() {
+    void printMenu() {
         System.out.println("\n--- Movie Search CLI ---");
         System.out.println("1. Search movies by Category");
         System.out.println("2. Search movies by Name");
         System.out.println("3. Search movies by Genre");
         System.out.println("4. Search movies by Year");
-        System.out.println("5. Exit");
+        System.out.println("5. Find movies by several criteria");
+        System.out.println("6. Exit");
+        System.out.println("(type 'stats' to show performance statistics)");
         System.out.print("Enter your choice: ");
     }
 
     private void handleNameSearch() {
-        System.out.println("Enter movie name to search: ");
-        String name = scanner.nextLine();
-        Function<Integer, Optional<Page<Movie>>> pageFetcher = (page) -> movieService.searchByName(name, page);
+        Optional<TypeaheadPrompt> prompt = typeahead ? TypeaheadPrompt.open(console, renderWidth) : Optional.empty();
+        String name;
+        if (prompt.isPresent()) {
+            System.out.println("Type a movie name (Enter to search, Esc to go back): ");
+            try (TypeaheadPrompt terminal = prompt.get();
+                 TypeaheadSession session = typeaheadSearch.open(
+                         suggestions -> terminal.show(suggestions.text(), suggestions.movies(), suggestions.pending(),
+                                 suggestions.error()))) {
+                Optional<String> typed = terminal.read(session::update);
+                if (typed.isEmpty() || typed.get().isBlank()) {
+                    return;
+                }
+                name = typed.get();
+            } catch (IOException e) {
+                System.err.println("Could not read from the terminal: " + e.getMessage());
+                return;
+            }
+        } else {
+            System.out.println("Enter movie name to search: ");
+            name = scanner.nextLine();
+        }
+        IntFunction<CompletableFuture<Optional<Page<Movie>>>> pageFetcher = (page) -> movieService.searchByNameAsync(name, page);
         managePaginatedSession(pageFetcher);
     }
 
@@ -71,7 +459,7 @@ public class MovieCliApp {
         System.out.println("Enter year to search: ");
         try {
             int year = Integer.parseInt(scanner.nextLine());
-            Function<Integer, Optional<Page<Movie>>> pageFetcher = (page) -> movieService.getMoviesByYear(year, page);
+            IntFunction<CompletableFuture<Optional<Page<Movie>>>> pageFetcher = (page) -> movieService.getMoviesByYearAsync(year, page);
             managePaginatedSession(pageFetcher);
         } catch (NumberFormatException e) {
             System.out.println("Invalid year format. Please enter a year.");
@@ -95,7 +483,7 @@ public class MovieCliApp {
             int choice = Integer.parseInt(scanner.nextLine());
             if (choice > 0 && choice <= genres.size()) {
                 int genreId = genres.get(choice - 1) .id();
-                Function<Integer, Optional<Page<Movie>>> pageFetcher = (page) -> movieService.getMoviesByYear(genreId, page);
+                IntFunction<CompletableFuture<Optional<Page<Movie>>>> pageFetcher = (page) -> movieService.getMoviesByYearAsync(genreId, page);
                 managePaginatedSession(pageFetcher);
             } else {
                 System.out.println("Invalid selection.");
@@ -106,6 +494,19 @@ public class MovieCliApp {
 
     }
 
+    private void handleCombinedSearch() {
+        System.out.println("Enter criteria:");
+        System.out.println(MovieQuery.SYNTAX);
+        try {
+            MovieQuery query = MovieQuery.parse(scanner.nextLine());
+            // The engine scans several pages per answer and blocks while doing so, so it runs on its own thread.
+            managePaginatedSession(page -> CompletableFuture.supplyAsync(() -> queryEngine.find(query, page),
+                    runnable -> Thread.ofVirtual().name("query").start(runnable)));
+        } catch (IllegalArgumentException e) {
+            System.out.println(e.getMessage());
+        }
+    }
+
     private void handleCategorySearch() {
         System.out.println("\nSelect a category:");
         System.out.println("1. Popular");
@@ -115,13 +516,13 @@ public class MovieCliApp {
         System.out.println("Enter your choice: ");
         String choice = scanner.nextLine().trim();
 
-        Function<Integer, Optional<Page<Movie>>> pageFetcher;
+        IntFunction<CompletableFuture<Optional<Page<Movie>>>> pageFetcher;
 
         switch (choice) {
-            case "1" -> pageFetcher = movieService::getPopularMovies;
-            case "2" -> pageFetcher = movieService::getTopRatedMovies;
-            case "3" -> pageFetcher = movieService::getNowPlayingMovies;
-            case "4" -> pageFetcher = movieService::getUpcomingMovies;
+            case "1" -> pageFetcher = movieService::getPopularMoviesAsync;
+            case "2" -> pageFetcher = movieService::getTopRatedMoviesAsync;
+            case "3" -> pageFetcher = movieService::getNowPlayingMoviesAsync;
+            case "4" -> pageFetcher = movieService::getUpcomingMoviesAsync;
             default -> {
                 System.out.println("Invalid category choice.");
                 return;
@@ -130,52 +531,36 @@ public class MovieCliApp {
         managePaginatedSession(pageFetcher);
     }
 
-    private void displayMovies(List<Movie> movies) {
+    void displayMovies(List<Movie> movies) {
         if (movies == null || movies.isEmpty()) {
             System.out.println("No movies found matching your criteria.");
             return;
         }
 
-        System.out.println("\n--- Search Results (10 items per page) ---");
-
-        movies.stream()
-                .limit(10)
-                .forEach(movie -> {
-                    System.out.println("--------------------------");
-                    System.out.printf("Title: %s (%s)\n", movie.title(), movie.releaseDate());
-                    System.out.printf("Rating: %.1f/10\n", movie.voteAverage());
-                    System.out.printf("Genres: %s\n", String.join(", ", movie.genres()));
-                    System.out.printf("\nOverview:\n%s\n", wrapText(movie.overview(), 80));
-
-                });
-        System.out.println("--------------------------");
-    }
-
-    private String wrapText(String text, int maxWidth) {
-        if (text == null || text.isEmpty()) {
-            return "";
-        }
-
-        String [] words = text.split(" ");
-        StringBuilder wrappedText = new StringBuilder();
-        StringBuilder currentLine = new StringBuilder();
-
-        for (String word : words) {
-            if (currentLine.length() + word.length() + 1 > maxWidth) {
-                wrappedText.append(currentLine).append("\n");
-                currentLine = new StringBuilder();
+        long start = metrics.start();
+        try {
+            if (!renderFormat.equals("ndjson")) {
+                console.write("\n--- Search Results (10 items per page) ---\n");
             }
-            if (currentLine.length() > 0) {
-                currentLine.append(" ");
+            renderer.begin();
+            for (int i = 0; i < Math.min(10, movies.size()); i++) {
+                renderer.render(movies.get(i));
             }
-            currentLine.append(word);
+            renderer.end();
+            console.flush();
+        } catch (IOException e) {
+            System.err.println("Could not write results: " + e.getMessage());
         }
+        metrics.recordSince("cli_render", start);
+    }
 
-        wrappedText.append(currentLine);
-        return wrappedText.toString();
+    private void managePaginatedSession(IntFunction<CompletableFuture<Optional<Page<Movie>>>> pageFetcher) {
+        try (PrefetchSession<Movie> session = prefetcher.open(pageFetcher)) {
+            browsePages(session);
+        }
     }
 
-    private void managePaginatedSession(Function<Integer, Optional<Page<Movie>>> pageFetcher) {
+    private void browsePages(Function<Integer, Optional<Page<Movie>>> pageFetcher) {
         int currentPageNumber = 1;
         Optional<Page<Movie>> currentPageOpt = pageFetcher.apply(currentPageNumber);
 
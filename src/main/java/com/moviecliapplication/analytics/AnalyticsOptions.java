@@ -0,0 +1,117 @@
+package com.moviecliapplication.analytics;
+
+import com.moviecliapplication.service.MovieQuery;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public record AnalyticsOptions(
+        MovieQuery query,
+        GroupBy groupBy,
+        double[] quantiles,
+        int maxPages,
+        int parallelism,
+        boolean histogram,
+        String format
+) {
+
+    public static final String USAGE = """
+            Usage: --analyze "<query>" [options]
+              query: the combined search syntax, e.g. "genre:action year:1990-2020"
+              --group-by <g>       none | genre | year | decade | genre,year | genre,decade (default genre)
+              --quantiles <list>   rating quantiles to report (default 0.5,0.9)
+              --max-pages <n>      stop after this many pages (default 500)
+              --parallelism <n>    pages fetched and aggregated at once (default 8)
+              --histogram          also print a rating histogram of all matches (text format only)
+              --format <f>         text | csv (default text)""";
+
+    public enum GroupBy {
+        NONE(false, 0),
+        GENRE(true, 0),
+        YEAR(false, 1),
+        DECADE(false, 10),
+        GENRE_YEAR(true, 1),
+        GENRE_DECADE(true, 10);
+
+        final boolean byGenre;
+        // Width of a release-date bucket in years, or 0 when not grouped by date.
+        final int period;
+
+        GroupBy(boolean byGenre, int period) {
+            this.byGenre = byGenre;
+            this.period = period;
+        }
+    }
+
+    public static AnalyticsOptions parse(String[] args) {
+        if (args.length < 2) {
+            throw new IllegalArgumentException("Missing query to analyze.");
+        }
+        MovieQuery query = MovieQuery.parse(args[1]);
+        GroupBy groupBy = GroupBy.GENRE;
+        double[] quantiles = {0.5, 0.9};
+        int maxPages = 500;
+        int parallelism = 8;
+        boolean histogram = false;
+        String format = "text";
+
+        for (int i = 2; i < args.length; i++) {
+            switch (args[i]) {
+                case "--group-by" -> groupBy = parseGroupBy(value(args, ++i));
+                case "--quantiles" -> quantiles = parseQuantiles(value(args, ++i));
+                case "--max-pages" -> maxPages = parseInt(args, ++i);
+                case "--parallelism" -> parallelism = parseInt(args, ++i);
+                case "--histogram" -> histogram = true;
+                case "--format" -> format = value(args, ++i).toLowerCase();
+                default -> throw new IllegalArgumentException("Unknown option: " + args[i]);
+            }
+        }
+        if (!format.equals("text") && !format.equals("csv")) {
+            throw new IllegalArgumentException("Unknown format: " + format);
+        }
+        if (maxPages < 1 || parallelism < 1) {
+            throw new IllegalArgumentException("--max-pages and --parallelism must be positive.");
+        }
+        return new AnalyticsOptions(query, groupBy, quantiles, maxPages, parallelism, histogram, format);
+    }
+
+    private static GroupBy parseGroupBy(String value) {
+        try {
+            return GroupBy.valueOf(value.toUpperCase().replace(',', '_'));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown grouping: " + value);
+        }
+    }
+
+    private static double[] parseQuantiles(String value) {
+        List<Double> parsed = new ArrayList<>();
+        for (String part : value.split(",")) {
+            try {
+                double quantile = Double.parseDouble(part.strip());
+                if (quantile < 0 || quantile > 1) {
+                    throw new IllegalArgumentException("Quantiles must be between 0 and 1: " + part);
+                }
+                parsed.add(quantile);
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Expected a quantile but got: " + part);
+            }
+        }
+        return parsed.stream().mapToDouble(Double::doubleValue).toArray();
+    }
+
+    private static int parseInt(String[] args, int index) {
+        String value = value(args, index);
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Expected a number but got: " + value);
+        }
+    }
+
+    private static String value(String[] args, int index) {
+        if (index >= args.length) {
+            throw new IllegalArgumentException("Missing value for " + args[index - 1]);
+        }
+        return args[index];
+    }
+}
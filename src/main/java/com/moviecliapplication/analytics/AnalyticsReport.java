@@ -0,0 +1,104 @@
+package com.moviecliapplication.analytics;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+
+public record AnalyticsReport(
+        AnalyticsOptions.GroupBy groupBy,
+        double[] quantiles,
+        List<Row> rows,
+        Row total,
+        long[] histogram,
+        int pagesFetched,
+        int pagesFailed,
+        long movies,
+        long unrated,
+        long duplicates,
+        Duration elapsed
+) {
+
+    private static final int BAR_WIDTH = 40;
+
+    public record Row(String genre, String period, long movies, double mean, double stddev, double min,
+                      double[] quantiles, double max) {
+    }
+
+    public void write(Writer writer, String format, boolean withHistogram) throws IOException {
+        if (format.equals("csv")) {
+            writeCsv(writer);
+            return;
+        }
+        writer.write(String.format(Locale.ROOT, "%-18s %-8s %8s %6s %6s %6s", "genre", "period", "movies", "mean",
+                "stddev", "min"));
+        for (double quantile : quantiles) {
+            writer.write(String.format(Locale.ROOT, " %6s", quantileLabel(quantile)));
+        }
+        writer.write(String.format(Locale.ROOT, " %6s%n", "max"));
+        for (Row row : rows) {
+            writeText(writer, row.genre(), row);
+        }
+        if (total != null) {
+            writeText(writer, "all", total);
+        }
+        if (withHistogram) {
+            writeHistogram(writer);
+        }
+    }
+
+    private static void writeText(Writer writer, String genre, Row row) throws IOException {
+        writer.write(String.format(Locale.ROOT, "%-18s %-8s %8d %6.2f %6.2f %6.2f", genre, row.period(),
+                row.movies(), row.mean(), row.stddev(), row.min()));
+        for (double value : row.quantiles()) {
+            writer.write(String.format(Locale.ROOT, " %6.2f", value));
+        }
+        writer.write(String.format(Locale.ROOT, " %6.2f%n", row.max()));
+    }
+
+    private void writeCsv(Writer writer) throws IOException {
+        writer.write("genre,period,movies,mean,stddev,min");
+        for (double quantile : quantiles) {
+            writer.write("," + quantileLabel(quantile));
+        }
+        writer.write(",max\n");
+        for (Row row : rows) {
+            writeCsv(writer, row.genre(), row);
+        }
+        if (total != null) {
+            writeCsv(writer, "all", total);
+        }
+    }
+
+    private static void writeCsv(Writer writer, String genre, Row row) throws IOException {
+        writer.write(csvField(genre) + "," + row.period() + "," + row.movies());
+        writer.write(String.format(Locale.ROOT, ",%.3f,%.3f,%.3f", row.mean(), row.stddev(), row.min()));
+        for (double value : row.quantiles()) {
+            writer.write(String.format(Locale.ROOT, ",%.3f", value));
+        }
+        writer.write(String.format(Locale.ROOT, ",%.3f%n", row.max()));
+    }
+
+    private void writeHistogram(Writer writer) throws IOException {
+        long largest = 1;
+        for (long count : histogram) {
+            largest = Math.max(largest, count);
+        }
+        writer.write(System.lineSeparator() + "Ratings of all rated matches:" + System.lineSeparator());
+        for (int bucket = 0; bucket < histogram.length; bucket++) {
+            int bar = (int) Math.round((double) histogram[bucket] * BAR_WIDTH / largest);
+            writer.write(String.format(Locale.ROOT, "%2d-%-2d %-" + BAR_WIDTH + "s %d%n", bucket, bucket + 1,
+                    "#".repeat(bar), histogram[bucket]));
+        }
+    }
+
+    private static String quantileLabel(double quantile) {
+        String percent = String.format(Locale.ROOT, "%.1f", quantile * 100);
+        return "p" + (percent.endsWith(".0") ? percent.substring(0, percent.length() - 2) : percent);
+    }
+
+    private static String csvField(String value) {
+        return value.contains(",") || value.contains("\"") ? "\"" + value.replace("\"", "\"\"") + "\"" : value;
+    }
+}
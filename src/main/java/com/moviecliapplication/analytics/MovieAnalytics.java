@@ -0,0 +1,231 @@
+package com.moviecliapplication.analytics;
+
+import com.moviecliapplication.catalog.LongIntMap;
+import com.moviecliapplication.domain.Movie;
+import com.moviecliapplication.domain.Page;
+import com.moviecliapplication.service.GenreCatalog;
+import com.moviecliapplication.service.MovieQueryEngine;
+
+import jakarta.inject.Inject;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.IntFunction;
+
+// Streams every page of a query and aggregates ratings as pages arrive. Each worker claims the next page
+// number, waits for it and adds it to an accumulator only it touches; the accumulators are merged once all
+// pages are in. The accumulators' memory depends only on the number of groups; deduplication adds one primitive
+// entry per distinct movie id.
+public class MovieAnalytics {
+
+    // Group keys: genre bit (or one of the two slots below) in the high half, release year or decade in the low.
+    private static final int NO_GENRE = 64;
+    private static final int ANY_GENRE = 65;
+    private static final int ANY_PERIOD = -1;
+    private static final int UNKNOWN_PERIOD = 0;
+    private static final long TOTAL = key(ANY_GENRE, ANY_PERIOD);
+
+    private final MovieQueryEngine queryEngine;
+    private final GenreCatalog genreCatalog;
+
+    @Inject
+    public MovieAnalytics(MovieQueryEngine queryEngine, GenreCatalog genreCatalog) {
+        this.queryEngine = queryEngine;
+        this.genreCatalog = genreCatalog;
+    }
+
+    public AnalyticsReport run(AnalyticsOptions options) {
+        long start = System.nanoTime();
+        IntFunction<CompletableFuture<Optional<Page<Movie>>>> pages = queryEngine.pages(options.query());
+        SeenIds seenIds = new SeenIds();
+        Worker[] workers = new Worker[options.parallelism()];
+        for (int i = 0; i < workers.length; i++) {
+            workers[i] = new Worker(options.groupBy(), seenIds);
+        }
+
+        Optional<Page<Movie>> first = pages.apply(1).join();
+        workers[0].accept(first);
+        int lastPage = first.map(page -> Math.min(page.totalPages(), options.maxPages())).orElse(0);
+        AtomicInteger nextPage = new AtomicInteger(2);
+        try (ExecutorService virtualThreadExecutor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (Worker worker : workers) {
+                virtualThreadExecutor.execute(() -> {
+                    for (int page = nextPage.getAndIncrement(); page <= lastPage; page = nextPage.getAndIncrement()) {
+                        worker.accept(pages.apply(page).join());
+                    }
+                });
+            }
+        }
+
+        Worker merged = workers[0];
+        for (int i = 1; i < workers.length; i++) {
+            merged.merge(workers[i]);
+        }
+        return report(options, merged, Duration.ofNanos(System.nanoTime() - start));
+    }
+
+    private AnalyticsReport report(AnalyticsOptions options, Worker totals, Duration elapsed) {
+        RatingAccumulator stats = totals.stats;
+        List<AnalyticsReport.Row> rows = new ArrayList<>();
+        AnalyticsReport.Row total = null;
+        for (int slot = 0; slot < stats.size(); slot++) {
+            long key = stats.key(slot);
+            AnalyticsReport.Row row = row(stats, slot, options.quantiles());
+            if (key == TOTAL) {
+                total = row;
+            } else {
+                rows.add(row);
+            }
+        }
+        rows.sort(Comparator.comparing(AnalyticsReport.Row::genre).thenComparing(AnalyticsReport.Row::period));
+        int totalSlot = stats.find(TOTAL);
+        long[] histogram = totalSlot == LongIntMap.MISSING ? new long[10] : stats.histogram(totalSlot, 10);
+        return new AnalyticsReport(options.groupBy(), options.quantiles(), rows, total, histogram,
+                totals.pagesFetched, totals.pagesFailed, totals.movies, totals.unrated, totals.duplicates, elapsed);
+    }
+
+    private AnalyticsReport.Row row(RatingAccumulator stats, int slot, double[] quantiles) {
+        long key = stats.key(slot);
+        double[] values = new double[quantiles.length];
+        for (int i = 0; i < quantiles.length; i++) {
+            values[i] = stats.quantile(slot, quantiles[i]);
+        }
+        return new AnalyticsReport.Row(genreLabel((int) (key >>> 32)), periodLabel((int) key), stats.count(slot),
+                stats.mean(slot), stats.stddev(slot), stats.min(slot), values, stats.max(slot));
+    }
+
+    private String genreLabel(int genre) {
+        return switch (genre) {
+            case ANY_GENRE -> "";
+            case NO_GENRE -> "(none)";
+            default -> genreCatalog.namesOf(1L << genre).getFirst();
+        };
+    }
+
+    private static String periodLabel(int period) {
+        return switch (period) {
+            case ANY_PERIOD -> "";
+            case UNKNOWN_PERIOD -> "unknown";
+            default -> Integer.toString(period);
+        };
+    }
+
+    private static long key(int genre, int period) {
+        return ((long) genre << 32) | (period & 0xFFFFFFFFL);
+    }
+
+    private static final class Worker {
+
+        private final AnalyticsOptions.GroupBy groupBy;
+        private final SeenIds seenIds;
+        private final RatingAccumulator stats = new RatingAccumulator();
+        private int pagesFetched;
+        private int pagesFailed;
+        private long movies;
+        private long unrated;
+        private long duplicates;
+
+        private Worker(AnalyticsOptions.GroupBy groupBy, SeenIds seenIds) {
+            this.groupBy = groupBy;
+            this.seenIds = seenIds;
+        }
+
+        void accept(Optional<Page<Movie>> page) {
+            if (page.isEmpty()) {
+                pagesFailed++;
+                return;
+            }
+            pagesFetched++;
+            for (Movie movie : page.get().content()) {
+                // TMDb pages shift while they are read, so the same movie can show up on two pages.
+                if (!seenIds.add(movie.id())) {
+                    duplicates++;
+                    continue;
+                }
+                movies++;
+                // TMDb reports 0 for movies nobody has voted on yet; they would drag every statistic down.
+                if (movie.voteAverage() <= 0) {
+                    unrated++;
+                    continue;
+                }
+                add(movie);
+            }
+        }
+
+        private void add(Movie movie) {
+            double rating = movie.voteAverage();
+            stats.add(TOTAL, rating);
+            if (groupBy == AnalyticsOptions.GroupBy.NONE) {
+                return;
+            }
+            int period = groupBy.period == 0 ? ANY_PERIOD : periodOf(movie.releaseDate(), groupBy.period);
+            if (!groupBy.byGenre) {
+                stats.add(key(ANY_GENRE, period), rating);
+                return;
+            }
+            long mask = movie.genreMask();
+            if (mask == 0) {
+                stats.add(key(NO_GENRE, period), rating);
+            }
+            for (; mask != 0; mask &= mask - 1) {
+                stats.add(key(Long.numberOfTrailingZeros(mask), period), rating);
+            }
+        }
+
+        void merge(Worker other) {
+            stats.merge(other.stats);
+            pagesFetched += other.pagesFetched;
+            pagesFailed += other.pagesFailed;
+            movies += other.movies;
+            unrated += other.unrated;
+            duplicates += other.duplicates;
+        }
+
+        private static int periodOf(String releaseDate, int width) {
+            if (releaseDate == null || releaseDate.length() < 4) {
+                return UNKNOWN_PERIOD;
+            }
+            try {
+                int year = Integer.parseInt(releaseDate, 0, 4, 10);
+                return year - year % width;
+            } catch (NumberFormatException e) {
+                return UNKNOWN_PERIOD;
+            }
+        }
+    }
+
+    // Ids already counted, split over independently locked stripes so workers rarely wait on one another.
+    private static final class SeenIds {
+
+        private static final int STRIPES = 64;
+
+        private final LongIntMap[] maps = new LongIntMap[STRIPES];
+        private final ReentrantLock[] locks = new ReentrantLock[STRIPES];
+
+        SeenIds() {
+            for (int i = 0; i < STRIPES; i++) {
+                maps[i] = new LongIntMap(64);
+                locks[i] = new ReentrantLock();
+            }
+        }
+
+        // Returns false when the id was already added.
+        boolean add(long id) {
+            int stripe = (int) ((id ^ (id >>> 29)) * 0x9E3779B97F4A7C15L >>> 58);
+            locks[stripe].lock();
+            try {
+                return maps[stripe].put(id, 0) == LongIntMap.MISSING;
+            } finally {
+                locks[stripe].unlock();
+            }
+        }
+    }
+}
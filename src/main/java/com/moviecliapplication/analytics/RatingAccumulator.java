@@ -0,0 +1,153 @@
+package com.moviecliapplication.analytics;
+
+import com.moviecliapplication.catalog.LongIntMap;
+
+import java.util.Arrays;
+
+// Rating statistics per group in flat primitive arrays, owned by one thread and merged at the end. Besides
+// count, sum, sum of squares, min and max, each group keeps two sets of 0.1-wide bins: one centred on each tenth
+// from 0 to 9.9 (10 shares the top bin), for quantiles within one bin width, and one starting at each tenth, so
+// histogram buckets have exact bounds. Memory per group is fixed no matter how many movies are added.
+final class RatingAccumulator {
+
+    static final int BINS = 100;
+    private static final double BIN_WIDTH = 10.0 / BINS;
+
+    private final LongIntMap slots = new LongIntMap(64);
+    private long[] keys = new long[16];
+    private long[] counts = new long[16];
+    private double[] sums = new double[16];
+    private double[] sumSquares = new double[16];
+    private double[] mins = new double[16];
+    private double[] maxs = new double[16];
+    private int[] bins = new int[16 * BINS];
+    private int[] floorBins = new int[16 * BINS];
+    private int size;
+
+    void add(long key, double rating) {
+        int slot = slotOf(key);
+        counts[slot]++;
+        sums[slot] += rating;
+        sumSquares[slot] += rating * rating;
+        mins[slot] = Math.min(mins[slot], rating);
+        maxs[slot] = Math.max(maxs[slot], rating);
+        bins[slot * BINS + binOf(rating)]++;
+        floorBins[slot * BINS + floorBinOf(rating)]++;
+    }
+
+    void merge(RatingAccumulator other) {
+        for (int from = 0; from < other.size; from++) {
+            int slot = slotOf(other.keys[from]);
+            counts[slot] += other.counts[from];
+            sums[slot] += other.sums[from];
+            sumSquares[slot] += other.sumSquares[from];
+            mins[slot] = Math.min(mins[slot], other.mins[from]);
+            maxs[slot] = Math.max(maxs[slot], other.maxs[from]);
+            for (int bin = 0; bin < BINS; bin++) {
+                bins[slot * BINS + bin] += other.bins[from * BINS + bin];
+                floorBins[slot * BINS + bin] += other.floorBins[from * BINS + bin];
+            }
+        }
+    }
+
+    int size() {
+        return size;
+    }
+
+    // The slot of a group, or LongIntMap.MISSING if nothing was added to it.
+    int find(long key) {
+        return slots.get(key);
+    }
+
+    long key(int slot) {
+        return keys[slot];
+    }
+
+    long count(int slot) {
+        return counts[slot];
+    }
+
+    double mean(int slot) {
+        return sums[slot] / counts[slot];
+    }
+
+    double stddev(int slot) {
+        double mean = mean(slot);
+        return Math.sqrt(Math.max(0, sumSquares[slot] / counts[slot] - mean * mean));
+    }
+
+    double min(int slot) {
+        return mins[slot];
+    }
+
+    double max(int slot) {
+        return maxs[slot];
+    }
+
+    // Interpolates linearly inside the bin the rank falls in, so the error is below BIN_WIDTH.
+    double quantile(int slot, double quantile) {
+        double rank = quantile * counts[slot];
+        long seen = 0;
+        int offset = slot * BINS;
+        for (int bin = 0; bin < BINS; bin++) {
+            int inBin = bins[offset + bin];
+            if (inBin > 0 && seen + inBin >= rank) {
+                double value = (bin - 0.5 + (rank - seen) / inBin) * BIN_WIDTH;
+                return Math.clamp(value, mins[slot], maxs[slot]);
+            }
+            seen += inBin;
+        }
+        return maxs[slot];
+    }
+
+    // Counts in `buckets` equal-width buckets over 0..10, each including its lower bound (10 falls in the last);
+    // buckets must divide BINS.
+    long[] histogram(int slot, int buckets) {
+        long[] histogram = new long[buckets];
+        int perBucket = BINS / buckets;
+        for (int bin = 0; bin < BINS; bin++) {
+            histogram[bin / perBucket] += floorBins[slot * BINS + bin];
+        }
+        return histogram;
+    }
+
+    private int slotOf(long key) {
+        int slot = slots.get(key);
+        if (slot != LongIntMap.MISSING) {
+            return slot;
+        }
+        if (size == keys.length) {
+            grow();
+        }
+        slot = size++;
+        slots.put(key, slot);
+        keys[slot] = key;
+        mins[slot] = Double.POSITIVE_INFINITY;
+        maxs[slot] = Double.NEGATIVE_INFINITY;
+        return slot;
+    }
+
+    private void grow() {
+        int capacity = keys.length * 2;
+        keys = Arrays.copyOf(keys, capacity);
+        counts = Arrays.copyOf(counts, capacity);
+        sums = Arrays.copyOf(sums, capacity);
+        sumSquares = Arrays.copyOf(sumSquares, capacity);
+        mins = Arrays.copyOf(mins, capacity);
+        maxs = Arrays.copyOf(maxs, capacity);
+        bins = Arrays.copyOf(bins, capacity * BINS);
+        floorBins = Arrays.copyOf(floorBins, capacity * BINS);
+    }
+
+    // Bin b is centred on rating b / 10. Truncating rating / BIN_WIDTH put ratings such as 7.3 (72.99...) one bin
+    // low; rounding the rating in tenths does not.
+    private static int binOf(double rating) {
+        return Math.clamp(Math.round(rating * 10), 0, BINS - 1);
+    }
+
+    // Bin b covers [b / 10, (b + 1) / 10). The epsilon keeps ratings such as 7.3, stored as 7.29999..., out of
+    // the bin below.
+    private static int floorBinOf(double rating) {
+        return Math.clamp((long) Math.floor(rating * 10 + 1e-9), 0, BINS - 1);
+    }
+}
@@ -0,0 +1,8 @@
+package com.moviecliapplication.batch;
+
+public class BatchException extends RuntimeException {
+
+    public BatchException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
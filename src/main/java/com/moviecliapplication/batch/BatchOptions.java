@@ -0,0 +1,73 @@
+package com.moviecliapplication.batch;
+
+import java.nio.file.Path;
+import java.util.List;
+
+public record BatchOptions(
+        Path input,
+        int parallelism,
+        String format,
+        boolean inputOrder,
+        int maxPages
+) {
+
+    public static final String USAGE = """
+            Usage: --batch [options]
+              reads one query per line from --input or stdin and writes matching movies to stdout
+              queries:  name:<title> | genre:<id or name> | year:<year> | popular | top_rated | now_playing | upcoming
+                        optionally followed by pages=<n> | pages=<from>-<to> | pages=all (default pages=1)
+              --input <file>             query file (default stdin)
+              --parallelism <n>          queries executed concurrently (default 16)
+              --format <ndjson|csv|plain|table>  output format (default ndjson)
+              --order <input|completion> emit queries in input order or in the order they return pages (default input)
+              --max-pages <n>            upper bound for pages=all (default 500)""";
+
+    public static BatchOptions parse(String[] args) {
+        Path input = null;
+        int parallelism = 16;
+        String format = "ndjson";
+        boolean inputOrder = true;
+        int maxPages = 500;
+
+        for (int i = 1; i < args.length; i++) {
+            switch (args[i]) {
+                case "--input" -> input = Path.of(value(args, ++i));
+                case "--parallelism" -> parallelism = parseInt(args, ++i);
+                case "--format" -> format = value(args, ++i).toLowerCase();
+                case "--order" -> {
+                    String order = value(args, ++i).toLowerCase();
+                    switch (order) {
+                        case "input" -> inputOrder = true;
+                        case "completion" -> inputOrder = false;
+                        default -> throw new IllegalArgumentException("Unknown order: " + order);
+                    }
+                }
+                case "--max-pages" -> maxPages = parseInt(args, ++i);
+                default -> throw new IllegalArgumentException("Unknown option: " + args[i]);
+            }
+        }
+        if (!List.of("ndjson", "csv", "plain", "table").contains(format)) {
+            throw new IllegalArgumentException("Unknown format: " + format);
+        }
+        if (parallelism < 1 || maxPages < 1) {
+            throw new IllegalArgumentException("--parallelism and --max-pages must be positive.");
+        }
+        return new BatchOptions(input, parallelism, format, inputOrder, maxPages);
+    }
+
+    private static int parseInt(String[] args, int index) {
+        String value = value(args, index);
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Expected a number but got: " + value);
+        }
+    }
+
+    private static String value(String[] args, int index) {
+        if (index >= args.length) {
+            throw new IllegalArgumentException("Missing value for " + args[index - 1]);
+        }
+        return args[index];
+    }
+}
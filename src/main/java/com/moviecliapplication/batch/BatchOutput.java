@@ -0,0 +1,19 @@
+package com.moviecliapplication.batch;
+
+import java.io.IOException;
+import java.io.Writer;
+
+interface BatchOutput {
+
+    void write(QueryResult result) throws IOException;
+
+    void flush() throws IOException;
+
+    static BatchOutput create(String format, Writer writer) throws IOException {
+        return switch (format) {
+            case "csv" -> new CsvOutput(writer);
+            case "plain", "table" -> new RenderedOutput(format, writer, 80);
+            default -> new NdjsonOutput(writer);
+        };
+    }
+}
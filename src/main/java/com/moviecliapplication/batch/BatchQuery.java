@@ -0,0 +1,73 @@
+package com.moviecliapplication.batch;
+
+public record BatchQuery(
+        int line,
+        String text,
+        String kind,
+        String argument,
+        int firstPage,
+        int lastPage
+) {
+
+    public static final int ALL_PAGES = Integer.MAX_VALUE;
+
+    public static BatchQuery parse(int line, String text) {
+        String query = text.strip();
+        int firstPage = 1;
+        int lastPage = 1;
+
+        int pagesAt = query.lastIndexOf("pages=");
+        if (pagesAt > 0 && Character.isWhitespace(query.charAt(pagesAt - 1))) {
+            String pages = query.substring(pagesAt + "pages=".length()).strip().toLowerCase();
+            query = query.substring(0, pagesAt).strip();
+            if (pages.equals("all")) {
+                lastPage = ALL_PAGES;
+            } else {
+                int dash = pages.indexOf('-');
+                firstPage = parsePage(dash < 0 ? pages : pages.substring(0, dash));
+                lastPage = dash < 0 ? firstPage : parsePage(pages.substring(dash + 1));
+                if (lastPage < firstPage) {
+                    throw new IllegalArgumentException("Page range is empty: " + pages);
+                }
+            }
+        }
+
+        int colon = query.indexOf(':');
+        String kind = (colon < 0 ? query : query.substring(0, colon)).strip().toLowerCase();
+        String argument = colon < 0 ? null : query.substring(colon + 1).strip();
+
+        switch (kind) {
+            case "name", "genre", "year" -> {
+                if (argument == null || argument.isEmpty()) {
+                    throw new IllegalArgumentException(kind + " needs a value, e.g. " + kind + ":...");
+                }
+                if (kind.equals("year")) {
+                    parseNumber(argument, "year");
+                }
+            }
+            case "popular", "top_rated", "now_playing", "upcoming" -> {
+                if (argument != null && !argument.isEmpty()) {
+                    throw new IllegalArgumentException(kind + " does not take a value.");
+                }
+            }
+            default -> throw new IllegalArgumentException("Unknown query type: " + kind);
+        }
+        return new BatchQuery(line, text.strip(), kind, argument, firstPage, lastPage);
+    }
+
+    private static int parsePage(String value) {
+        int page = parseNumber(value.strip(), "page");
+        if (page < 1) {
+            throw new IllegalArgumentException("Pages start at 1.");
+        }
+        return page;
+    }
+
+    static int parseNumber(String value, String what) {
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Expected a " + what + " number but got: " + value);
+        }
+    }
+}
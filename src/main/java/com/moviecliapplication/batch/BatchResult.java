@@ -0,0 +1,13 @@
+package com.moviecliapplication.batch;
+
+import java.time.Duration;
+
+public record BatchResult(
+        int queries,
+        int queriesFailed,
+        int pagesFetched,
+        int pagesFailed,
+        long moviesWritten,
+        Duration elapsed
+) {
+}
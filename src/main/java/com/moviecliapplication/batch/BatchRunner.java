@@ -0,0 +1,190 @@
+package com.moviecliapplication.batch;
+
+import com.moviecliapplication.domain.Genre;
+import com.moviecliapplication.domain.Movie;
+import com.moviecliapplication.domain.Page;
+import com.moviecliapplication.service.MovieService;
+
+import jakarta.inject.Inject;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Writer;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.IntFunction;
+
+public class BatchRunner {
+
+    private final MovieService movieService;
+    private volatile Map<String, Integer> genreIdsByName;
+
+    @Inject
+    public BatchRunner(MovieService movieService) {
+        this.movieService = movieService;
+    }
+
+    public BatchResult run(BatchOptions options, BufferedReader input, Writer output) throws IOException {
+        long start = System.nanoTime();
+        Semaphore querySlots = new Semaphore(options.parallelism());
+        Semaphore pageSlots = new Semaphore(options.parallelism());
+        AtomicInteger queriesFailed = new AtomicInteger();
+        AtomicInteger pagesFetched = new AtomicInteger();
+        AtomicInteger pagesFailed = new AtomicInteger();
+        AtomicLong moviesWritten = new AtomicLong();
+
+        BatchOutput batchOutput = BatchOutput.create(options.format(), output);
+        ResultSequencer sequencer = new ResultSequencer(batchOutput, options.inputOrder(), querySlots::release);
+        int queries = 0;
+
+        try (ExecutorService virtualThreadExecutor = Executors.newVirtualThreadPerTaskExecutor()) {
+            String line;
+            int lineNumber = 0;
+            while ((line = input.readLine()) != null) {
+                lineNumber++;
+                String text = line.strip();
+                if (text.isEmpty() || text.startsWith("#")) {
+                    continue;
+                }
+                // Permits are returned when a query's last chunk is written, so in input order a slow query also
+                // bounds how many queries can be buffered behind it.
+                querySlots.acquireUninterruptibly();
+                int sequence = queries++;
+                int queryLine = lineNumber;
+                virtualThreadExecutor.execute(() -> {
+                    Consumer<QueryResult> emit = chunk -> {
+                        if (chunk.error() != null) {
+                            queriesFailed.incrementAndGet();
+                        }
+                        pagesFetched.addAndGet(chunk.pages().size());
+                        pagesFailed.addAndGet(chunk.pagesFailed());
+                        moviesWritten.addAndGet(chunk.movieCount());
+                        sequencer.accept(sequence, chunk);
+                    };
+                    emit.accept(execute(queryLine, text, options, pageSlots, virtualThreadExecutor, emit));
+                });
+            }
+            querySlots.acquireUninterruptibly(options.parallelism());
+        }
+
+        if (sequencer.failure() != null) {
+            throw new BatchException("Could not write batch results: " + sequencer.failure().getMessage(),
+                    sequencer.failure());
+        }
+        return new BatchResult(queries, queriesFailed.get(), pagesFetched.get(), pagesFailed.get(),
+                moviesWritten.get(), Duration.ofNanos(System.nanoTime() - start));
+    }
+
+    // Pages are passed to `emit` one by one in page order, with at most `parallelism` fetched ahead, so a long
+    // query neither holds all of its pages nor waits for the slowest one before its first rows are written.
+    // Returns the query's closing chunk.
+    private QueryResult execute(int line, String text, BatchOptions options, Semaphore pageSlots,
+                                ExecutorService executor, Consumer<QueryResult> emit) {
+        BatchQuery query;
+        IntFunction<CompletableFuture<Optional<Page<Movie>>>> fetcher;
+        try {
+            query = BatchQuery.parse(line, text);
+            fetcher = fetcherFor(query);
+        } catch (IllegalArgumentException e) {
+            return QueryResult.failed(line, text, e.getMessage());
+        }
+
+        try {
+            Optional<Page<Movie>> firstPage = fetchWithPermit(fetcher, query.firstPage(), pageSlots);
+            if (firstPage.isEmpty()) {
+                return QueryResult.failed(line, query.text(), "page " + query.firstPage() + " could not be fetched");
+            }
+            int lastPage = Math.min(Math.min(query.lastPage(), firstPage.get().totalPages()),
+                    query.firstPage() + options.maxPages() - 1);
+
+            emit.accept(QueryResult.page(line, query.text(), firstPage.get()));
+
+            Deque<CompletableFuture<Optional<Page<Movie>>>> ahead = new ArrayDeque<>();
+            int nextPage = query.firstPage() + 1;
+            int failed = 0;
+            while (true) {
+                while (ahead.size() < options.parallelism() && nextPage <= lastPage) {
+                    int target = nextPage++;
+                    ahead.add(CompletableFuture.supplyAsync(() -> fetchWithPermit(fetcher, target, pageSlots),
+                            executor));
+                }
+                if (ahead.isEmpty()) {
+                    break;
+                }
+                Optional<Page<Movie>> page = ahead.poll().join();
+                if (page.isPresent()) {
+                    emit.accept(QueryResult.page(line, query.text(), page.get()));
+                } else {
+                    failed++;
+                }
+            }
+            return QueryResult.finished(line, query.text(), failed);
+        } catch (RuntimeException e) {
+            return QueryResult.failed(line, query.text(), String.valueOf(e.getMessage()));
+        }
+    }
+
+    private IntFunction<CompletableFuture<Optional<Page<Movie>>>> fetcherFor(BatchQuery query) {
+        return switch (query.kind()) {
+            case "name" -> page -> movieService.searchByNameAsync(query.argument(), page);
+            case "genre" -> {
+                int genreId = resolveGenre(query.argument());
+                yield page -> movieService.getMoviesByGenreAsync(genreId, page);
+            }
+            case "year" -> {
+                int year = BatchQuery.parseNumber(query.argument(), "year");
+                yield page -> movieService.getMoviesByYearAsync(year, page);
+            }
+            case "popular" -> movieService::getPopularMoviesAsync;
+            case "top_rated" -> movieService::getTopRatedMoviesAsync;
+            case "now_playing" -> movieService::getNowPlayingMoviesAsync;
+            case "upcoming" -> movieService::getUpcomingMoviesAsync;
+            default -> throw new IllegalArgumentException("Unknown query type: " + query.kind());
+        };
+    }
+
+    private int resolveGenre(String argument) {
+        if (!argument.isEmpty() && Character.isDigit(argument.charAt(0))) {
+            return BatchQuery.parseNumber(argument, "genre");
+        }
+        Map<String, Integer> byName = genreIdsByName;
+        if (byName == null) {
+            byName = new HashMap<>();
+            for (Genre genre : movieService.getGenres()) {
+                byName.put(genre.name().toLowerCase(), genre.id());
+            }
+            genreIdsByName = byName;
+        }
+        Integer genreId = byName.get(argument.toLowerCase());
+        if (genreId == null) {
+            throw new IllegalArgumentException("Unknown genre: " + argument);
+        }
+        return genreId;
+    }
+
+    private Optional<Page<Movie>> fetchWithPermit(IntFunction<CompletableFuture<Optional<Page<Movie>>>> fetcher,
+                                                  int pageNumber, Semaphore pageSlots) {
+        try {
+            pageSlots.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return Optional.empty();
+        }
+        try {
+            return fetcher.apply(pageNumber).join();
+        } finally {
+            pageSlots.release();
+        }
+    }
+}
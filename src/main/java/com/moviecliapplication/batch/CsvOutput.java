@@ -0,0 +1,74 @@
+package com.moviecliapplication.batch;
+
+import com.moviecliapplication.domain.Movie;
+import com.moviecliapplication.domain.Page;
+
+import java.io.IOException;
+import java.io.Writer;
+
+class CsvOutput implements BatchOutput {
+
+    private static final String HEADER = "line,query,page,id,title,release_date,vote_average,genres,error\n";
+
+    private final Writer writer;
+    private final StringBuilder row = new StringBuilder(256);
+
+    CsvOutput(Writer writer) throws IOException {
+        this.writer = writer;
+        writer.write(HEADER);
+    }
+
+    @Override
+    public void write(QueryResult result) throws IOException {
+        for (Page<Movie> page : result.pages()) {
+            for (Movie movie : page.content()) {
+                row.setLength(0);
+                row.append(result.line()).append(',');
+                appendField(result.query()).append(',');
+                row.append(page.pageNumber()).append(',');
+                row.append(movie.id()).append(',');
+                appendField(movie.title()).append(',');
+                appendField(movie.releaseDate()).append(',');
+                row.append(movie.voteAverage()).append(',');
+                appendField(movie.genres() == null ? "" : String.join("|", movie.genres())).append(",\n");
+                writer.append(row);
+            }
+        }
+        String error = NdjsonOutput.errorOf(result);
+        if (error != null) {
+            row.setLength(0);
+            row.append(result.line()).append(',');
+            appendField(result.query()).append(",,,,,,,");
+            appendField(error).append('\n');
+            writer.append(row);
+        }
+    }
+
+    @Override
+    public void flush() throws IOException {
+        writer.flush();
+    }
+
+    private StringBuilder appendField(String value) {
+        if (value == null) {
+            return row;
+        }
+        boolean quote = false;
+        for (int i = 0; i < value.length() && !quote; i++) {
+            char c = value.charAt(i);
+            quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+        if (!quote) {
+            return row.append(value);
+        }
+        row.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"') {
+                row.append('"');
+            }
+            row.append(c);
+        }
+        return row.append('"');
+    }
+}
@@ -0,0 +1,62 @@
+package com.moviecliapplication.batch;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.moviecliapplication.domain.Movie;
+import com.moviecliapplication.domain.Page;
+
+import java.io.IOException;
+import java.io.Writer;
+
+class NdjsonOutput implements BatchOutput {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final JsonGenerator generator;
+
+    NdjsonOutput(Writer writer) throws IOException {
+        this.generator = objectMapper.getFactory().createGenerator(writer);
+        generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        generator.disable(JsonGenerator.Feature.FLUSH_PASSED_TO_STREAM);
+        generator.setRootValueSeparator(null);
+    }
+
+    @Override
+    public void write(QueryResult result) throws IOException {
+        for (Page<Movie> page : result.pages()) {
+            for (Movie movie : page.content()) {
+                generator.writeStartObject();
+                generator.writeNumberField("line", result.line());
+                generator.writeStringField("query", result.query());
+                generator.writeNumberField("page", page.pageNumber());
+                generator.writeFieldName("movie");
+                objectMapper.writeValue(generator, movie);
+                generator.writeEndObject();
+                generator.writeRaw('\n');
+            }
+        }
+        String error = errorOf(result);
+        if (error != null) {
+            generator.writeStartObject();
+            generator.writeNumberField("line", result.line());
+            generator.writeStringField("query", result.query());
+            generator.writeStringField("error", error);
+            generator.writeEndObject();
+            generator.writeRaw('\n');
+        }
+    }
+
+    @Override
+    public void flush() throws IOException {
+        generator.flush();
+    }
+
+    static String errorOf(QueryResult result) {
+        if (result.error() != null) {
+            return result.error();
+        }
+        if (result.pagesFailed() > 0) {
+            return result.pagesFailed() + " page(s) could not be fetched";
+        }
+        return null;
+    }
+}
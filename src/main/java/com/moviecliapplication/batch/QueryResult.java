@@ -0,0 +1,38 @@
+package com.moviecliapplication.batch;
+
+import com.moviecliapplication.domain.Movie;
+import com.moviecliapplication.domain.Page;
+
+import java.util.List;
+
+// One chunk of a query's results. A query is written as any number of chunks carrying its pages, in page order,
+// followed by a complete one with the failure count and error, if any.
+public record QueryResult(
+        int line,
+        String query,
+        List<Page<Movie>> pages,
+        int pagesFailed,
+        String error,
+        boolean complete
+) {
+
+    static QueryResult page(int line, String query, Page<Movie> page) {
+        return new QueryResult(line, query, List.of(page), 0, null, false);
+    }
+
+    static QueryResult finished(int line, String query, int pagesFailed) {
+        return new QueryResult(line, query, List.of(), pagesFailed, null, true);
+    }
+
+    static QueryResult failed(int line, String query, String error) {
+        return new QueryResult(line, query, List.of(), 0, error, true);
+    }
+
+    long movieCount() {
+        long count = 0;
+        for (Page<Movie> page : pages) {
+            count += page.content().size();
+        }
+        return count;
+    }
+}
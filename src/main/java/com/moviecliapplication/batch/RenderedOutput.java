@@ -0,0 +1,55 @@
+package com.moviecliapplication.batch;
+
+import com.moviecliapplication.domain.Movie;
+import com.moviecliapplication.domain.Page;
+import com.moviecliapplication.render.MovieRenderer;
+
+import java.io.IOException;
+import java.io.Writer;
+
+// Human-readable batch output (plain or table): a heading per query, its movies, and a closing count. The
+// sequencer keeps each query's chunks together, so a heading is due whenever no query is open.
+class RenderedOutput implements BatchOutput {
+
+    private final Writer writer;
+    private final MovieRenderer renderer;
+    private boolean open;
+    private long movies;
+
+    RenderedOutput(String format, Writer writer, int width) throws IOException {
+        this.writer = writer;
+        this.renderer = MovieRenderer.create(format, writer, width);
+    }
+
+    @Override
+    public void write(QueryResult result) throws IOException {
+        if (!open) {
+            writer.append("\n=== ").append(String.valueOf(result.line())).append(": ").append(result.query())
+                    .append(" ===\n");
+            renderer.begin();
+            open = true;
+            movies = 0;
+        }
+        for (Page<Movie> page : result.pages()) {
+            for (Movie movie : page.content()) {
+                renderer.render(movie);
+            }
+        }
+        movies += result.movieCount();
+        if (!result.complete()) {
+            return;
+        }
+        renderer.end();
+        open = false;
+        writer.append("(").append(String.valueOf(movies)).append(" movies)\n");
+        String error = NdjsonOutput.errorOf(result);
+        if (error != null) {
+            writer.append("! ").append(error).append('\n');
+        }
+    }
+
+    @Override
+    public void flush() throws IOException {
+        writer.flush();
+    }
+}
@@ -0,0 +1,121 @@
+package com.moviecliapplication.batch;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Writes each query's chunks as they arrive, one query at a time so its rows stay together: the next in input
+// order, or with completion order whichever query returned pages first. Chunks of the other queries wait here,
+// and a query that has BUFFERED_CHUNKS waiting is held until its turn, which bounds memory per query.
+class ResultSequencer {
+
+    private static final int BUFFERED_CHUNKS = 16;
+    private static final int NONE = -1;
+
+    private final BatchOutput output;
+    private final boolean inputOrder;
+    private final Runnable onEmitted;
+    private final Map<Integer, Deque<QueryResult>> pending = new LinkedHashMap<>();
+    // A lock rather than synchronized: producers on virtual threads wait here while the output is written.
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition turnTaken = lock.newCondition();
+    private int nextToEmit;
+    private int active = NONE;
+    private IOException failure;
+
+    ResultSequencer(BatchOutput output, boolean inputOrder, Runnable onEmitted) {
+        this.output = output;
+        this.inputOrder = inputOrder;
+        this.onEmitted = onEmitted;
+    }
+
+    void accept(int sequence, QueryResult chunk) {
+        lock.lock();
+        try {
+            Deque<QueryResult> queued = pending.computeIfAbsent(sequence, key -> new ArrayDeque<>());
+            while (sequence != active && queued.size() >= BUFFERED_CHUNKS && !chunk.complete()) {
+                turnTaken.awaitUninterruptibly();
+            }
+            queued.add(chunk);
+            if (drain()) {
+                flush();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    IOException failure() {
+        lock.lock();
+        try {
+            return failure;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private boolean drain() {
+        boolean emitted = false;
+        while (true) {
+            if (active == NONE) {
+                active = next();
+                if (active == NONE) {
+                    return emitted;
+                }
+                turnTaken.signalAll();
+            }
+            Deque<QueryResult> queued = pending.get(active);
+            if (queued == null) {
+                return emitted;
+            }
+            QueryResult chunk;
+            while ((chunk = queued.poll()) != null) {
+                emit(chunk);
+                emitted = true;
+                if (chunk.complete()) {
+                    pending.remove(active);
+                    active = NONE;
+                    nextToEmit++;
+                    onEmitted.run();
+                    break;
+                }
+            }
+            if (active != NONE) {
+                return emitted;
+            }
+        }
+    }
+
+    private int next() {
+        if (inputOrder) {
+            return nextToEmit;
+        }
+        Iterator<Integer> started = pending.keySet().iterator();
+        return started.hasNext() ? started.next() : NONE;
+    }
+
+    private void emit(QueryResult chunk) {
+        try {
+            if (failure == null) {
+                output.write(chunk);
+            }
+        } catch (IOException e) {
+            failure = e;
+        }
+    }
+
+    private void flush() {
+        try {
+            if (failure == null) {
+                output.flush();
+            }
+        } catch (IOException e) {
+            failure = e;
+        }
+    }
+}
@@ -0,0 +1,164 @@
+package com.moviecliapplication.catalog;
+
+import com.moviecliapplication.domain.Movie;
+import com.moviecliapplication.service.GenreCatalog;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Read-only view of one segment written by SegmentEncoder. Columns are read in place from the mapping;
+// only the movies of a requested page are turned into objects.
+final class CatalogSegment {
+
+    private final ByteBuffer buffer;
+    private final int rows;
+    private final int[] genreIds;
+    private final String[] genreNames;
+    private final int idsAt;
+    private final int masksAt;
+    private final int datesAt;
+    private final int votesAt;
+    private final int titleOffsetsAt;
+    private final int overviewOffsetsAt;
+    private final int titleHeapAt;
+    private final int overviewHeapAt;
+    private final Map<Long, Genres> genresByMask = new HashMap<>();
+
+    CatalogSegment(MappedByteBuffer mapping) throws IOException {
+        this.buffer = mapping.order(ByteOrder.LITTLE_ENDIAN);
+        if (buffer.getInt(0) != SegmentEncoder.SEGMENT_MAGIC) {
+            throw new IOException("Corrupt catalog segment");
+        }
+        this.rows = buffer.getInt(4);
+        int genreCount = buffer.getInt(8);
+        this.genreIds = new int[genreCount];
+        this.genreNames = new String[genreCount];
+
+        int position = SegmentEncoder.HEADER_BYTES;
+        for (int g = 0; g < genreCount; g++) {
+            genreIds[g] = buffer.getInt(position);
+            position += Integer.BYTES;
+        }
+        for (int g = 0; g < genreCount; g++) {
+            int length = buffer.getShort(position);
+            genreNames[g] = string(position + Short.BYTES, length);
+            position += Short.BYTES + length;
+        }
+        this.idsAt = (int) SegmentEncoder.align(position);
+        this.masksAt = idsAt + rows * Long.BYTES;
+        this.datesAt = masksAt + rows * Long.BYTES;
+        this.votesAt = datesAt + rows * Integer.BYTES;
+        this.titleOffsetsAt = votesAt + rows * Float.BYTES;
+        this.overviewOffsetsAt = titleOffsetsAt + (rows + 1) * Integer.BYTES;
+        this.titleHeapAt = (int) SegmentEncoder.align(overviewOffsetsAt + (rows + 1) * Integer.BYTES);
+        this.overviewHeapAt = titleHeapAt + buffer.getInt(titleOffsetsAt + rows * Integer.BYTES);
+    }
+
+    int rows() {
+        return rows;
+    }
+
+    long id(int row) {
+        return buffer.getLong(idsAt + row * Long.BYTES);
+    }
+
+    long genreMask(int row) {
+        return buffer.getLong(masksAt + row * Long.BYTES);
+    }
+
+    int releaseDate(int row) {
+        return buffer.getInt(datesAt + row * Integer.BYTES);
+    }
+
+    float voteAverage(int row) {
+        return buffer.getFloat(votesAt + row * Float.BYTES);
+    }
+
+    // The mask bit for a TMDb genre id in this segment, or 0 when no movie in the segment has that genre.
+    long genreBit(int genreId) {
+        for (int g = 0; g < genreIds.length; g++) {
+            if (genreIds[g] == genreId) {
+                return 1L << g;
+            }
+        }
+        return 0;
+    }
+
+    int[] genreIds(long mask) {
+        int[] ids = new int[Long.bitCount(mask)];
+        for (int i = 0, g = 0; g < genreIds.length; g++) {
+            if ((mask & (1L << g)) != 0) {
+                ids[i++] = genreIds[g];
+            }
+        }
+        return ids;
+    }
+
+    String[] genreNames(long mask) {
+        String[] names = new String[Long.bitCount(mask)];
+        for (int i = 0, g = 0; g < genreNames.length; g++) {
+            if ((mask & (1L << g)) != 0) {
+                names[i++] = genreNames[g];
+            }
+        }
+        return names;
+    }
+
+    byte[] titleBytes(int row) {
+        return slice(titleHeapAt, titleOffsetsAt, row);
+    }
+
+    byte[] overviewBytes(int row) {
+        return slice(overviewHeapAt, overviewOffsetsAt, row);
+    }
+
+    Movie movie(int row, GenreCatalog genreCatalog) {
+        long mask = genreMask(row);
+        Genres genres;
+        synchronized (genresByMask) {
+            genres = genresByMask.computeIfAbsent(mask, m -> resolve(m, genreCatalog));
+        }
+        return new Movie(
+                id(row),
+                new String(titleBytes(row), StandardCharsets.UTF_8),
+                new String(overviewBytes(row), StandardCharsets.UTF_8),
+                SegmentEncoder.decodeDate(releaseDate(row)),
+                Math.round(voteAverage(row) * 1000.0) / 1000.0,
+                genres.names(),
+                genres.mask());
+    }
+
+    // Segment bits are local to the segment; translate them to the catalog's mask so every movie shares the
+    // same interned list. If the genre list does not know an id yet, fall back to the names stored on disk.
+    private Genres resolve(long segmentMask, GenreCatalog genreCatalog) {
+        long mask = genreCatalog.maskOf(genreIds(segmentMask));
+        if ((mask & GenreCatalog.UNKNOWN_GENRE) != 0) {
+            return new Genres(0, List.of(genreNames(segmentMask)));
+        }
+        return new Genres(mask, genreCatalog.namesOf(mask));
+    }
+
+    private record Genres(long mask, List<String> names) {
+    }
+
+    private byte[] slice(int heapAt, int offsetsAt, int row) {
+        int start = buffer.getInt(offsetsAt + row * Integer.BYTES);
+        int end = buffer.getInt(offsetsAt + (row + 1) * Integer.BYTES);
+        byte[] bytes = new byte[end - start];
+        buffer.get(heapAt + start, bytes);
+        return bytes;
+    }
+
+    private String string(int position, int length) {
+        byte[] bytes = new byte[length];
+        buffer.get(position, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
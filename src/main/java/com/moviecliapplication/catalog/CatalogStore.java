@@ -0,0 +1,512 @@
+package com.moviecliapplication.catalog;
+
+import com.moviecliapplication.config.AppConfig;
+import com.moviecliapplication.domain.Movie;
+import com.moviecliapplication.domain.Page;
+import com.moviecliapplication.service.GenreCatalog;
+
+import jakarta.inject.Inject;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+import java.util.function.IntPredicate;
+
+public class CatalogStore {
+
+    public static final int PAGE_SIZE = 20;
+
+    private static final int FILE_MAGIC = 0x4D564354;
+    // Version 2 segments carry a CRC32C; version 1 files are still read, without the check, until compacted.
+    private static final int VERSION = 2;
+    private static final int FILE_HEADER_BYTES = 8;
+    private static final int COMPACTED_SEGMENT_ROWS = 65_536;
+
+    private final Path catalogFile;
+    private final GenreCatalog genreCatalog;
+    private final int segmentRows;
+    private final int maxSegments;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final CompletableFuture<Void> loaded;
+    private final List<Movie> pending = new ArrayList<>();
+    private boolean flushScheduled;
+
+    private List<CatalogSegment> segments = new ArrayList<>();
+    private int[] segmentStarts = new int[16];
+    private int rowCount;
+    private BitSet live = new BitSet();
+    private LongIntMap rowsById = new LongIntMap(1024);
+    private FileChannel channel;
+    // Held for the life of the process by the one process allowed to append, truncate and compact; any other
+    // process opens the catalog read-only. It is a separate file because compaction replaces catalog.bin.
+    private FileChannel lockChannel;
+    private boolean writable;
+
+    @Inject
+    public CatalogStore(AppConfig appConfig, GenreCatalog genreCatalog) {
+        this.genreCatalog = genreCatalog;
+        this.segmentRows = appConfig.getInt("catalog.segmentRows", 1000);
+        this.maxSegments = appConfig.getInt("catalog.maxSegments", 256);
+        this.catalogFile = appConfig.getBoolean("catalog.enabled", true)
+                ? Path.of(appConfig.getString("catalog.file", System.getProperty("user.home") + "/.movie-cli/catalog.bin"))
+                : null;
+        if (catalogFile != null) {
+            loaded = CompletableFuture.runAsync(this::open,
+                    runnable -> Thread.ofVirtual().name("catalog-loader").start(runnable));
+            Runtime.getRuntime().addShutdownHook(Thread.ofPlatform().unstarted(this::close));
+        } else {
+            loaded = CompletableFuture.completedFuture(null);
+        }
+    }
+
+    public boolean isEnabled() {
+        return catalogFile != null;
+    }
+
+    // Cheap enough for an HTTP completion stage: a full batch is encoded and written on a background thread.
+    public void append(Collection<Movie> movies) {
+        if (catalogFile == null || movies.isEmpty() || (loaded.isDone() && !writable)) {
+            return;
+        }
+        synchronized (pending) {
+            pending.addAll(movies);
+            if (pending.size() < segmentRows || flushScheduled) {
+                return;
+            }
+            flushScheduled = true;
+        }
+        loaded.thenRunAsync(() -> {
+            synchronized (pending) {
+                flushScheduled = false;
+            }
+            flush();
+        }, runnable -> Thread.ofVirtual().name("catalog-writer").start(runnable));
+    }
+
+    public void flush() {
+        if (catalogFile == null) {
+            return;
+        }
+        loaded.join();
+        lock.writeLock().lock();
+        try {
+            List<Movie> batch;
+            synchronized (pending) {
+                if (pending.isEmpty()) {
+                    return;
+                }
+                batch = new ArrayList<>(pending);
+                pending.clear();
+            }
+            if (!writable) {
+                return;
+            }
+            SegmentEncoder encoder = new SegmentEncoder();
+            for (Movie movie : batch) {
+                addMovie(encoder, movie);
+            }
+            appendSegment(encoder);
+        } catch (IOException e) {
+            System.err.println("Could not append to catalog " + catalogFile + ": " + e.getMessage());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        flush();
+        lock.readLock().lock();
+        try {
+            return live.cardinality();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public Page<Movie> moviesByGenre(int genreId, int page) {
+        return filteredPage(segment -> {
+            long bit = segment.genreBit(genreId);
+            return bit == 0 ? row -> false : row -> (segment.genreMask(row) & bit) != 0;
+        }, page);
+    }
+
+    public Page<Movie> moviesByYear(int year, int page) {
+        return filteredPage(segment -> row -> segment.releaseDate(row) / 10_000 == year, page);
+    }
+
+    public Page<Movie> topRated(int page) {
+        flush();
+        lock.readLock().lock();
+        try {
+            int total = live.cardinality();
+            int wanted = (int) Math.min((long) page * PAGE_SIZE, total);
+            int from = (page - 1) * PAGE_SIZE;
+            if (page < 1 || from >= wanted) {
+                return emptyPage(page, total);
+            }
+            // Bounded min-heap of (vote bits, reversed row) so only the top page * PAGE_SIZE rows are kept;
+            // positive float bits order like the floats themselves, and ties favour earlier rows.
+            long[] heap = new long[wanted];
+            int heapSize = 0;
+            for (int s = 0; s < segments.size(); s++) {
+                CatalogSegment segment = segments.get(s);
+                int start = segmentStarts[s];
+                for (int row = live.nextSetBit(start); row >= 0 && row < start + segment.rows(); row = live.nextSetBit(row + 1)) {
+                    float vote = Math.max(0f, segment.voteAverage(row - start));
+                    long key = ((long) Float.floatToIntBits(vote) << 32) | (Integer.MAX_VALUE - row);
+                    if (heapSize < wanted) {
+                        heap[heapSize] = key;
+                        siftUp(heap, heapSize++);
+                    } else if (key > heap[0]) {
+                        heap[0] = key;
+                        siftDown(heap, heapSize);
+                    }
+                }
+            }
+            Arrays.sort(heap, 0, heapSize);
+            List<Movie> movies = new ArrayList<>(PAGE_SIZE);
+            for (int i = heapSize - 1 - from; i >= 0 && movies.size() < PAGE_SIZE; i--) {
+                movies.add(movieAt(Integer.MAX_VALUE - (int) heap[i]));
+            }
+            return new Page<>(movies, page, totalPages(total), total);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public void compact() {
+        if (catalogFile == null) {
+            return;
+        }
+        flush();
+        lock.writeLock().lock();
+        try {
+            if (!writable) {
+                return;
+            }
+            Path temp = Files.createTempFile(catalogFile.toAbsolutePath().getParent(), "catalog", ".tmp");
+            try (FileChannel out = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+                writeFileHeader(out);
+                SegmentEncoder encoder = new SegmentEncoder();
+                for (int s = 0; s < segments.size(); s++) {
+                    CatalogSegment segment = segments.get(s);
+                    int start = segmentStarts[s];
+                    for (int row = live.nextSetBit(start); row >= 0 && row < start + segment.rows(); row = live.nextSetBit(row + 1)) {
+                        int local = row - start;
+                        long mask = segment.genreMask(local);
+                        encoder.add(segment.id(local), segment.genreIds(mask), segment.genreNames(mask),
+                                segment.voteAverage(local), segment.releaseDate(local),
+                                segment.titleBytes(local), segment.overviewBytes(local));
+                        if (encoder.rows() == COMPACTED_SEGMENT_ROWS) {
+                            writeFully(out, encoder.encode());
+                            encoder = new SegmentEncoder();
+                        }
+                    }
+                }
+                if (encoder.rows() > 0) {
+                    writeFully(out, encoder.encode());
+                }
+            }
+            closeChannel();
+            Files.move(temp, catalogFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            open();
+        } catch (IOException e) {
+            System.err.println("Could not compact catalog " + catalogFile + ": " + e.getMessage());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private Page<Movie> filteredPage(Function<CatalogSegment, IntPredicate> filterFactory, int page) {
+        if (page < 1) {
+            return emptyPage(page, 0);
+        }
+        flush();
+        lock.readLock().lock();
+        try {
+            int skip = (page - 1) * PAGE_SIZE;
+            int matches = 0;
+            List<Movie> movies = new ArrayList<>(PAGE_SIZE);
+            for (int s = 0; s < segments.size(); s++) {
+                CatalogSegment segment = segments.get(s);
+                IntPredicate filter = filterFactory.apply(segment);
+                int start = segmentStarts[s];
+                for (int row = live.nextSetBit(start); row >= 0 && row < start + segment.rows(); row = live.nextSetBit(row + 1)) {
+                    if (filter.test(row - start)) {
+                        if (matches >= skip && movies.size() < PAGE_SIZE) {
+                            movies.add(segment.movie(row - start, genreCatalog));
+                        }
+                        matches++;
+                    }
+                }
+            }
+            return new Page<>(movies, page, totalPages(matches), matches);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void addMovie(SegmentEncoder encoder, Movie movie) {
+        if (movie.genreMask() != 0) {
+            int[] genreIds = genreCatalog.idsOf(movie.genreMask());
+            String[] genreNames = new String[genreIds.length];
+            for (int g = 0; g < genreIds.length; g++) {
+                genreNames[g] = genreCatalog.nameOf(genreIds[g]);
+            }
+            encoder.add(movie.id(), genreIds, genreNames,
+                    (float) movie.voteAverage(), SegmentEncoder.encodeDate(movie.releaseDate()),
+                    utf8(movie.title()), utf8(movie.overview()));
+            return;
+        }
+        List<String> names = movie.genres() == null ? List.of() : movie.genres();
+        int known = 0;
+        int[] genreIds = new int[names.size()];
+        String[] genreNames = new String[names.size()];
+        for (String name : names) {
+            int genreId = genreCatalog.idOf(name);
+            if (genreId >= 0) {
+                genreIds[known] = genreId;
+                genreNames[known++] = name;
+            }
+        }
+        encoder.add(movie.id(), Arrays.copyOf(genreIds, known), Arrays.copyOf(genreNames, known),
+                (float) movie.voteAverage(), SegmentEncoder.encodeDate(movie.releaseDate()),
+                utf8(movie.title()), utf8(movie.overview()));
+    }
+
+    private void open() {
+        lock.writeLock().lock();
+        try {
+            segments = new ArrayList<>();
+            segmentStarts = new int[16];
+            rowCount = 0;
+            live = new BitSet();
+            rowsById = new LongIntMap(1024);
+
+            Files.createDirectories(catalogFile.toAbsolutePath().getParent());
+            if (lockChannel == null) {
+                acquireWriterLock();
+            }
+            if (!writable) {
+                if (!Files.exists(catalogFile)) {
+                    return;
+                }
+                channel = FileChannel.open(catalogFile, StandardOpenOption.READ);
+            } else {
+                channel = FileChannel.open(catalogFile, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                        StandardOpenOption.WRITE);
+            }
+            if (channel.size() < FILE_HEADER_BYTES) {
+                if (writable) {
+                    channel.truncate(0);
+                    writeFileHeader(channel);
+                }
+                return;
+            }
+            ByteBuffer header = ByteBuffer.allocate(FILE_HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            channel.read(header, 0);
+            int version = header.getInt(4);
+            if (header.getInt(0) != FILE_MAGIC || version < 1 || version > VERSION) {
+                throw new IOException("Unrecognized catalog file format");
+            }
+
+            long position = FILE_HEADER_BYTES;
+            long size = channel.size();
+            ByteBuffer segmentHeader = ByteBuffer.allocate(SegmentEncoder.HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            while (position + SegmentEncoder.HEADER_BYTES <= size) {
+                segmentHeader.clear();
+                channel.read(segmentHeader, position);
+                long segmentBytes = SegmentEncoder.HEADER_BYTES + segmentHeader.getLong(16);
+                if (segmentHeader.getInt(0) != SegmentEncoder.SEGMENT_MAGIC || segmentBytes < SegmentEncoder.HEADER_BYTES
+                        || position + segmentBytes > size) {
+                    break;
+                }
+                MappedByteBuffer mapping = channel.map(FileChannel.MapMode.READ_ONLY, position, segmentBytes);
+                if (version >= 2 && !SegmentEncoder.checksumMatches(mapping)) {
+                    break;
+                }
+                register(new CatalogSegment(mapping));
+                position += segmentBytes;
+            }
+            // Only the writer can have left the tail; a reader may just be looking at an append in progress.
+            if (position < size && writable) {
+                System.err.println("Discarding " + (size - position) + " bytes of incomplete catalog data in " + catalogFile);
+                channel.truncate(position);
+            }
+        } catch (IOException e) {
+            System.err.println("Catalog " + catalogFile + " is unavailable: " + e.getMessage());
+            closeChannel();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Another process holding the lock keeps this one read-only, and so does a second store in this JVM.
+    private void acquireWriterLock() throws IOException {
+        lockChannel = FileChannel.open(catalogFile.resolveSibling(catalogFile.getFileName() + ".lock"),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+        FileLock writerLock;
+        try {
+            writerLock = lockChannel.tryLock();
+        } catch (OverlappingFileLockException e) {
+            writerLock = null;
+        }
+        writable = writerLock != null;
+        if (!writable) {
+            System.err.println("Catalog " + catalogFile + " is in use by another process; reading it without appending.");
+        }
+    }
+
+    private void appendSegment(SegmentEncoder encoder) throws IOException {
+        if (channel == null) {
+            throw new IOException("catalog file is not open");
+        }
+        ByteBuffer bytes = encoder.encode();
+        long position = channel.size();
+        int length = bytes.remaining();
+        writeFully(channel, bytes, position);
+        register(new CatalogSegment(channel.map(FileChannel.MapMode.READ_ONLY, position, length)));
+    }
+
+    private void register(CatalogSegment segment) {
+        if (segments.size() == segmentStarts.length) {
+            segmentStarts = Arrays.copyOf(segmentStarts, segmentStarts.length * 2);
+        }
+        segmentStarts[segments.size()] = rowCount;
+        segments.add(segment);
+        for (int row = 0; row < segment.rows(); row++) {
+            int previous = rowsById.put(segment.id(row), rowCount + row);
+            if (previous != LongIntMap.MISSING) {
+                live.clear(previous);
+            }
+            live.set(rowCount + row);
+        }
+        rowCount += segment.rows();
+    }
+
+    private Movie movieAt(int row) {
+        int s = Arrays.binarySearch(segmentStarts, 0, segments.size(), row);
+        if (s < 0) {
+            s = -s - 2;
+        }
+        return segments.get(s).movie(row - segmentStarts[s], genreCatalog);
+    }
+
+    private void close() {
+        flush();
+        lock.readLock().lock();
+        boolean compact;
+        try {
+            compact = segments.size() > maxSegments;
+        } finally {
+            lock.readLock().unlock();
+        }
+        if (compact) {
+            compact();
+        }
+        lock.writeLock().lock();
+        try {
+            closeChannel();
+            if (lockChannel != null) {
+                // Closing the channel releases the lock.
+                lockChannel.close();
+            }
+        } catch (IOException e) {
+            System.err.println("Could not release catalog lock for " + catalogFile + ": " + e.getMessage());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void closeChannel() {
+        if (channel != null) {
+            try {
+                channel.close();
+            } catch (IOException e) {
+                System.err.println("Could not close catalog " + catalogFile + ": " + e.getMessage());
+            }
+            channel = null;
+        }
+    }
+
+    private static Page<Movie> emptyPage(int page, int total) {
+        return new Page<>(List.of(), page, totalPages(total), total);
+    }
+
+    private static int totalPages(int total) {
+        return (total + PAGE_SIZE - 1) / PAGE_SIZE;
+    }
+
+    private static byte[] utf8(String value) {
+        return value == null ? new byte[0] : value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static void writeFileHeader(FileChannel out) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(FILE_HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        header.putInt(FILE_MAGIC).putInt(VERSION).flip();
+        writeFully(out, header, 0);
+    }
+
+    private static void writeFully(FileChannel out, ByteBuffer bytes) throws IOException {
+        writeFully(out, bytes, out.size());
+    }
+
+    private static void writeFully(FileChannel out, ByteBuffer bytes, long position) throws IOException {
+        while (bytes.hasRemaining()) {
+            position += out.write(bytes, position);
+        }
+    }
+
+    private static void siftUp(long[] heap, int index) {
+        while (index > 0) {
+            int parent = (index - 1) >>> 1;
+            if (heap[parent] <= heap[index]) {
+                return;
+            }
+            long swap = heap[parent];
+            heap[parent] = heap[index];
+            heap[index] = swap;
+            index = parent;
+        }
+    }
+
+    private static void siftDown(long[] heap, int size) {
+        int index = 0;
+        while (true) {
+            int smallest = index;
+            int left = 2 * index + 1;
+            int right = left + 1;
+            if (left < size && heap[left] < heap[smallest]) {
+                smallest = left;
+            }
+            if (right < size && heap[right] < heap[smallest]) {
+                smallest = right;
+            }
+            if (smallest == index) {
+                return;
+            }
+            long swap = heap[smallest];
+            heap[smallest] = heap[index];
+            heap[index] = swap;
+            index = smallest;
+        }
+    }
+}
@@ -0,0 +1,227 @@
+package com.moviecliapplication.catalog;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.zip.CRC32C;
+
+// Builds one immutable columnar segment. Layout, little-endian, every column 8-byte aligned:
+// header (magic, rows, genres, CRC32C, body length), genre dictionary sorted by id (ids, then length-prefixed names),
+// ids long[], genre masks long[], release dates int[] (yyyymmdd, 0 when unknown), vote averages float[],
+// title and overview offsets int[rows + 1], title heap, overview heap. The CRC32C covers the whole segment
+// except its own four bytes, so a segment torn by a crash mid-append is told apart from a complete one.
+final class SegmentEncoder {
+
+    static final int SEGMENT_MAGIC = 0x5345474D;
+    static final int HEADER_BYTES = 24;
+    static final int CHECKSUM_AT = 12;
+    static final int MAX_GENRES = Long.SIZE;
+
+    private final int[] genreIds = new int[MAX_GENRES];
+    private final String[] genreNames = new String[MAX_GENRES];
+    private int genreCount;
+
+    private long[] ids = new long[64];
+    private long[] masks = new long[64];
+    private int[] dates = new int[64];
+    private float[] votes = new float[64];
+    private int[] titleEnds = new int[64];
+    private int[] overviewEnds = new int[64];
+    private final ByteArrayOutputStream titleHeap = new ByteArrayOutputStream();
+    private final ByteArrayOutputStream overviewHeap = new ByteArrayOutputStream();
+    private int rows;
+
+    int rows() {
+        return rows;
+    }
+
+    long heapBytes() {
+        return titleHeap.size() + (long) overviewHeap.size();
+    }
+
+    void add(long id, int[] movieGenreIds, String[] movieGenreNames, float vote, int date,
+             byte[] title, byte[] overview) {
+        if (rows == ids.length) {
+            int capacity = rows * 2;
+            ids = Arrays.copyOf(ids, capacity);
+            masks = Arrays.copyOf(masks, capacity);
+            dates = Arrays.copyOf(dates, capacity);
+            votes = Arrays.copyOf(votes, capacity);
+            titleEnds = Arrays.copyOf(titleEnds, capacity);
+            overviewEnds = Arrays.copyOf(overviewEnds, capacity);
+        }
+        long mask = 0;
+        for (int i = 0; i < movieGenreIds.length; i++) {
+            int bit = bitFor(movieGenreIds[i], movieGenreNames[i]);
+            if (bit >= 0) {
+                mask |= 1L << bit;
+            }
+        }
+        ids[rows] = id;
+        masks[rows] = mask;
+        dates[rows] = date;
+        votes[rows] = vote;
+        titleHeap.writeBytes(title);
+        overviewHeap.writeBytes(overview);
+        titleEnds[rows] = titleHeap.size();
+        overviewEnds[rows] = overviewHeap.size();
+        rows++;
+    }
+
+    ByteBuffer encode() {
+        sortDictionary();
+        byte[][] names = new byte[genreCount][];
+        int dictionaryBytes = genreCount * Integer.BYTES;
+        for (int g = 0; g < genreCount; g++) {
+            names[g] = genreNames[g].getBytes(StandardCharsets.UTF_8);
+            dictionaryBytes += Short.BYTES + names[g].length;
+        }
+        long bodyBytes = align(dictionaryBytes)
+                + (long) rows * (Long.BYTES * 2 + Integer.BYTES + Float.BYTES)
+                + align((long) (rows + 1) * Integer.BYTES * 2)
+                + align(titleHeap.size() + (long) overviewHeap.size());
+        if (HEADER_BYTES + bodyBytes > Integer.MAX_VALUE) {
+            throw new IllegalStateException("Catalog segment too large: " + bodyBytes + " bytes");
+        }
+
+        ByteBuffer buffer = ByteBuffer.allocate((int) (HEADER_BYTES + bodyBytes)).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.putInt(SEGMENT_MAGIC).putInt(rows).putInt(genreCount).putInt(0).putLong(bodyBytes);
+        for (int g = 0; g < genreCount; g++) {
+            buffer.putInt(genreIds[g]);
+        }
+        for (byte[] name : names) {
+            buffer.putShort((short) name.length).put(name);
+        }
+        pad(buffer);
+        for (int r = 0; r < rows; r++) {
+            buffer.putLong(ids[r]);
+        }
+        for (int r = 0; r < rows; r++) {
+            buffer.putLong(masks[r]);
+        }
+        for (int r = 0; r < rows; r++) {
+            buffer.putInt(dates[r]);
+        }
+        for (int r = 0; r < rows; r++) {
+            buffer.putFloat(votes[r]);
+        }
+        buffer.putInt(0);
+        for (int r = 0; r < rows; r++) {
+            buffer.putInt(titleEnds[r]);
+        }
+        buffer.putInt(0);
+        for (int r = 0; r < rows; r++) {
+            buffer.putInt(overviewEnds[r]);
+        }
+        pad(buffer);
+        buffer.put(titleHeap.toByteArray()).put(overviewHeap.toByteArray());
+        pad(buffer);
+        buffer.flip();
+        buffer.putInt(CHECKSUM_AT, checksum(buffer));
+        return buffer;
+    }
+
+    static int checksum(ByteBuffer segment) {
+        CRC32C crc = new CRC32C();
+        crc.update(segment.duplicate().position(0).limit(CHECKSUM_AT));
+        crc.update(segment.duplicate().position(CHECKSUM_AT + Integer.BYTES).limit(segment.capacity()));
+        return (int) crc.getValue();
+    }
+
+    static boolean checksumMatches(ByteBuffer segment) {
+        return segment.order(ByteOrder.LITTLE_ENDIAN).getInt(CHECKSUM_AT) == checksum(segment);
+    }
+
+    // Bits are assigned in first-seen order while adding; renumber them by genre id so every segment
+    // decodes a movie's genres in the same canonical order.
+    private void sortDictionary() {
+        Integer[] order = new Integer[genreCount];
+        for (int g = 0; g < genreCount; g++) {
+            order[g] = g;
+        }
+        Arrays.sort(order, (a, b) -> Integer.compare(genreIds[a], genreIds[b]));
+        int[] newBit = new int[genreCount];
+        int[] sortedIds = new int[genreCount];
+        String[] sortedNames = new String[genreCount];
+        for (int g = 0; g < genreCount; g++) {
+            newBit[order[g]] = g;
+            sortedIds[g] = genreIds[order[g]];
+            sortedNames[g] = genreNames[order[g]];
+        }
+        System.arraycopy(sortedIds, 0, genreIds, 0, genreCount);
+        System.arraycopy(sortedNames, 0, genreNames, 0, genreCount);
+        for (int r = 0; r < rows; r++) {
+            long mask = masks[r];
+            long remapped = 0;
+            while (mask != 0) {
+                int bit = Long.numberOfTrailingZeros(mask);
+                remapped |= 1L << newBit[bit];
+                mask &= mask - 1;
+            }
+            masks[r] = remapped;
+        }
+    }
+
+    // Genres beyond the 64 a mask can hold are dropped from this segment; TMDb has fewer than 20.
+    private int bitFor(int genreId, String name) {
+        for (int g = 0; g < genreCount; g++) {
+            if (genreIds[g] == genreId) {
+                return g;
+            }
+        }
+        if (genreCount == MAX_GENRES) {
+            return -1;
+        }
+        genreIds[genreCount] = genreId;
+        genreNames[genreCount] = name;
+        return genreCount++;
+    }
+
+    static long align(long bytes) {
+        return (bytes + 7) & ~7L;
+    }
+
+    private static void pad(ByteBuffer buffer) {
+        while ((buffer.position() & 7) != 0) {
+            buffer.put((byte) 0);
+        }
+    }
+
+    static int encodeDate(String releaseDate) {
+        if (releaseDate == null || releaseDate.length() != 10
+                || releaseDate.charAt(4) != '-' || releaseDate.charAt(7) != '-') {
+            return 0;
+        }
+        int value = 0;
+        for (int i = 0; i < 10; i++) {
+            char c = releaseDate.charAt(i);
+            if (i == 4 || i == 7) {
+                continue;
+            }
+            if (c < '0' || c > '9') {
+                return 0;
+            }
+            value = value * 10 + (c - '0');
+        }
+        return value;
+    }
+
+    static String decodeDate(int date) {
+        if (date == 0) {
+            return "";
+        }
+        char[] chars = new char[10];
+        int value = date;
+        for (int i = 9; i >= 0; i--) {
+            if (i == 4 || i == 7) {
+                chars[i] = '-';
+                continue;
+            }
+            chars[i] = (char) ('0' + value % 10);
+            value /= 10;
+        }
+        return new String(chars);
+    }
+}
@@ -2,11 +2,23 @@ package com.moviecliapplication.client;
 
 public class ApiClientException extends RuntimeException {
 
+    private final int statusCode;
+
     public ApiClientException(String message) {
+        this(message, 0);
+    }
+
+    public ApiClientException(String message, int statusCode) {
         super(message);
+        this.statusCode = statusCode;
     }
 
     public ApiClientException(String message, Throwable cause) {
         super(message, cause);
+        this.statusCode = 0;
+    }
+
+    public int getStatusCode() {
+        return statusCode;
     }
 }
@@ -0,0 +1,58 @@
+package com.moviecliapplication.client;
+
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.TreeMap;
+
+public record ApiRequest(
+        String endpoint,
+        String queryParams,
+        int page
+) {
+
+    public static ApiRequest searchByName(String name, int page) {
+        return new ApiRequest("/search/movie", "query=" + URLEncoder.encode(name, StandardCharsets.UTF_8), page);
+    }
+
+    public static ApiRequest discoverByGenre(int genreId, int page) {
+        return new ApiRequest("/discover/movie", "with_genres=" + genreId, page);
+    }
+
+    public static ApiRequest discoverByYear(int year, int page) {
+        return new ApiRequest("/discover/movie", "primary_release_year=" + year, page);
+    }
+
+    // Any combination of /discover/movie parameters. Keys are sorted so equal filters share a cache key.
+    public static ApiRequest discover(Map<String, String> filters, int page) {
+        StringJoiner queryParams = new StringJoiner("&");
+        new TreeMap<>(filters).forEach((key, value) ->
+                queryParams.add(key + "=" + URLEncoder.encode(value, StandardCharsets.UTF_8)));
+        return new ApiRequest("/discover/movie", queryParams.toString(), page);
+    }
+
+    public static ApiRequest popular(int page) {
+        return new ApiRequest("/movie/popular", "", page);
+    }
+
+    public static ApiRequest topRated(int page) {
+        return new ApiRequest("/movie/top_rated", "", page);
+    }
+
+    public static ApiRequest nowPlaying(int page) {
+        return new ApiRequest("/movie/now_playing", "", page);
+    }
+
+    public static ApiRequest upcoming(int page) {
+        return new ApiRequest("/movie/upcoming", "", page);
+    }
+
+    public static ApiRequest genreList() {
+        return new ApiRequest("/genre/movie/list", "", 1);
+    }
+
+    public String cacheKey() {
+        return endpoint + "?" + queryParams + "&page=" + page;
+    }
+}
@@ -0,0 +1,98 @@
+package com.moviecliapplication.client;
+
+import com.moviecliapplication.model.GenreListResponse;
+import com.moviecliapplication.model.MovieListResponse;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+public interface AsyncTMDbClient extends TMDbClient {
+
+    CompletableFuture<MovieListResponse> searchMoviesByNameAsync(String name, int page);
+    CompletableFuture<MovieListResponse> discoverMoviesByGenreAsync(int genreId, int page);
+    CompletableFuture<MovieListResponse> discoverMoviesByYearAsync(int year, int page);
+    CompletableFuture<MovieListResponse> discoverMoviesAsync(Map<String, String> filters, int page);
+    CompletableFuture<MovieListResponse> getPopularMoviesAsync(int page);
+    CompletableFuture<MovieListResponse> getTopRatedMoviesAsync(int page);
+    CompletableFuture<MovieListResponse> getNowPlayingMoviesAsync(int page);
+    CompletableFuture<MovieListResponse> getUpcomingMoviesAsync(int page);
+    CompletableFuture<GenreListResponse> getGenreListAsync();
+
+    @Override
+    default Optional<MovieListResponse> searchMoviesByName(String name, int page) {
+        return await(searchMoviesByNameAsync(name, page));
+    }
+
+    @Override
+    default Optional<MovieListResponse> discoverMoviesByGenre(int genreId, int page) {
+        return await(discoverMoviesByGenreAsync(genreId, page));
+    }
+
+    @Override
+    default Optional<MovieListResponse> discoverMoviesByYear(int year, int page) {
+        return await(discoverMoviesByYearAsync(year, page));
+    }
+
+    @Override
+    default Optional<MovieListResponse> discoverMovies(Map<String, String> filters, int page) {
+        return await(discoverMoviesAsync(filters, page));
+    }
+
+    @Override
+    default Optional<MovieListResponse> getPopularMovies(int page) {
+        return await(getPopularMoviesAsync(page));
+    }
+
+    @Override
+    default Optional<MovieListResponse> getTopRatedMovies(int page) {
+        return await(getTopRatedMoviesAsync(page));
+    }
+
+    @Override
+    default Optional<MovieListResponse> getNowPlayingMovies(int page) {
+        return await(getNowPlayingMoviesAsync(page));
+    }
+
+    @Override
+    default Optional<MovieListResponse> getUpcomingMovies(int page) {
+        return await(getUpcomingMoviesAsync(page));
+    }
+
+    @Override
+    default Optional<GenreListResponse> getGenreList() {
+        return await(getGenreListAsync());
+    }
+
+    static <T> Optional<T> await(CompletableFuture<T> future) {
+        try {
+            return Optional.ofNullable(future.join());
+        } catch (CompletionException | CancellationException e) {
+            throw unwrap(e);
+        }
+    }
+
+    // Stages derived from a future never pass a cancel back to it. Linking them lets a caller's cancel travel
+    // through each layer down to the HTTP exchange; `derived` is returned for chaining.
+    static <T> CompletableFuture<T> forwardCancel(CompletableFuture<T> derived, CompletableFuture<?> source) {
+        derived.whenComplete((value, error) -> {
+            if (derived.isCancelled()) {
+                source.cancel(true);
+            }
+        });
+        return derived;
+    }
+
+    static ApiClientException unwrap(Throwable error) {
+        Throwable cause = error;
+        while (cause instanceof CompletionException && cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        if (cause instanceof ApiClientException apiClientException) {
+            return apiClientException;
+        }
+        return new ApiClientException("Error during API request execution: " + cause.getMessage(), cause);
+    }
+}
@@ -0,0 +1,122 @@
+package com.moviecliapplication.client;
+
+import com.moviecliapplication.client.cache.CacheStats;
+import com.moviecliapplication.client.cache.CachedResponse;
+import com.moviecliapplication.client.cache.ResponseCache;
+import com.moviecliapplication.model.GenreListResponse;
+import com.moviecliapplication.model.MovieListResponse;
+
+import jakarta.inject.Inject;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+
+public class CachingTMDbClient implements AsyncTMDbClient {
+
+    private final TMDbClientImpl delegate;
+    private final ResponseCache cache;
+
+    @Inject
+    public CachingTMDbClient(TMDbClientImpl delegate, ResponseCache cache) {
+        this.delegate = delegate;
+        this.cache = cache;
+    }
+
+    @Override
+    public CompletableFuture<MovieListResponse> searchMoviesByNameAsync(String name, int page) {
+        return cached(ApiRequest.searchByName(name, page), MovieListResponse.class);
+    }
+
+    @Override
+    public CompletableFuture<MovieListResponse> discoverMoviesByGenreAsync(int genreId, int page) {
+        return cached(ApiRequest.discoverByGenre(genreId, page), MovieListResponse.class);
+    }
+
+    @Override
+    public CompletableFuture<MovieListResponse> discoverMoviesByYearAsync(int year, int page) {
+        return cached(ApiRequest.discoverByYear(year, page), MovieListResponse.class);
+    }
+
+    @Override
+    public CompletableFuture<MovieListResponse> discoverMoviesAsync(Map<String, String> filters, int page) {
+        return cached(ApiRequest.discover(filters, page), MovieListResponse.class);
+    }
+
+    @Override
+    public CompletableFuture<MovieListResponse> getPopularMoviesAsync(int page) {
+        return cached(ApiRequest.popular(page), MovieListResponse.class);
+    }
+
+    @Override
+    public CompletableFuture<MovieListResponse> getTopRatedMoviesAsync(int page) {
+        return cached(ApiRequest.topRated(page), MovieListResponse.class);
+    }
+
+    @Override
+    public CompletableFuture<MovieListResponse> getNowPlayingMoviesAsync(int page) {
+        return cached(ApiRequest.nowPlaying(page), MovieListResponse.class);
+    }
+
+    @Override
+    public CompletableFuture<MovieListResponse> getUpcomingMoviesAsync(int page) {
+        return cached(ApiRequest.upcoming(page), MovieListResponse.class);
+    }
+
+    @Override
+    public CompletableFuture<GenreListResponse> getGenreListAsync() {
+        return cached(ApiRequest.genreList(), GenreListResponse.class);
+    }
+
+    public CacheStats cacheStats() {
+        return cache.stats();
+    }
+
+    // Fresh entries are returned as they are. Expired ones are revalidated with a conditional request, so an
+    // unchanged response costs a 304 and no parsing; on slowly changing endpoints the expired body is returned
+    // straight away and revalidated in the background. With cache.alwaysRevalidate (--sync) every entry is
+    // revalidated and a failure is reported rather than answered from the cache.
+    private <T> CompletableFuture<T> cached(ApiRequest request, Class<T> responseClass) {
+        CachedResponse<T> entry = cache.lookup(request, responseClass).orElse(null);
+        boolean alwaysRevalidate = cache.alwaysRevalidates();
+        if (entry != null && !alwaysRevalidate && entry.isFresh(System.currentTimeMillis())) {
+            return CompletableFuture.completedFuture(entry.value());
+        }
+        if (entry != null && cache.servableWhileRevalidating(request, entry)) {
+            cache.servedStale(true);
+            // A failed refresh leaves the entry as it is; the next lookup tries again.
+            refresh(request, responseClass, entry);
+            return CompletableFuture.completedFuture(entry.value());
+        }
+        CompletableFuture<T> refreshed = refresh(request, responseClass, entry);
+        return AsyncTMDbClient.forwardCancel(refreshed.handle((value, error) -> {
+            if (error == null) {
+                return CompletableFuture.completedFuture(value);
+            }
+            ApiClientException failure = AsyncTMDbClient.unwrap(error);
+            if (entry != null && !alwaysRevalidate && isUnavailable(failure)) {
+                cache.servedStale(false);
+                return CompletableFuture.completedFuture(entry.value());
+            }
+            return CompletableFuture.<T>failedFuture(failure);
+        }).thenCompose(Function.identity()), refreshed);
+    }
+
+    private <T> CompletableFuture<T> refresh(ApiRequest request, Class<T> responseClass, CachedResponse<T> entry) {
+        Validators validators = entry != null ? entry.validators() : Validators.NONE;
+        CompletableFuture<ConditionalResponse<T>> fetched = delegate.fetch(request, responseClass, validators);
+        return AsyncTMDbClient.forwardCancel(fetched.thenApply(response -> {
+            if (response.notModified()) {
+                cache.revalidated(request, entry, response.validators());
+                return entry.value();
+            }
+            cache.put(request, response.body(), response.validators());
+            return response.body();
+        }), fetched);
+    }
+
+    private static boolean isUnavailable(ApiClientException failure) {
+        int statusCode = failure.getStatusCode();
+        return statusCode == 0 || statusCode == 429 || statusCode >= 500;
+    }
+}
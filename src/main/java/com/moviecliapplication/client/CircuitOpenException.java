@@ -0,0 +1,8 @@
+package com.moviecliapplication.client;
+
+public class CircuitOpenException extends ApiClientException {
+
+    public CircuitOpenException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,10 @@
+package com.moviecliapplication.client;
+
+// A response to a request that may have carried validators: either a new body, or (body == null) a 304 saying
+// the copy the caller already has is still current.
+public record ConditionalResponse<T>(T body, Validators validators) {
+
+    public boolean notModified() {
+        return body == null;
+    }
+}
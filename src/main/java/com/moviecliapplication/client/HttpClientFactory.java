@@ -0,0 +1,178 @@
+package com.moviecliapplication.client;
+
+import com.moviecliapplication.config.AppConfig;
+import com.moviecliapplication.metrics.Metrics;
+
+import jakarta.inject.Inject;
+
+import javax.net.ssl.KeyManager;
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.SSLContextSpi;
+import javax.net.ssl.SSLEngine;
+import javax.net.ssl.SSLParameters;
+import javax.net.ssl.SSLServerSocketFactory;
+import javax.net.ssl.SSLSessionContext;
+import javax.net.ssl.SSLSocketFactory;
+import javax.net.ssl.TrustManager;
+import java.net.http.HttpClient;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+// Builds the HttpClient used for TMDb from the http.* settings. Every TLS connection the client opens asks the
+// SSLContext for a new engine, so wrapping the context counts handshakes: with HTTP/2 multiplexing (or HTTP/1.1
+// keep-alive) it stays near the number of concurrent connections instead of growing with the request count.
+public class HttpClientFactory {
+
+    private final Metrics metrics;
+    private final HttpClient.Version version;
+    private final Duration connectTimeout;
+    private final int executorThreads;
+    private final boolean gzip;
+    private final Duration keepAlive;
+    private final int maxConnections;
+    private final LongAdder tlsHandshakes = new LongAdder();
+
+    @Inject
+    public HttpClientFactory(AppConfig appConfig, Metrics metrics) {
+        this.metrics = metrics;
+        this.version = parseVersion(appConfig.getString("http.version", "HTTP_2"));
+        this.connectTimeout = appConfig.getDuration("http.connectTimeout", Duration.ofSeconds(5));
+        this.executorThreads = appConfig.getInt("http.executorThreads", 0);
+        this.gzip = appConfig.getBoolean("http.gzip", true);
+        this.keepAlive = appConfig.getDuration("http.keepAlive", Duration.ofSeconds(30));
+        this.maxConnections = appConfig.getInt("http.maxConnections", 0);
+    }
+
+    public HttpClient create() {
+        // The JDK reads its connection pool settings once, when the first client is built; explicit -D flags win.
+        setDefaultProperty("jdk.httpclient.keepalive.timeout", Long.toString(keepAlive.toSeconds()));
+        setDefaultProperty("jdk.httpclient.keepalive.timeout.h2", Long.toString(keepAlive.toSeconds()));
+        if (maxConnections > 0) {
+            setDefaultProperty("jdk.httpclient.connectionPoolSize", Integer.toString(maxConnections));
+        }
+
+        HttpClient.Builder builder = HttpClient.newBuilder()
+                .version(version)
+                .connectTimeout(connectTimeout)
+                .executor(executor());
+        try {
+            builder.sslContext(new CountingSslContext(SSLContext.getDefault(), this::onHandshake));
+        } catch (NoSuchAlgorithmException e) {
+            System.err.println("TLS handshake counting unavailable: " + e.getMessage());
+        }
+        return builder.build();
+    }
+
+    public boolean acceptsGzip() {
+        return gzip;
+    }
+
+    public long tlsHandshakes() {
+        return tlsHandshakes.sum();
+    }
+
+    private void onHandshake(String host) {
+        tlsHandshakes.increment();
+        if (metrics.isEnabled()) {
+            metrics.increment("client_tls_handshakes", "host", host == null ? "unknown" : host);
+        }
+    }
+
+    private ExecutorService executor() {
+        if (executorThreads <= 0) {
+            return Executors.newVirtualThreadPerTaskExecutor();
+        }
+        AtomicInteger count = new AtomicInteger();
+        return Executors.newFixedThreadPool(executorThreads, runnable -> {
+            Thread thread = new Thread(runnable, "tmdb-http-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    private static HttpClient.Version parseVersion(String value) {
+        try {
+            return HttpClient.Version.valueOf(value.toUpperCase().replace('.', '_').replace('/', '_'));
+        } catch (IllegalArgumentException e) {
+            System.err.println("Invalid http.version " + value + ", using HTTP_2");
+            return HttpClient.Version.HTTP_2;
+        }
+    }
+
+    private static void setDefaultProperty(String key, String value) {
+        if (System.getProperty(key) == null) {
+            System.setProperty(key, value);
+        }
+    }
+
+    private static final class CountingSslContext extends SSLContext {
+
+        CountingSslContext(SSLContext delegate, Consumer<String> listener) {
+            super(new CountingSpi(delegate, listener), delegate.getProvider(), delegate.getProtocol());
+        }
+    }
+
+    private static final class CountingSpi extends SSLContextSpi {
+
+        private final SSLContext delegate;
+        private final Consumer<String> listener;
+
+        private CountingSpi(SSLContext delegate, Consumer<String> listener) {
+            this.delegate = delegate;
+            this.listener = listener;
+        }
+
+        @Override
+        protected void engineInit(KeyManager[] keyManagers, TrustManager[] trustManagers, SecureRandom random) {
+            throw new UnsupportedOperationException("The default SSLContext is already initialized");
+        }
+
+        @Override
+        protected SSLSocketFactory engineGetSocketFactory() {
+            return delegate.getSocketFactory();
+        }
+
+        @Override
+        protected SSLServerSocketFactory engineGetServerSocketFactory() {
+            return delegate.getServerSocketFactory();
+        }
+
+        @Override
+        protected SSLEngine engineCreateSSLEngine() {
+            listener.accept(null);
+            return delegate.createSSLEngine();
+        }
+
+        @Override
+        protected SSLEngine engineCreateSSLEngine(String host, int port) {
+            listener.accept(host);
+            return delegate.createSSLEngine(host, port);
+        }
+
+        @Override
+        protected SSLParameters engineGetDefaultSSLParameters() {
+            return delegate.getDefaultSSLParameters();
+        }
+
+        @Override
+        protected SSLParameters engineGetSupportedSSLParameters() {
+            return delegate.getSupportedSSLParameters();
+        }
+
+        @Override
+        protected SSLSessionContext engineGetServerSessionContext() {
+            return delegate.getServerSessionContext();
+        }
+
+        @Override
+        protected SSLSessionContext engineGetClientSessionContext() {
+            return delegate.getClientSessionContext();
+        }
+    }
+}
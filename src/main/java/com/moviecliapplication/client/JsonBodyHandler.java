@@ -0,0 +1,178 @@
+package com.moviecliapplication.client;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.moviecliapplication.metrics.Metrics;
+import com.moviecliapplication.model.MovieListResponse;
+
+import java.io.ByteArrayInputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.function.Supplier;
+import java.util.zip.GZIPInputStream;
+
+final class JsonBodyHandler<T> implements HttpResponse.BodyHandler<Supplier<T>> {
+
+    private final ObjectMapper objectMapper;
+    private final Class<T> responseClass;
+    private final Metrics metrics;
+    private final String endpoint;
+    private final long startNanos;
+
+    JsonBodyHandler(ObjectMapper objectMapper, Class<T> responseClass) {
+        this(objectMapper, responseClass, null, null, 0L);
+    }
+
+    JsonBodyHandler(ObjectMapper objectMapper, Class<T> responseClass, Metrics metrics, String endpoint,
+                    long startNanos) {
+        this.objectMapper = objectMapper;
+        this.responseClass = responseClass;
+        this.metrics = metrics;
+        this.endpoint = endpoint;
+        this.startNanos = startNanos;
+    }
+
+    @Override
+    public HttpResponse.BodySubscriber<Supplier<T>> apply(HttpResponse.ResponseInfo responseInfo) {
+        int statusCode = responseInfo.statusCode();
+        if (metrics != null) {
+            metrics.recordSince("client_time_to_headers", endpoint, startNanos);
+            if (statusCode == 304 && metrics.isEnabled()) {
+                metrics.increment("client_not_modified", "endpoint", endpoint);
+            } else if (statusCode != 200 && metrics.isEnabled()) {
+                metrics.increment("client_errors", "status", String.valueOf(statusCode));
+            }
+        }
+        if (statusCode == 304) {
+            // Not modified: there is no body, and the caller keeps using its cached copy.
+            return HttpResponse.BodySubscribers.replacing(() -> null);
+        }
+        boolean gzip = responseInfo.headers().firstValue("Content-Encoding")
+                .map(encoding -> encoding.equalsIgnoreCase("gzip"))
+                .orElse(false);
+        if (statusCode == 429) {
+            Duration retryAfter = parseRetryAfter(responseInfo.headers().firstValue("Retry-After").orElse(null));
+            return HttpResponse.BodySubscribers.mapping(
+                    HttpResponse.BodySubscribers.ofByteArray(),
+                    bytes -> () -> {
+                        String body = text(bytes, gzip);
+                        throw new RateLimitedException(String.format(
+                                "API request was rate limited (retry after %s) with body: %s", retryAfter, body),
+                                retryAfter);
+                    });
+        }
+        if (statusCode != 200) {
+            return HttpResponse.BodySubscribers.mapping(
+                    HttpResponse.BodySubscribers.ofByteArray(),
+                    bytes -> () -> {
+                        String body = text(bytes, gzip);
+                        throw new ApiClientException(String.format(
+                                "API request failed with status code: %d and body: %s", statusCode, body),
+                                statusCode);
+                    });
+        }
+        return HttpResponse.BodySubscribers.mapping(
+                HttpResponse.BodySubscribers.ofInputStream(),
+                body -> () -> read(body, gzip));
+    }
+
+    private static String text(byte[] body, boolean gzip) {
+        if (!gzip) {
+            return new String(body, StandardCharsets.UTF_8);
+        }
+        try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(body))) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            return "<undecodable gzip body>";
+        }
+    }
+
+    static Duration parseRetryAfter(String header) {
+        if (header == null || header.isBlank()) {
+            return null;
+        }
+        try {
+            return Duration.ofSeconds(Math.max(0, Long.parseLong(header.trim())));
+        } catch (NumberFormatException e) {
+            try {
+                ZonedDateTime retryAt = ZonedDateTime.parse(header.trim(), DateTimeFormatter.RFC_1123_DATE_TIME);
+                Duration delay = Duration.between(ZonedDateTime.now(), retryAt);
+                return delay.isNegative() ? Duration.ZERO : delay;
+            } catch (DateTimeParseException ignored) {
+                return null;
+            }
+        }
+    }
+
+    T read(InputStream body) {
+        return read(body, false);
+    }
+
+    // Compressed bodies are inflated while Jackson reads them; client_response_bytes counts bytes on the wire.
+    T read(InputStream body, boolean gzip) {
+        long parseStart = metrics != null ? metrics.start() : 0L;
+        CountingInputStream counting = parseStart != 0L ? new CountingInputStream(body) : null;
+        InputStream wire = counting != null ? counting : body;
+        try (InputStream in = gzip ? new GZIPInputStream(wire, 8192) : wire;
+             JsonParser parser = objectMapper.createParser(in)) {
+            T result = responseClass == MovieListResponse.class
+                    ? responseClass.cast(MovieListResponseReader.read(parser))
+                    : objectMapper.readValue(parser, responseClass);
+            // Jackson stops at the closing brace. Closing the body before end-of-stream makes the HttpClient
+            // drop the connection, so read the rest (the gzip trailer or final chunk) to keep it reusable.
+            in.transferTo(OutputStream.nullOutputStream());
+            if (gzip) {
+                wire.transferTo(OutputStream.nullOutputStream());
+            }
+            if (counting != null) {
+                metrics.recordSince("client_body_parse", endpoint, parseStart);
+                metrics.add("client_response_bytes", "endpoint", endpoint, counting.count());
+            }
+            return result;
+        } catch (IOException e) {
+            throw new ApiClientException("Error deserializing JSON: " + e.getMessage(), e);
+        } catch (UncheckedIOException e) {
+            throw new ApiClientException("Error reading response body: " + e.getMessage(), e);
+        }
+    }
+
+    private static final class CountingInputStream extends FilterInputStream {
+
+        private long count;
+
+        private CountingInputStream(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public int read() throws IOException {
+            int value = super.read();
+            if (value >= 0) {
+                count++;
+            }
+            return value;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            int read = super.read(buffer, offset, length);
+            if (read > 0) {
+                count += read;
+            }
+            return read;
+        }
+
+        private long count() {
+            return count;
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.moviecliapplication.client;
+
+import java.util.Arrays;
+
+class LatencyTracker {
+
+    private final long[] samples;
+    private int next;
+    private int count;
+
+    LatencyTracker(int capacity) {
+        this.samples = new long[capacity];
+    }
+
+    synchronized void record(long nanos) {
+        samples[next] = nanos;
+        next = (next + 1) % samples.length;
+        count = Math.min(count + 1, samples.length);
+    }
+
+    synchronized long percentileNanos(double percentile, long fallbackNanos, int minSamples) {
+        if (count < minSamples) {
+            return fallbackNanos;
+        }
+        long[] sorted = Arrays.copyOf(samples, count);
+        Arrays.sort(sorted);
+        int index = (int) Math.ceil(percentile * count) - 1;
+        return sorted[Math.clamp(index, 0, count - 1)];
+    }
+}
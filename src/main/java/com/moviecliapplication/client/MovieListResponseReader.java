@@ -0,0 +1,91 @@
+package com.moviecliapplication.client;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.moviecliapplication.model.Movie;
+import com.moviecliapplication.model.MovieListResponse;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+final class MovieListResponseReader {
+
+    private static final int[] NO_GENRES = new int[0];
+
+    private MovieListResponseReader() {
+    }
+
+    static MovieListResponse read(JsonParser parser) throws IOException {
+        expect(parser.nextToken(), JsonToken.START_OBJECT);
+
+        int page = 0;
+        int totalPages = 0;
+        int totalResults = 0;
+        List<Movie> results = List.of();
+
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken value = parser.nextToken();
+            switch (field) {
+                case "page" -> page = parser.getValueAsInt();
+                case "total_pages" -> totalPages = parser.getValueAsInt();
+                case "total_results" -> totalResults = parser.getValueAsInt();
+                case "results" -> results = value == JsonToken.START_ARRAY ? readMovies(parser) : List.of();
+                default -> parser.skipChildren();
+            }
+        }
+        return new MovieListResponse(page, results, totalPages, totalResults);
+    }
+
+    private static List<Movie> readMovies(JsonParser parser) throws IOException {
+        List<Movie> movies = new ArrayList<>(20);
+        while (parser.nextToken() == JsonToken.START_OBJECT) {
+            movies.add(readMovie(parser));
+        }
+        return movies;
+    }
+
+    private static Movie readMovie(JsonParser parser) throws IOException {
+        long id = 0;
+        String title = null;
+        String overview = null;
+        double voteAverage = 0.0;
+        String releaseDate = null;
+        int[] genreIds = NO_GENRES;
+
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken value = parser.nextToken();
+            switch (field) {
+                case "id" -> id = parser.getValueAsLong();
+                case "title" -> title = parser.getValueAsString();
+                case "overview" -> overview = parser.getValueAsString();
+                case "vote_average" -> voteAverage = parser.getValueAsDouble();
+                case "release_date" -> releaseDate = parser.getValueAsString();
+                case "genre_ids" -> genreIds = value == JsonToken.START_ARRAY ? readInts(parser) : NO_GENRES;
+                default -> parser.skipChildren();
+            }
+        }
+        return new Movie(id, title, overview, voteAverage, releaseDate, genreIds, null);
+    }
+
+    private static int[] readInts(JsonParser parser) throws IOException {
+        int[] values = new int[4];
+        int count = 0;
+        while (parser.nextToken() != JsonToken.END_ARRAY) {
+            if (count == values.length) {
+                values = Arrays.copyOf(values, count * 2);
+            }
+            values[count++] = parser.getValueAsInt();
+        }
+        return count == values.length ? values : Arrays.copyOf(values, count);
+    }
+
+    private static void expect(JsonToken actual, JsonToken expected) throws IOException {
+        if (actual != expected) {
+            throw new IOException("Expected " + expected + " but found " + actual);
+        }
+    }
+}
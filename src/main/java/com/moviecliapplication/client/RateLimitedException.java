@@ -0,0 +1,17 @@
+package com.moviecliapplication.client;
+
+import java.time.Duration;
+
+public class RateLimitedException extends ApiClientException {
+
+    private final Duration retryAfter;
+
+    public RateLimitedException(String message, Duration retryAfter) {
+        super(message, 429);
+        this.retryAfter = retryAfter;
+    }
+
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+}
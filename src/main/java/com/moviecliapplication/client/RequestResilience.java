@@ -0,0 +1,206 @@
+package com.moviecliapplication.client;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.moviecliapplication.config.AppConfig;
+
+import jakarta.inject.Inject;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiConsumer;
+import java.util.function.Supplier;
+
+public class RequestResilience {
+
+    private final int maxRetries;
+    private final Duration baseBackoff;
+    private final Duration maxBackoff;
+    private final boolean hedgingEnabled;
+    private final Duration initialHedgeDelay;
+    private final Duration minHedgeDelay;
+    private final CircuitBreaker circuitBreaker;
+    private final LatencyTracker latencyTracker = new LatencyTracker(512);
+
+    private final LongAdder retries = new LongAdder();
+    private final LongAdder hedgesIssued = new LongAdder();
+    private final LongAdder hedgeWins = new LongAdder();
+
+    @Inject
+    public RequestResilience(AppConfig appConfig) {
+        this.maxRetries = Math.max(0, appConfig.getInt("client.maxRetries", 2));
+        this.baseBackoff = appConfig.getDuration("client.retryBackoff", Duration.ofMillis(200));
+        this.maxBackoff = appConfig.getDuration("client.maxRetryBackoff", Duration.ofSeconds(5));
+        this.hedgingEnabled = appConfig.getBoolean("client.hedging.enabled", false);
+        this.initialHedgeDelay = appConfig.getDuration("client.hedging.initialDelay", Duration.ofSeconds(1));
+        this.minHedgeDelay = appConfig.getDuration("client.hedging.minDelay", Duration.ofMillis(50));
+        this.circuitBreaker = new CircuitBreaker(
+                appConfig.getInt("client.circuit.failureThreshold", 5),
+                appConfig.getDuration("client.circuit.openDuration", Duration.ofSeconds(30)));
+    }
+
+    public <T> CompletableFuture<T> execute(Supplier<CompletableFuture<T>> attempt) {
+        if (!circuitBreaker.tryAcquire()) {
+            return CompletableFuture.failedFuture(
+                    new CircuitOpenException("TMDb is unavailable; failing fast while the circuit is open"));
+        }
+        CompletableFuture<T> attempts = withRetries(attempt);
+        return AsyncTMDbClient.forwardCancel(attempts.whenComplete((result, error) -> {
+                    if (attempts.isCancelled()) {
+                        circuitBreaker.onAbandoned();
+                    } else if (error == null || !isServerFault(AsyncTMDbClient.unwrap(error))) {
+                        circuitBreaker.onSuccess();
+                    } else {
+                        circuitBreaker.onFailure();
+                    }
+                }), attempts);
+    }
+
+    public ResilienceStats stats() {
+        return new ResilienceStats(
+                retries.sum(),
+                hedgesIssued.sum(),
+                hedgeWins.sum(),
+                circuitBreaker.state(),
+                circuitBreaker.rejected(),
+                TimeUnit.NANOSECONDS.toMillis(latencyTracker.percentileNanos(0.95, 0, 1)));
+    }
+
+    // Cancelling the returned future cancels the attempt in flight or the backoff before the next one.
+    private <T> CompletableFuture<T> withRetries(Supplier<CompletableFuture<T>> attempt) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        AtomicReference<CompletableFuture<?>> current = new AtomicReference<>(CompletableFuture.completedFuture(null));
+        result.whenComplete((value, error) -> {
+            if (result.isCancelled()) {
+                current.get().cancel(true);
+            }
+        });
+        retry(attempt, 0, result, current);
+        return result;
+    }
+
+    private <T> void retry(Supplier<CompletableFuture<T>> attempt, int attemptNumber, CompletableFuture<T> result,
+                           AtomicReference<CompletableFuture<?>> current) {
+        CompletableFuture<T> hedgedAttempt = hedged(attempt);
+        publish(current, hedgedAttempt, result);
+        hedgedAttempt.whenComplete((value, error) -> {
+            if (error == null) {
+                result.complete(value);
+                return;
+            }
+            ApiClientException failure = AsyncTMDbClient.unwrap(error);
+            if (result.isDone() || attemptNumber >= maxRetries || !isRetryable(failure)) {
+                result.completeExceptionally(failure);
+                return;
+            }
+            retries.increment();
+            long delayMillis = backoffMillis(attemptNumber);
+            CompletableFuture<Void> backoff = CompletableFuture
+                    .runAsync(() -> { }, CompletableFuture.delayedExecutor(delayMillis, TimeUnit.MILLISECONDS));
+            publish(current, backoff, result);
+            backoff.thenRun(() -> retry(attempt, attemptNumber + 1, result, current));
+        });
+    }
+
+    // Covers a cancel that landed before the stage was published, which the cancel handler could not see.
+    private static void publish(AtomicReference<CompletableFuture<?>> current, CompletableFuture<?> stage,
+                                CompletableFuture<?> result) {
+        current.set(stage);
+        if (result.isCancelled()) {
+            stage.cancel(true);
+        }
+    }
+
+    private <T> CompletableFuture<T> hedged(Supplier<CompletableFuture<T>> attempt) {
+        CompletableFuture<T> primary = timed(attempt);
+        if (!hedgingEnabled) {
+            return primary;
+        }
+
+        CompletableFuture<T> result = new CompletableFuture<>();
+        AtomicInteger pending = new AtomicInteger(1);
+        AtomicReference<CompletableFuture<T>> hedge = new AtomicReference<>();
+        BiConsumer<T, Throwable> onComplete = (value, error) -> {
+            if (error == null) {
+                result.complete(value);
+            } else if (pending.decrementAndGet() == 0) {
+                result.completeExceptionally(error);
+            }
+        };
+        primary.whenComplete(onComplete);
+
+        long delayNanos = Math.max(minHedgeDelay.toNanos(),
+                latencyTracker.percentileNanos(0.95, initialHedgeDelay.toNanos(), 20));
+        CompletableFuture.delayedExecutor(delayNanos, TimeUnit.NANOSECONDS).execute(() -> {
+            if (result.isDone()) {
+                return;
+            }
+            pending.incrementAndGet();
+            hedgesIssued.increment();
+            CompletableFuture<T> secondary = timed(attempt);
+            hedge.set(secondary);
+            if (result.isDone()) {
+                // The primary won while the hedge was being sent, after the cleanup below had already run.
+                secondary.cancel(true);
+            }
+            secondary.whenComplete((value, error) -> {
+                if (error == null && !primary.isDone()) {
+                    hedgeWins.increment();
+                }
+                onComplete.accept(value, error);
+            });
+        });
+
+        // Attempts are the futures the client handed out, so cancelling the loser aborts its HTTP exchange and
+        // returns its throttle permit.
+        result.whenComplete((value, error) -> {
+            primary.cancel(true);
+            CompletableFuture<T> secondary = hedge.get();
+            if (secondary != null) {
+                secondary.cancel(true);
+            }
+        });
+        return result;
+    }
+
+    // Returns the attempt's own future rather than a stage derived from it, so cancelling it reaches the request.
+    private <T> CompletableFuture<T> timed(Supplier<CompletableFuture<T>> attempt) {
+        long start = System.nanoTime();
+        CompletableFuture<T> future = attempt.get();
+        future.whenComplete((value, error) -> {
+            if (error == null) {
+                latencyTracker.record(System.nanoTime() - start);
+            }
+        });
+        return future;
+    }
+
+    private long backoffMillis(int attemptNumber) {
+        long ceiling = Math.min(maxBackoff.toMillis(), baseBackoff.toMillis() << Math.min(attemptNumber, 20));
+        return ThreadLocalRandom.current().nextLong(ceiling / 2, ceiling + 1);
+    }
+
+    private static boolean isRetryable(ApiClientException failure) {
+        if (failure instanceof RateLimitedException || failure instanceof CircuitOpenException) {
+            return false;
+        }
+        if (failure.getStatusCode() >= 500) {
+            return true;
+        }
+        Throwable cause = failure.getCause();
+        return failure.getStatusCode() == 0
+                && cause instanceof IOException
+                && !(cause instanceof JsonProcessingException);
+    }
+
+    private static boolean isServerFault(ApiClientException failure) {
+        return failure.getStatusCode() >= 500 || failure.getStatusCode() == 429
+                || (failure.getStatusCode() == 0 && failure.getCause() instanceof IOException
+                && !(failure.getCause() instanceof JsonProcessingException));
+    }
+}
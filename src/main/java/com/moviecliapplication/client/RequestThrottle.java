@@ -0,0 +1,192 @@
+package com.moviecliapplication.client;
+
+import com.moviecliapplication.config.AppConfig;
+
+import jakarta.inject.Inject;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+
+public class RequestThrottle {
+
+    private static final Duration DEFAULT_RETRY_AFTER = Duration.ofSeconds(1);
+
+    private final boolean enabled;
+    private final double requestsPerSecond;
+    private final int burst;
+    private final int minConcurrency;
+    private final int maxConcurrency;
+    private final int maxQueueDepth;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final ArrayDeque<CompletableFuture<Permit>> waiters = new ArrayDeque<>();
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable ->
+            Thread.ofPlatform().daemon().name("tmdb-throttle").unstarted(runnable));
+
+    private double tokens;
+    private long lastRefillNanos;
+    private double concurrencyLimit;
+    private int inFlight;
+    private long pausedUntilNanos;
+    private boolean wakeUpScheduled;
+    private long rejected;
+    private long rateLimited;
+
+    @Inject
+    public RequestThrottle(AppConfig appConfig) {
+        this.enabled = appConfig.getBoolean("throttle.enabled", true);
+        this.requestsPerSecond = Math.max(0.1, appConfig.getDouble("throttle.requestsPerSecond", 40));
+        this.burst = Math.max(1, appConfig.getInt("throttle.burst", 20));
+        this.minConcurrency = 1;
+        this.maxConcurrency = Math.max(minConcurrency, appConfig.getInt("throttle.maxConcurrency", 64));
+        this.maxQueueDepth = Math.max(1, appConfig.getInt("throttle.maxQueueDepth", 10_000));
+        this.concurrencyLimit = Math.clamp(appConfig.getInt("throttle.initialConcurrency", 8), minConcurrency, maxConcurrency);
+        this.tokens = burst;
+        this.lastRefillNanos = System.nanoTime();
+    }
+
+    public CompletableFuture<Permit> acquire() {
+        if (!enabled) {
+            return CompletableFuture.completedFuture(new Permit());
+        }
+        CompletableFuture<Permit> waiter = new CompletableFuture<>();
+        List<CompletableFuture<Permit>> granted;
+        lock.lock();
+        try {
+            if (waiters.size() >= maxQueueDepth) {
+                rejected++;
+                return CompletableFuture.failedFuture(
+                        new ApiClientException("Request rejected: " + waiters.size() + " requests already queued"));
+            }
+            waiters.addLast(waiter);
+            granted = dispatch();
+        } finally {
+            lock.unlock();
+        }
+        grant(granted);
+        return waiter;
+    }
+
+    public ThrottleStats stats() {
+        lock.lock();
+        try {
+            refill(System.nanoTime());
+            return new ThrottleStats(requestsPerSecond, (int) concurrencyLimit, inFlight,
+                    Math.max(0, Math.min((int) tokens, (int) concurrencyLimit - inFlight)),
+                    waiters.size(), rejected, rateLimited);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private List<CompletableFuture<Permit>> dispatch() {
+        List<CompletableFuture<Permit>> granted = new ArrayList<>();
+        long now = System.nanoTime();
+        refill(now);
+        while (!waiters.isEmpty()) {
+            if (now < pausedUntilNanos) {
+                scheduleWakeUp(pausedUntilNanos - now);
+                break;
+            }
+            if (inFlight >= (int) concurrencyLimit) {
+                break;
+            }
+            if (tokens < 1.0) {
+                scheduleWakeUp((long) ((1.0 - tokens) / requestsPerSecond * 1_000_000_000L));
+                break;
+            }
+            CompletableFuture<Permit> waiter = waiters.pollFirst();
+            if (waiter.isDone()) {
+                continue;
+            }
+            tokens -= 1.0;
+            inFlight++;
+            granted.add(waiter);
+        }
+        return granted;
+    }
+
+    private void grant(List<CompletableFuture<Permit>> granted) {
+        for (CompletableFuture<Permit> waiter : granted) {
+            Permit permit = new Permit();
+            if (!waiter.complete(permit)) {
+                permit.release(null);
+            }
+        }
+    }
+
+    private void refill(long now) {
+        double elapsedSeconds = (now - lastRefillNanos) / 1_000_000_000.0;
+        tokens = Math.min(burst, tokens + elapsedSeconds * requestsPerSecond);
+        lastRefillNanos = now;
+    }
+
+    private void scheduleWakeUp(long delayNanos) {
+        if (wakeUpScheduled) {
+            return;
+        }
+        wakeUpScheduled = true;
+        scheduler.schedule(() -> {
+            List<CompletableFuture<Permit>> granted;
+            lock.lock();
+            try {
+                wakeUpScheduled = false;
+                granted = dispatch();
+            } finally {
+                lock.unlock();
+            }
+            grant(granted);
+        }, Math.max(1_000L, delayNanos), TimeUnit.NANOSECONDS);
+    }
+
+    private void onRelease(Throwable error) {
+        List<CompletableFuture<Permit>> granted;
+        lock.lock();
+        try {
+            inFlight--;
+            ApiClientException failure = error != null ? AsyncTMDbClient.unwrap(error) : null;
+            if (failure != null && failure.getCause() instanceof CancellationException) {
+                // A hedge or attempt that lost was called off; that says nothing about TMDb's capacity.
+            } else if (failure == null) {
+                concurrencyLimit = Math.min(maxConcurrency, concurrencyLimit + 1.0 / concurrencyLimit);
+            } else if (failure instanceof RateLimitedException rateLimitedException) {
+                rateLimited++;
+                concurrencyLimit = Math.max(minConcurrency, concurrencyLimit / 2);
+                Duration retryAfter = rateLimitedException.getRetryAfter() != null
+                        ? rateLimitedException.getRetryAfter()
+                        : DEFAULT_RETRY_AFTER;
+                pausedUntilNanos = Math.max(pausedUntilNanos, System.nanoTime() + retryAfter.toNanos());
+                tokens = 0;
+            } else if (failure.getStatusCode() == 0 || failure.getStatusCode() >= 500) {
+                concurrencyLimit = Math.max(minConcurrency, concurrencyLimit * 0.75);
+            }
+            granted = dispatch();
+        } finally {
+            lock.unlock();
+        }
+        grant(granted);
+    }
+
+    public final class Permit {
+
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private Permit() {
+        }
+
+        public void release(Throwable error) {
+            if (enabled && released.compareAndSet(false, true)) {
+                onRelease(error);
+            }
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package com.moviecliapplication.client;
+
+public record ResilienceStats(
+        long retries,
+        long hedgesIssued,
+        long hedgeWins,
+        CircuitBreaker.State circuitState,
+        long circuitRejected,
+        long p95LatencyMillis
+) {
+}
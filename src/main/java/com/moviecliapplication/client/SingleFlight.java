@@ -0,0 +1,96 @@
+package com.moviecliapplication.client;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+public class SingleFlight {
+
+    private static final class Flight {
+        private final CompletableFuture<Object> promise = new CompletableFuture<>();
+        private final AtomicInteger waiters = new AtomicInteger(1);
+        private volatile CompletableFuture<?> call;
+
+        // Fails once every earlier waiter has cancelled, when the call is being abandoned.
+        private boolean join() {
+            int current;
+            do {
+                current = waiters.get();
+                if (current == 0) {
+                    return false;
+                }
+            } while (!waiters.compareAndSet(current, current + 1));
+            return true;
+        }
+    }
+
+    private final ConcurrentMap<String, Flight> inFlight = new ConcurrentHashMap<>();
+    private final LongAdder executed = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+
+    // Every caller of a key must expect the same result type, which holds as a key names one TMDb request.
+    // Each caller gets its own copy; the call itself is only cancelled when every caller has cancelled.
+    public <T> CompletableFuture<T> execute(String key, Supplier<CompletableFuture<T>> call) {
+        Flight flight = new Flight();
+        while (true) {
+            Flight existing = inFlight.putIfAbsent(key, flight);
+            if (existing == null) {
+                break;
+            }
+            if (existing.join()) {
+                coalesced.increment();
+                return waiterOf(key, existing);
+            }
+            inFlight.remove(key, existing);
+        }
+
+        executed.increment();
+        try {
+            CompletableFuture<T> started = call.get();
+            flight.call = started;
+            started.whenComplete((result, error) -> {
+                inFlight.remove(key, flight);
+                if (error != null) {
+                    flight.promise.completeExceptionally(error);
+                } else {
+                    flight.promise.complete(result);
+                }
+            });
+        } catch (RuntimeException e) {
+            inFlight.remove(key, flight);
+            flight.promise.completeExceptionally(e);
+        }
+        return waiterOf(key, flight);
+    }
+
+    private <T> CompletableFuture<T> waiterOf(String key, Flight flight) {
+        @SuppressWarnings("unchecked")
+        CompletableFuture<T> waiter = (CompletableFuture<T>) flight.promise.copy();
+        waiter.whenComplete((result, error) -> {
+            if (waiter.isCancelled() && flight.waiters.decrementAndGet() == 0) {
+                inFlight.remove(key, flight);
+                CompletableFuture<?> started = flight.call;
+                if (started != null) {
+                    started.cancel(true);
+                }
+                flight.promise.cancel(true);
+            }
+        });
+        return waiter;
+    }
+
+    public long executed() {
+        return executed.sum();
+    }
+
+    public long coalesced() {
+        return coalesced.sum();
+    }
+
+    public int inFlight() {
+        return inFlight.size();
+    }
+}
@@ -1,130 +1,238 @@
 package com.moviecliapplication.client;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.moviecliapplication.config.AppConfig;
+import com.moviecliapplication.metrics.Metrics;
 import com.moviecliapplication.model.GenreListResponse;
 import com.moviecliapplication.model.MovieListResponse;
 
 import jakarta.inject.Inject;
+import jakarta.inject.Provider;
 
 import java.net.URI;
-import java.net.URLEncoder;
 import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
-import java.nio.charset.StandardCharsets;
-import java.util.Optional;
-import java.util.concurrent.ExecutionException;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
-import java.util.concurrent.Future;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
 
-public class TMDbClientImpl implements TMDbClient {
+public class TMDbClientImpl implements AsyncTMDbClient {
 
-    private static final String BASE_URL = "https://api.themoviedb.org/3";
+    // Bodies are parsed from a blocking InputStream. On the HttpClient's own executor, which can be a fixed pool
+    // (http.executorThreads), enough concurrent parses would hold every thread the client needs to deliver them.
+    private static final Executor PARSE_EXECUTOR = runnable -> Thread.ofVirtual().name("tmdb-parse").start(runnable);
+
+    private final String baseUrl;
     private final String apiKey;
-    private final HttpClient httpClient;
+    private final Provider<HttpClient> httpClient;
+    private final boolean acceptGzip;
     private final ObjectMapper objectMapper;
-    private final ExecutorService virtualThreadExecutor = Executors.newVirtualThreadPerTaskExecutor();
+    private final RequestThrottle throttle;
+    private final SingleFlight singleFlight;
+    private final RequestResilience resilience;
+    private final Metrics metrics;
+    private final int maxRateLimitRetries;
+    private final Duration requestTimeout;
 
     @Inject
-    public TMDbClientImpl (AppConfig appConfig) {
+    public TMDbClientImpl (AppConfig appConfig, RequestThrottle throttle, SingleFlight singleFlight,
+                           RequestResilience resilience, Metrics metrics, Provider<HttpClient> httpClient,
+                           HttpClientFactory httpClientFactory) {
+        this.httpClient = httpClient;
+        this.acceptGzip = httpClientFactory.acceptsGzip();
+        this.throttle = throttle;
+        this.singleFlight = singleFlight;
+        this.resilience = resilience;
+        this.metrics = metrics;
+        this.requestTimeout = appConfig.getDuration("client.requestTimeout", Duration.ofSeconds(10));
+        this.maxRateLimitRetries = appConfig.getInt("throttle.maxRateLimitRetries", 3);
+        this.baseUrl = appConfig.getTmdbBaseUrl();
         this.apiKey = appConfig.getTmdbApiKey();
-        System.out.println("--- Loaded API Key: [" + this.apiKey + "] ---");
-        this.httpClient = HttpClient.newHttpClient();
+        System.err.println("--- Loaded API Key: [" + this.apiKey + "] ---");
         this.objectMapper = new ObjectMapper();
         this.objectMapper.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
     }
 
+    // Built on first use: its class loading and TLS setup are a large share of start-up, and sessions served
+    // entirely from the response cache never need it.
+    private HttpClient httpClient() {
+        return httpClient.get();
+    }
+
     @Override
-    public Optional<MovieListResponse> searchMoviesByName(String name, int page) {
-        String encodedName = URLEncoder.encode(name, StandardCharsets.UTF_8);
-        return fetchFromApi("/search/movie", "query=" + encodedName, page, MovieListResponse.class);
+    public CompletableFuture<MovieListResponse> searchMoviesByNameAsync(String name, int page) {
+        return fetchFromApi(ApiRequest.searchByName(name, page), MovieListResponse.class);
     }
 
     @Override
-    public Optional<MovieListResponse> discoverMoviesByGenre(int genreId, int page) {
-        return fetchFromApi("/discover/movie", "with_genres=" + genreId, page, MovieListResponse.class);
+    public CompletableFuture<MovieListResponse> discoverMoviesByGenreAsync(int genreId, int page) {
+        return fetchFromApi(ApiRequest.discoverByGenre(genreId, page), MovieListResponse.class);
     }
 
     @Override
-    public Optional<MovieListResponse> discoverMoviesByYear(int year, int page) {
-        return fetchFromApi("/discover/movie", "primary_release_year=" + year, page, MovieListResponse.class);
+    public CompletableFuture<MovieListResponse> discoverMoviesByYearAsync(int year, int page) {
+        return fetchFromApi(ApiRequest.discoverByYear(year, page), MovieListResponse.class);
     }
 
     @Override
-    public Optional<MovieListResponse> getPopularMovies(int page) {
-        return fetchFromApi("/movie/popular", "", page, MovieListResponse.class);
+    public CompletableFuture<MovieListResponse> discoverMoviesAsync(Map<String, String> filters, int page) {
+        return fetchFromApi(ApiRequest.discover(filters, page), MovieListResponse.class);
     }
 
     @Override
-    public Optional<MovieListResponse> getTopRatedMovies(int page) {
-        return fetchFromApi("/movie/top_rated", "", page, MovieListResponse.class);
+    public CompletableFuture<MovieListResponse> getPopularMoviesAsync(int page) {
+        return fetchFromApi(ApiRequest.popular(page), MovieListResponse.class);
     }
 
     @Override
-    public Optional<MovieListResponse> getNowPlayingMovies(int page) {
-        return fetchFromApi("/movie/now_playing", "", page, MovieListResponse.class);
+    public CompletableFuture<MovieListResponse> getTopRatedMoviesAsync(int page) {
+        return fetchFromApi(ApiRequest.topRated(page), MovieListResponse.class);
     }
 
     @Override
-    public Optional<MovieListResponse> getUpcomingMovies(int page) {
-        return fetchFromApi("/movie/upcoming", "", page, MovieListResponse.class);
+    public CompletableFuture<MovieListResponse> getNowPlayingMoviesAsync(int page) {
+        return fetchFromApi(ApiRequest.nowPlaying(page), MovieListResponse.class);
     }
 
     @Override
-    public Optional<GenreListResponse> getGenreList() {
-        String url = buildUrl("/genre/movie/list", "", 1);
-        HttpRequest request = HttpRequest.newBuilder()
-                .uri(URI.create(url))
-                .header("Accept", "application/json")
-                .build();
+    public CompletableFuture<MovieListResponse> getUpcomingMoviesAsync(int page) {
+        return fetchFromApi(ApiRequest.upcoming(page), MovieListResponse.class);
+    }
+
+    @Override
+    public CompletableFuture<GenreListResponse> getGenreListAsync() {
+        return fetchFromApi(ApiRequest.genreList(), GenreListResponse.class);
+    }
 
-        return sendRequest(request)
-                .flatMap(json -> deserialize(json, GenreListResponse.class));
+    private <T> CompletableFuture<T> fetchFromApi(ApiRequest apiRequest, Class<T> responseClass) {
+        return fetch(apiRequest, responseClass, Validators.NONE).thenApply(ConditionalResponse::body);
     }
 
-    private <T> Optional<T> fetchFromApi(String endpoint, String queryParams, int page, Class<T> responseClass) {
-        String url = buildUrl(endpoint, queryParams, page);
-        HttpRequest request = HttpRequest.newBuilder()
+    // Sends If-None-Match / If-Modified-Since when validators are given; a 304 comes back as notModified()
+    // without a body to download or parse. Identical requests in flight at the same time share one response.
+    public <T> CompletableFuture<ConditionalResponse<T>> fetch(ApiRequest apiRequest, Class<T> responseClass,
+                                                               Validators validators) {
+        String key = validators.isEmpty()
+                ? apiRequest.cacheKey()
+                : apiRequest.cacheKey() + " if " + validators.etag() + " " + validators.lastModified();
+        return singleFlight.execute(key, () -> fetchUncoalesced(apiRequest, responseClass, validators));
+    }
+
+    private <T> CompletableFuture<ConditionalResponse<T>> fetchUncoalesced(ApiRequest apiRequest,
+                                                                           Class<T> responseClass,
+                                                                           Validators validators) {
+        String url = buildUrl(apiRequest.endpoint(), apiRequest.queryParams(), apiRequest.page());
+        HttpRequest.Builder request = HttpRequest.newBuilder()
                 .uri(URI.create(url))
                 .header("Accept", "application/json")
-                .build();
+                .timeout(requestTimeout);
+        if (acceptGzip) {
+            request.header("Accept-Encoding", "gzip");
+        }
+        validators.addTo(request);
 
-        return sendRequest(request)
-                .flatMap(json -> deserialize(json, responseClass));
+        CompletableFuture<ConditionalResponse<T>> executed =
+                resilience.execute(() -> sendThrottled(request.build(), apiRequest.endpoint(), responseClass, 0));
+        return AsyncTMDbClient.forwardCancel(executed.thenApply(response -> {
+            if (response.notModified() && validators.isEmpty()) {
+                throw new ApiClientException("API answered 304 to an unconditional request", 304);
+            }
+            return response;
+        }), executed);
     }
 
     private String buildUrl(String endpoint, String queryParams, int page) {
         String seperator = queryParams.isEmpty()? "" : "&";
-        return BASE_URL + endpoint + "?api_key=" + apiKey + seperator + queryParams + "&page=" + page;
+        return baseUrl + endpoint + "?api_key=" + apiKey + seperator + queryParams + "&page=" + page;
     }
 
-    private Optional<String> sendRequest(HttpRequest request) {
-        try {
-            Future<HttpResponse<String>> future = virtualThreadExecutor.submit(() ->
-                    httpClient.send(request, HttpResponse.BodyHandlers.ofString()));
-
-            HttpResponse<String> response = future.get();
+    // Cancelling the returned future cancels whatever is doing its work at the time: the wait for a permit, the
+    // HttpClient exchange, or the attempt re-queued after a 429. A hedge or attempt that lost so stops its
+    // exchange and hands its permit back rather than downloading a body nobody reads.
+    private <T> CompletableFuture<ConditionalResponse<T>> sendThrottled(HttpRequest request, String endpoint,
+                                                                        Class<T> responseClass, int attempt) {
+        CompletableFuture<ConditionalResponse<T>> result = new CompletableFuture<>();
+        AtomicReference<CompletableFuture<?>> current = new AtomicReference<>();
+        CompletableFuture<RequestThrottle.Permit> acquired = throttle.acquire();
+        current.set(acquired);
+        result.whenComplete((value, error) -> {
+            if (result.isCancelled()) {
+                current.get().cancel(true);
+            }
+        });
 
-            if (response.statusCode() != 200) {
-                String errorMessage = String.format("API request failed with status code: %d and body: %s",
-                        response.statusCode(), response.body());
-               throw new ApiClientException(errorMessage);
+        acquired.whenComplete((permit, refused) -> {
+            if (refused != null) {
+                result.completeExceptionally(AsyncTMDbClient.unwrap(refused));
+                return;
             }
-            return Optional.of(response.body());
-        } catch (InterruptedException | ExecutionException e) {
-            throw new ApiClientException("Error during API request execution: " + e.getMessage());
-        }
+            CompletableFuture<ConditionalResponse<T>> response = sendRequest(request, endpoint, responseClass, current);
+            cancelIfCancelled(result, current.get());
+            response.whenComplete((body, error) -> {
+                permit.release(error);
+                if (error == null) {
+                    result.complete(body);
+                    return;
+                }
+                ApiClientException failure = AsyncTMDbClient.unwrap(error);
+                if (failure instanceof RateLimitedException && attempt < maxRateLimitRetries && !result.isDone()) {
+                    CompletableFuture<ConditionalResponse<T>> retry =
+                            sendThrottled(request, endpoint, responseClass, attempt + 1);
+                    current.set(retry);
+                    cancelIfCancelled(result, retry);
+                    retry.whenComplete((retried, retryError) -> {
+                        if (retryError == null) {
+                            result.complete(retried);
+                        } else {
+                            result.completeExceptionally(AsyncTMDbClient.unwrap(retryError));
+                        }
+                    });
+                } else {
+                    result.completeExceptionally(failure);
+                }
+            });
+        });
+        return result;
     }
 
-    private <T> Optional<T> deserialize(String json, Class<T> clazz) {
-        try {
-            return Optional.of(objectMapper.readValue(json, clazz));
-        } catch (JsonProcessingException e) {
-            throw new ApiClientException("Error deserializing JSON: " + e.getMessage());
+    // Covers a cancel that landed before the new stage was published, which the cancel handler could not see.
+    private static void cancelIfCancelled(CompletableFuture<?> result, CompletableFuture<?> stage) {
+        if (result.isCancelled()) {
+            stage.cancel(true);
         }
     }
+
+    // Publishes the raw sendAsync future in `exchange`: cancelling that one, unlike a stage derived from it,
+    // aborts the HTTP exchange.
+    private <T> CompletableFuture<ConditionalResponse<T>> sendRequest(HttpRequest request, String endpoint,
+                                                                      Class<T> responseClass,
+                                                                      AtomicReference<CompletableFuture<?>> exchange) {
+        long start = metrics.start();
+        JsonBodyHandler<T> bodyHandler = new JsonBodyHandler<>(objectMapper, responseClass, metrics, endpoint, start);
+        CompletableFuture<HttpResponse<Supplier<T>>> sent = httpClient().sendAsync(request, bodyHandler);
+        exchange.set(sent);
+        return sent
+                .handleAsync((response, error) -> {
+                    if (error != null) {
+                        if (metrics.isEnabled() && !(error instanceof CancellationException)) {
+                            metrics.increment("client_errors", "status", "io");
+                        }
+                        throw AsyncTMDbClient.unwrap(error);
+                    }
+                    if (metrics.isEnabled()) {
+                        metrics.increment("client_responses", "version", response.version().name());
+                    }
+                    try {
+                        return new ConditionalResponse<>(response.body().get(), Validators.of(response.headers()));
+                    } finally {
+                        metrics.recordSince("client_request", endpoint, start);
+                    }
+                }, PARSE_EXECUTOR);
+    }
 }
@@ -0,0 +1,12 @@
+package com.moviecliapplication.client;
+
+public record ThrottleStats(
+        double requestsPerSecond,
+        int concurrencyLimit,
+        int inFlight,
+        int availablePermits,
+        int queueDepth,
+        long rejected,
+        long rateLimited
+) {
+}
@@ -0,0 +1,30 @@
+package com.moviecliapplication.client;
+
+import java.net.http.HttpHeaders;
+import java.net.http.HttpRequest;
+
+// The ETag and Last-Modified a response came with. Sent back as If-None-Match / If-Modified-Since, they let
+// TMDb answer 304 with no body instead of the whole page again.
+public record Validators(String etag, String lastModified) {
+
+    public static final Validators NONE = new Validators(null, null);
+
+    public static Validators of(HttpHeaders headers) {
+        String etag = headers.firstValue("ETag").orElse(null);
+        String lastModified = headers.firstValue("Last-Modified").orElse(null);
+        return etag == null && lastModified == null ? NONE : new Validators(etag, lastModified);
+    }
+
+    public boolean isEmpty() {
+        return etag == null && lastModified == null;
+    }
+
+    void addTo(HttpRequest.Builder request) {
+        if (etag != null) {
+            request.header("If-None-Match", etag);
+        }
+        if (lastModified != null) {
+            request.header("If-Modified-Since", lastModified);
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.moviecliapplication.client.cache;
+
+import com.moviecliapplication.config.AppConfig;
+
+import jakarta.inject.Inject;
+
+import java.time.Duration;
+import java.util.Map;
+
+public class CachePolicy {
+
+    private static final Duration DEFAULT_TTL = Duration.ofMinutes(15);
+
+    private static final Map<String, Duration> DEFAULT_TTLS = Map.of(
+            "/genre/movie/list", Duration.ofDays(3),
+            "/movie/now_playing", Duration.ofMinutes(10),
+            "/movie/upcoming", Duration.ofHours(1),
+            "/movie/popular", Duration.ofMinutes(30),
+            "/movie/top_rated", Duration.ofHours(6),
+            "/discover/movie", Duration.ofHours(6),
+            "/search/movie", Duration.ofHours(1)
+    );
+
+    // How long past its TTL an entry may still be served at once while a background request revalidates it.
+    // Only for lists that rarely change; fast-moving ones wait for the refresh instead.
+    private static final Map<String, Duration> DEFAULT_STALE_WHILE_REVALIDATE = Map.of(
+            "/genre/movie/list", Duration.ofDays(7),
+            "/movie/top_rated", Duration.ofDays(1),
+            "/discover/movie", Duration.ofDays(1)
+    );
+
+    private final AppConfig appConfig;
+
+    @Inject
+    public CachePolicy(AppConfig appConfig) {
+        this.appConfig = appConfig;
+    }
+
+    public Duration ttlFor(String endpoint) {
+        Duration fallback = DEFAULT_TTLS.getOrDefault(endpoint, DEFAULT_TTL);
+        return appConfig.getDuration("cache.ttl." + propertySuffix(endpoint), fallback);
+    }
+
+    // Every lookup goes to TMDb with a conditional request, fresh or not, and nothing stale is served in its place.
+    public boolean alwaysRevalidate() {
+        return appConfig.getBoolean("cache.alwaysRevalidate", false);
+    }
+
+    public Duration staleWhileRevalidateFor(String endpoint) {
+        if (alwaysRevalidate() || !appConfig.getBoolean("cache.staleWhileRevalidate.enabled", true)) {
+            return Duration.ZERO;
+        }
+        Duration fallback = DEFAULT_STALE_WHILE_REVALIDATE.getOrDefault(endpoint, Duration.ZERO);
+        return appConfig.getDuration("cache.staleWhileRevalidate." + propertySuffix(endpoint), fallback);
+    }
+
+    private static String propertySuffix(String endpoint) {
+        return endpoint.substring(1).replace('/', '.');
+    }
+}
@@ -0,0 +1,20 @@
+package com.moviecliapplication.client.cache;
+
+public record CacheStats(
+        long memoryHits,
+        long diskHits,
+        long misses,
+        long staleHits,
+        long notModified,
+        long staleWhileRevalidate,
+        long evictions,
+        long expirations,
+        int memorySize,
+        int memoryCapacity
+) {
+
+    public double hitRate() {
+        long lookups = memoryHits + diskHits + misses;
+        return lookups == 0 ? 0.0 : (double) (memoryHits + diskHits) / lookups;
+    }
+}
@@ -0,0 +1,11 @@
+package com.moviecliapplication.client.cache;
+
+import com.moviecliapplication.client.Validators;
+
+// A cached body with the time it stops being fresh and the validators needed to revalidate it once it has.
+public record CachedResponse<T>(T value, long expiresAtMillis, Validators validators) {
+
+    public boolean isFresh(long nowMillis) {
+        return expiresAtMillis > nowMillis;
+    }
+}
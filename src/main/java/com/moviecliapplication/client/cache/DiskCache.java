@@ -0,0 +1,100 @@
+package com.moviecliapplication.client.cache;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.moviecliapplication.client.Validators;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Optional;
+
+class DiskCache {
+
+    private final Path directory;
+    private final long staleRetentionMillis;
+    private final ObjectMapper objectMapper;
+
+    DiskCache(Path directory, long staleRetentionMillis) {
+        this.directory = directory;
+        this.staleRetentionMillis = staleRetentionMillis;
+        this.objectMapper = new ObjectMapper();
+        this.objectMapper.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+        try {
+            Files.createDirectories(directory);
+        } catch (IOException e) {
+            System.err.println("Could not create cache directory " + directory + ": " + e.getMessage());
+        }
+    }
+
+    <T> Optional<CachedResponse<T>> get(String key, Class<T> type, long nowMillis) {
+        Path file = fileFor(key);
+        if (!Files.exists(file)) {
+            return Optional.empty();
+        }
+        try {
+            JsonNode root = objectMapper.readTree(file.toFile());
+            long expiresAt = root.path("expiresAt").asLong();
+            if (expiresAt + staleRetentionMillis <= nowMillis || !key.equals(root.path("key").asText())) {
+                Files.deleteIfExists(file);
+                return Optional.empty();
+            }
+            Validators validators = new Validators(text(root, "etag"), text(root, "lastModified"));
+            return Optional.of(new CachedResponse<>(objectMapper.treeToValue(root.get("payload"), type), expiresAt,
+                    validators.isEmpty() ? Validators.NONE : validators));
+        } catch (IOException e) {
+            System.err.println("Discarding unreadable cache entry " + file + ": " + e.getMessage());
+            deleteQuietly(file);
+            return Optional.empty();
+        }
+    }
+
+    void put(String key, CachedResponse<?> entry) {
+        Path file = fileFor(key);
+        ObjectNode root = objectMapper.createObjectNode();
+        root.put("key", key);
+        root.put("expiresAt", entry.expiresAtMillis());
+        if (entry.validators().etag() != null) {
+            root.put("etag", entry.validators().etag());
+        }
+        if (entry.validators().lastModified() != null) {
+            root.put("lastModified", entry.validators().lastModified());
+        }
+        root.set("payload", objectMapper.valueToTree(entry.value()));
+        try {
+            Path temp = Files.createTempFile(directory, "entry", ".tmp");
+            objectMapper.writeValue(temp.toFile(), root);
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            System.err.println("Could not write cache entry " + file + ": " + e.getMessage());
+        }
+    }
+
+    private static String text(JsonNode root, String field) {
+        JsonNode node = root.get(field);
+        return node == null || node.isNull() ? null : node.asText();
+    }
+
+    private Path fileFor(String key) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(key.getBytes(StandardCharsets.UTF_8));
+            return directory.resolve(HexFormat.of().formatHex(digest) + ".json");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException ignored) {
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.moviecliapplication.client.cache;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.LongAdder;
+
+class MemoryCache {
+
+    private final int capacity;
+    private final LinkedHashMap<String, CachedResponse<?>> entries;
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder expirations = new LongAdder();
+
+    MemoryCache(int capacity) {
+        this.capacity = capacity;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedResponse<?>> eldest) {
+                if (size() > MemoryCache.this.capacity) {
+                    evictions.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    // Returns the entry even once it has expired, so it can be revalidated or served while TMDb is down.
+    @SuppressWarnings("unchecked")
+    synchronized <T> Optional<CachedResponse<T>> get(String key, Class<T> type, long nowMillis) {
+        CachedResponse<?> entry = entries.get(key);
+        if (entry == null || !type.isInstance(entry.value())) {
+            return Optional.empty();
+        }
+        if (!entry.isFresh(nowMillis)) {
+            expirations.increment();
+        }
+        return Optional.of((CachedResponse<T>) entry);
+    }
+
+    synchronized void put(String key, CachedResponse<?> entry) {
+        entries.put(key, entry);
+    }
+
+    synchronized int size() {
+        return entries.size();
+    }
+
+    int capacity() {
+        return capacity;
+    }
+
+    long evictions() {
+        return evictions.sum();
+    }
+
+    long expirations() {
+        return expirations.sum();
+    }
+}
@@ -0,0 +1,110 @@
+package com.moviecliapplication.client.cache;
+
+import com.moviecliapplication.client.ApiRequest;
+import com.moviecliapplication.client.Validators;
+import com.moviecliapplication.config.AppConfig;
+
+import jakarta.inject.Inject;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.atomic.LongAdder;
+
+public class ResponseCache {
+
+    private final CachePolicy cachePolicy;
+    private final MemoryCache memoryCache;
+    private final DiskCache diskCache;
+    private final LongAdder memoryHits = new LongAdder();
+    private final LongAdder diskHits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder staleHits = new LongAdder();
+    private final LongAdder notModified = new LongAdder();
+    private final LongAdder staleWhileRevalidate = new LongAdder();
+
+    @Inject
+    public ResponseCache(AppConfig appConfig, CachePolicy cachePolicy) {
+        this.cachePolicy = cachePolicy;
+        this.memoryCache = new MemoryCache(appConfig.getInt("cache.memory.maxEntries", 500));
+        this.diskCache = appConfig.getBoolean("cache.disk.enabled", true)
+                ? new DiskCache(Path.of(appConfig.getString("cache.disk.directory",
+                        System.getProperty("user.home") + "/.movie-cli/cache")),
+                        appConfig.getDuration("cache.staleRetention", Duration.ofDays(7)).toMillis())
+                : null;
+    }
+
+    // The cached entry for the request, fresh or not; only fresh entries count as hits. An expired entry is
+    // still worth returning: its validators make the refresh a conditional request, and it can stand in while
+    // that refresh runs or if TMDb is unavailable.
+    public <T> Optional<CachedResponse<T>> lookup(ApiRequest request, Class<T> type) {
+        String key = request.cacheKey();
+        long now = System.currentTimeMillis();
+
+        Optional<CachedResponse<T>> entry = memoryCache.get(key, type, now);
+        if (entry.isPresent() && entry.get().isFresh(now)) {
+            memoryHits.increment();
+            return entry;
+        }
+
+        // An expired copy in memory was written to disk at the same time, so the disk is only read on a miss.
+        if (entry.isEmpty() && diskCache != null) {
+            entry = diskCache.get(key, type, now);
+            if (entry.isPresent()) {
+                memoryCache.put(key, entry.get());
+                if (entry.get().isFresh(now)) {
+                    diskHits.increment();
+                    return entry;
+                }
+            }
+        }
+
+        misses.increment();
+        return entry;
+    }
+
+    public boolean alwaysRevalidates() {
+        return cachePolicy.alwaysRevalidate();
+    }
+
+    // Whether an expired entry may still be returned immediately while it is revalidated in the background.
+    public boolean servableWhileRevalidating(ApiRequest request, CachedResponse<?> entry) {
+        long window = cachePolicy.staleWhileRevalidateFor(request.endpoint()).toMillis();
+        return window > 0 && entry.expiresAtMillis() + window > System.currentTimeMillis();
+    }
+
+    public void put(ApiRequest request, Object value, Validators validators) {
+        String key = request.cacheKey();
+        long expiresAt = System.currentTimeMillis() + cachePolicy.ttlFor(request.endpoint()).toMillis();
+        CachedResponse<Object> entry = new CachedResponse<>(value, expiresAt, validators);
+        memoryCache.put(key, entry);
+        if (diskCache != null) {
+            diskCache.put(key, entry);
+        }
+    }
+
+    // TMDb answered 304: the cached body is current again for another TTL.
+    public void revalidated(ApiRequest request, CachedResponse<?> entry, Validators validators) {
+        notModified.increment();
+        put(request, entry.value(), validators.isEmpty() ? entry.validators() : validators);
+    }
+
+    public void servedStale(boolean revalidating) {
+        (revalidating ? staleWhileRevalidate : staleHits).increment();
+    }
+
+    public CacheStats stats() {
+        return new CacheStats(
+                memoryHits.sum(),
+                diskHits.sum(),
+                misses.sum(),
+                staleHits.sum(),
+                notModified.sum(),
+                staleWhileRevalidate.sum(),
+                memoryCache.evictions(),
+                memoryCache.expirations(),
+                memoryCache.size(),
+                memoryCache.capacity()
+        );
+    }
+}
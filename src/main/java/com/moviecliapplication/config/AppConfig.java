@@ -2,6 +2,8 @@ package com.moviecliapplication.config;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.time.Duration;
+import java.time.format.DateTimeParseException;
 import java.util.Properties;
 
 public class AppConfig {
@@ -13,7 +15,7 @@ public class AppConfig {
 
         try (InputStream input = getClass().getClassLoader().getResourceAsStream("config.properties")) {
             if (input == null) {
-                System.out.println("Sorry, unable to find config.properties");
+                System.err.println("Sorry, unable to find config.properties");
                 return;
             }
             properties.load(input);
@@ -26,4 +28,49 @@ public class AppConfig {
         String apiKey = properties.getProperty("tmdb.api.key");
         return (apiKey != null) ? apiKey.trim() : null;
     }
+
+    public String getTmdbBaseUrl() {
+        String baseUrl = getString("tmdb.base.url", "https://api.themoviedb.org/3");
+        return baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
+    }
+
+    public String getString(String key, String defaultValue) {
+        String value = System.getProperty(key, properties.getProperty(key));
+        return (value != null && !value.isBlank()) ? value.trim() : defaultValue;
+    }
+
+    public int getInt(String key, int defaultValue) {
+        String value = getString(key, null);
+        try {
+            return (value != null) ? Integer.parseInt(value) : defaultValue;
+        } catch (NumberFormatException e) {
+            System.err.println("Invalid integer for " + key + ": " + value);
+            return defaultValue;
+        }
+    }
+
+    public double getDouble(String key, double defaultValue) {
+        String value = getString(key, null);
+        try {
+            return (value != null) ? Double.parseDouble(value) : defaultValue;
+        } catch (NumberFormatException e) {
+            System.err.println("Invalid number for " + key + ": " + value);
+            return defaultValue;
+        }
+    }
+
+    public boolean getBoolean(String key, boolean defaultValue) {
+        String value = getString(key, null);
+        return (value != null) ? Boolean.parseBoolean(value) : defaultValue;
+    }
+
+    public Duration getDuration(String key, Duration defaultValue) {
+        String value = getString(key, null);
+        try {
+            return (value != null) ? Duration.parse(value) : defaultValue;
+        } catch (DateTimeParseException e) {
+            System.err.println("Invalid ISO-8601 duration for " + key + ": " + value);
+            return defaultValue;
+        }
+    }
 }
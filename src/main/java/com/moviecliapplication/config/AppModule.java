@@ -1,18 +1,65 @@
 package com.moviecliapplication.config;
 
 import com.google.inject.AbstractModule;
+import com.google.inject.Provides;
 import com.google.inject.Singleton;
+import com.moviecliapplication.catalog.CatalogStore;
+import com.moviecliapplication.client.AsyncTMDbClient;
+import com.moviecliapplication.client.CachingTMDbClient;
+import com.moviecliapplication.client.HttpClientFactory;
+import com.moviecliapplication.client.RequestResilience;
+import com.moviecliapplication.client.RequestThrottle;
+import com.moviecliapplication.client.SingleFlight;
 import com.moviecliapplication.client.TMDbClient;
 import com.moviecliapplication.client.TMDbClientImpl;
+import com.moviecliapplication.client.cache.ResponseCache;
+import com.moviecliapplication.metrics.Metrics;
+import com.moviecliapplication.search.MovieIndex;
+import com.moviecliapplication.service.CatalogMovieService;
+import com.moviecliapplication.service.GenreCatalog;
 import com.moviecliapplication.service.MovieService;
 import com.moviecliapplication.service.MovieServiceImpl;
+import com.moviecliapplication.service.Prefetcher;
+import com.moviecliapplication.service.RemoteMovieSource;
+import jakarta.inject.Provider;
+
+import java.net.http.HttpClient;
 
 public class AppModule extends AbstractModule {
 
     @Override
     protected void configure() {
-        bind(MovieService.class).to(MovieServiceImpl.class);
-        bind(TMDbClient.class).to(TMDbClientImpl.class);
+        bind(TMDbClient.class).to(CachingTMDbClient.class);
+        bind(AsyncTMDbClient.class).to(CachingTMDbClient.class);
+        bind(CachingTMDbClient.class).in(Singleton.class);
+        bind(TMDbClientImpl.class).in(Singleton.class);
+        bind(HttpClientFactory.class).in(Singleton.class);
+        bind(ResponseCache.class).in(Singleton.class);
+        bind(RequestThrottle.class).in(Singleton.class);
+        bind(SingleFlight.class).in(Singleton.class);
+        bind(RequestResilience.class).in(Singleton.class);
+        bind(RemoteMovieSource.class).to(MovieServiceImpl.class);
+        bind(MovieServiceImpl.class).in(Singleton.class);
+        bind(CatalogMovieService.class).in(Singleton.class);
+        bind(Prefetcher.class).in(Singleton.class);
+        bind(GenreCatalog.class).in(Singleton.class);
+        bind(MovieIndex.class).in(Singleton.class);
+        bind(CatalogStore.class).in(Singleton.class);
+        bind(Metrics.class).in(Singleton.class);
         bind(AppConfig.class).in(Singleton.class);
     }
+
+    // Injected as a Provider so the client is only built when the first request actually goes out.
+    @Provides
+    @Singleton
+    HttpClient httpClient(HttpClientFactory factory) {
+        return factory.create();
+    }
+
+    @Provides
+    @Singleton
+    MovieService movieService(AppConfig appConfig, Provider<MovieServiceImpl> remote,
+                              Provider<CatalogMovieService> local) {
+        return appConfig.getString("service.backend", "remote").equals("local") ? local.get() : remote.get();
+    }
 }
@@ -0,0 +1,63 @@
+package com.moviecliapplication.daemon;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.ConnectException;
+import java.net.HttpURLConnection;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+
+public class DaemonClient {
+
+    private static final int CONNECT_TIMEOUT_MILLIS = 2000;
+
+    // HttpURLConnection rather than java.net.http.HttpClient: the client only talks plain HTTP to localhost,
+    // and HttpClient's class loading and SSL setup would cost more than the request itself.
+    public boolean run(DaemonOptions options) throws IOException {
+        StringBuilder uri = new StringBuilder("http://127.0.0.1:").append(options.port()).append("/batch")
+                .append("?format=").append(encode(options.format()))
+                .append("&order=").append(encode(options.order()));
+        if (options.parallelism() != null) {
+            uri.append("&parallelism=").append(options.parallelism());
+        }
+
+        HttpURLConnection connection = (HttpURLConnection) URI.create(uri.toString()).toURL().openConnection();
+        connection.setConnectTimeout(CONNECT_TIMEOUT_MILLIS);
+        connection.setRequestMethod("POST");
+        connection.setRequestProperty("Content-Type", "text/plain;charset=utf-8");
+        connection.setDoOutput(true);
+        connection.setChunkedStreamingMode(0);
+        try {
+            try (OutputStream body = connection.getOutputStream()) {
+                if (options.query() != null) {
+                    body.write((options.query() + "\n").getBytes(StandardCharsets.UTF_8));
+                } else {
+                    System.in.transferTo(body);
+                }
+            }
+            if (connection.getResponseCode() != 200) {
+                try (InputStream error = connection.getErrorStream()) {
+                    System.err.println("Server returned " + connection.getResponseCode() + ": "
+                            + (error == null ? "" : new String(error.readAllBytes(), StandardCharsets.UTF_8)));
+                }
+                return false;
+            }
+            try (InputStream in = connection.getInputStream()) {
+                in.transferTo(System.out);
+                System.out.flush();
+            }
+            return true;
+        } catch (ConnectException e) {
+            System.err.println("No server is listening on port " + options.port() + "; start one with --serve.");
+            return false;
+        } finally {
+            connection.disconnect();
+        }
+    }
+
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,64 @@
+package com.moviecliapplication.daemon;
+
+public record DaemonOptions(
+        int port,
+        String format,
+        String order,
+        Integer parallelism,
+        String query
+) {
+
+    public static final String USAGE = """
+            Usage: --serve [--port <port>]
+                   --client [options] [query]
+              --serve keeps one process running with warm caches and connections and answers on localhost
+              --client sends a query (same syntax as --batch) to a running server; without a query,
+                       query lines are read from stdin
+              --port <port>              server port (default daemon.port or 8787)
+              --format <ndjson|csv|plain|table>  client output format (default ndjson)
+              --order <input|completion> client result order (default input)
+              --parallelism <n>          queries the server runs concurrently for this client""";
+
+    public static DaemonOptions parse(String[] args, int defaultPort) {
+        int port = defaultPort;
+        String format = "ndjson";
+        String order = "input";
+        Integer parallelism = null;
+        StringBuilder query = new StringBuilder();
+
+        for (int i = 1; i < args.length; i++) {
+            switch (args[i]) {
+                case "--port" -> port = parseInt(args, ++i);
+                case "--format" -> format = value(args, ++i).toLowerCase();
+                case "--order" -> order = value(args, ++i).toLowerCase();
+                case "--parallelism" -> parallelism = parseInt(args, ++i);
+                default -> {
+                    if (args[i].startsWith("--")) {
+                        throw new IllegalArgumentException("Unknown option: " + args[i]);
+                    }
+                    query.append(query.isEmpty() ? "" : " ").append(args[i]);
+                }
+            }
+        }
+        if (port < 1 || port > 65535) {
+            throw new IllegalArgumentException("Invalid port: " + port);
+        }
+        return new DaemonOptions(port, format, order, parallelism, query.isEmpty() ? null : query.toString());
+    }
+
+    private static int parseInt(String[] args, int index) {
+        String value = value(args, index);
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Expected a number but got: " + value);
+        }
+    }
+
+    private static String value(String[] args, int index) {
+        if (index >= args.length) {
+            throw new IllegalArgumentException("Missing value for " + args[index - 1]);
+        }
+        return args[index];
+    }
+}
@@ -0,0 +1,264 @@
+package com.moviecliapplication.daemon;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.moviecliapplication.batch.BatchOptions;
+import com.moviecliapplication.batch.BatchRunner;
+import com.moviecliapplication.config.AppConfig;
+import com.moviecliapplication.domain.Movie;
+import com.moviecliapplication.domain.Page;
+import com.moviecliapplication.metrics.StatsReporter;
+import com.moviecliapplication.service.MovieService;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import jakarta.inject.Inject;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.IntFunction;
+
+public class DaemonServer implements AutoCloseable {
+
+    private final MovieService movieService;
+    private final BatchRunner batchRunner;
+    private final StatsReporter statsReporter;
+    private final int defaultPort;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final ExecutorService virtualThreadExecutor = Executors.newVirtualThreadPerTaskExecutor();
+    private HttpServer server;
+
+    @Inject
+    public DaemonServer(MovieService movieService, BatchRunner batchRunner, StatsReporter statsReporter,
+                        AppConfig appConfig) {
+        this.movieService = movieService;
+        this.batchRunner = batchRunner;
+        this.statsReporter = statsReporter;
+        this.defaultPort = appConfig.getInt("daemon.port", 8787);
+    }
+
+    public int defaultPort() {
+        return defaultPort;
+    }
+
+    public void start(int port) throws IOException {
+        // Small streamed writes would otherwise wait on delayed ACKs (see StandInServer).
+        if (System.getProperty("sun.net.httpserver.nodelay") == null) {
+            System.setProperty("sun.net.httpserver.nodelay", "true");
+        }
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 256);
+        server.setExecutor(virtualThreadExecutor);
+        server.createContext("/health", exchange -> respond(exchange, 200, "{\"status\":\"ok\"}"));
+        server.createContext("/genres", exchange -> respondJson(exchange, movieService.getGenres()));
+        server.createContext("/movies/", this::handleMovies);
+        server.createContext("/batch", this::handleBatch);
+        server.createContext("/stats", this::handleStats);
+        server.createContext("/", exchange -> respondError(exchange, 404, "Unknown path " + exchange.getRequestURI().getPath()));
+        server.start();
+    }
+
+    public int port() {
+        return server.getAddress().getPort();
+    }
+
+    @Override
+    public void close() {
+        if (server != null) {
+            server.stop(0);
+        }
+        virtualThreadExecutor.shutdownNow();
+    }
+
+    private void handleMovies(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            Map<String, String> params = queryParams(exchange);
+            String listing = exchange.getRequestURI().getPath().substring("/movies/".length());
+            int page;
+            IntFunction<CompletableFuture<Optional<Page<Movie>>>> fetcher;
+            try {
+                page = intParam(params, "page", 1);
+                fetcher = fetcherFor(listing, params);
+            } catch (IllegalArgumentException e) {
+                respondError(exchange, 400, e.getMessage());
+                return;
+            }
+            if (fetcher == null) {
+                respondError(exchange, 404, "Unknown listing " + listing);
+                return;
+            }
+            Optional<Page<Movie>> result;
+            try {
+                result = fetcher.apply(page).join();
+            } catch (CompletionException | CancellationException e) {
+                Throwable cause = e.getCause() != null ? e.getCause() : e;
+                respondError(exchange, 502, "TMDb request failed: " + cause.getMessage());
+                return;
+            }
+            if (result.isPresent()) {
+                respondJson(exchange, result.get());
+            } else {
+                respondError(exchange, 502, "TMDb request failed");
+            }
+        }
+    }
+
+    private IntFunction<CompletableFuture<Optional<Page<Movie>>>> fetcherFor(String listing, Map<String, String> params) {
+        return switch (listing) {
+            case "search" -> {
+                String name = params.get("query");
+                if (name == null || name.isBlank()) {
+                    throw new IllegalArgumentException("Missing query parameter 'query'");
+                }
+                yield page -> movieService.searchByNameAsync(name, page);
+            }
+            case "genre" -> {
+                int genreId = requiredIntParam(params, "id");
+                yield page -> movieService.getMoviesByGenreAsync(genreId, page);
+            }
+            case "year" -> {
+                int year = requiredIntParam(params, "year");
+                yield page -> movieService.getMoviesByYearAsync(year, page);
+            }
+            case "popular" -> movieService::getPopularMoviesAsync;
+            case "top_rated" -> movieService::getTopRatedMoviesAsync;
+            case "now_playing" -> movieService::getNowPlayingMoviesAsync;
+            case "upcoming" -> movieService::getUpcomingMoviesAsync;
+            default -> null;
+        };
+    }
+
+    private void handleBatch(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            if (!exchange.getRequestMethod().equals("POST")) {
+                respondError(exchange, 405, "Use POST with one query per line");
+                return;
+            }
+            Map<String, String> params = queryParams(exchange);
+            List<String> args = new ArrayList<>(List.of("--batch"));
+            for (String name : List.of("format", "order", "parallelism", "max-pages")) {
+                if (params.containsKey(name)) {
+                    args.add("--" + name);
+                    args.add(params.get(name));
+                }
+            }
+            BatchOptions options;
+            try {
+                options = BatchOptions.parse(args.toArray(String[]::new));
+            } catch (IllegalArgumentException e) {
+                respondError(exchange, 400, e.getMessage());
+                return;
+            }
+
+            exchange.getResponseHeaders().set("Content-Type", switch (options.format()) {
+                case "csv" -> "text/csv;charset=utf-8";
+                case "plain", "table" -> "text/plain;charset=utf-8";
+                default -> "application/x-ndjson;charset=utf-8";
+            });
+            exchange.sendResponseHeaders(200, 0);
+            try (BufferedReader input = new BufferedReader(
+                    new InputStreamReader(exchange.getRequestBody(), StandardCharsets.UTF_8));
+                 Writer output = new BufferedWriter(
+                         new OutputStreamWriter(exchange.getResponseBody(), StandardCharsets.UTF_8), 1 << 16)) {
+                batchRunner.run(options, input, output);
+            } catch (RuntimeException e) {
+                System.err.println("Batch request failed: " + e.getMessage());
+            }
+        }
+    }
+
+    private void handleStats(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            String format = queryParams(exchange).getOrDefault("format", "json");
+            switch (format) {
+                case "prometheus" -> {
+                    exchange.getResponseHeaders().set("Content-Type", "text/plain;version=0.0.4;charset=utf-8");
+                    respond(exchange, 200, statsReporter.toPrometheus());
+                }
+                case "text" -> {
+                    exchange.getResponseHeaders().set("Content-Type", "text/plain;charset=utf-8");
+                    respond(exchange, 200, statsReporter.toText());
+                }
+                default -> respond(exchange, 200, statsReporter.toJson());
+            }
+        }
+    }
+
+    private void respondJson(HttpExchange exchange, Object body) throws IOException {
+        try (exchange) {
+            respond(exchange, 200, objectMapper.writeValueAsBytes(body));
+        }
+    }
+
+    private void respondError(HttpExchange exchange, int statusCode, String message) throws IOException {
+        try (exchange) {
+            respond(exchange, statusCode, objectMapper.writeValueAsBytes(Map.of("error", message)));
+        }
+    }
+
+    private static void respond(HttpExchange exchange, int statusCode, String body) throws IOException {
+        respond(exchange, statusCode, body.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static void respond(HttpExchange exchange, int statusCode, byte[] body) throws IOException {
+        if (!exchange.getResponseHeaders().containsKey("Content-Type")) {
+            exchange.getResponseHeaders().set("Content-Type", "application/json;charset=utf-8");
+        }
+        exchange.sendResponseHeaders(statusCode, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    private static Map<String, String> queryParams(HttpExchange exchange) {
+        Map<String, String> params = new HashMap<>();
+        String rawQuery = exchange.getRequestURI().getRawQuery();
+        if (rawQuery == null) {
+            return params;
+        }
+        for (String param : rawQuery.split("&")) {
+            int equals = param.indexOf('=');
+            if (equals > 0) {
+                params.put(URLDecoder.decode(param.substring(0, equals), StandardCharsets.UTF_8),
+                        URLDecoder.decode(param.substring(equals + 1), StandardCharsets.UTF_8));
+            }
+        }
+        return params;
+    }
+
+    private static int requiredIntParam(Map<String, String> params, String name) {
+        if (params.get(name) == null || params.get(name).isBlank()) {
+            throw new IllegalArgumentException("Missing query parameter '" + name + "'");
+        }
+        return intParam(params, name, 0);
+    }
+
+    private static int intParam(Map<String, String> params, String name, int defaultValue) {
+        String value = params.get(name);
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Expected a number for '" + name + "' but got: " + value);
+        }
+    }
+}
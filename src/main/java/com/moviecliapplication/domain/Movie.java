@@ -1,13 +1,22 @@
 package com.moviecliapplication.domain;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
 import java.util.List;
 
+// genreMask is the compact form of genres, keyed to the GenreCatalog that produced it; 0 means no genres
+// or not known. It stays out of JSON so persisted indexes and printed results keep their shape.
 public record Movie(
         long id,
         String title,
         String overview,
         String releaseDate,
         double voteAverage,
-        List<String> genres
+        List<String> genres,
+        @JsonIgnore long genreMask
 ) {
+
+    public Movie(long id, String title, String overview, String releaseDate, double voteAverage, List<String> genres) {
+        this(id, title, overview, releaseDate, voteAverage, genres, 0);
+    }
 }
@@ -0,0 +1,177 @@
+package com.moviecliapplication.harvest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.moviecliapplication.domain.Genre;
+import com.moviecliapplication.domain.Movie;
+import com.moviecliapplication.domain.Page;
+import com.moviecliapplication.service.MovieService;
+
+import jakarta.inject.Inject;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.function.IntFunction;
+
+public class CatalogHarvester {
+
+    private final MovieService movieService;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Inject
+    public CatalogHarvester(MovieService movieService) {
+        this.movieService = movieService;
+    }
+
+    public HarvestResult harvest(HarvestOptions options) throws IOException {
+        long start = System.nanoTime();
+        Semaphore inFlight = new Semaphore(options.concurrency(), true);
+        Set<Long> seenIds = ConcurrentHashMap.newKeySet();
+        AtomicInteger pagesFetched = new AtomicInteger();
+        AtomicInteger pagesFailed = new AtomicInteger();
+        AtomicLong duplicates = new AtomicLong();
+        ReentrantLock writeLock = new ReentrantLock();
+
+        try (BufferedWriter writer = Files.newBufferedWriter(options.output(), StandardCharsets.UTF_8);
+             ExecutorService virtualThreadExecutor = Executors.newVirtualThreadPerTaskExecutor()) {
+
+            Consumer<Page<Movie>> sink = page -> {
+                pagesFetched.incrementAndGet();
+                List<Movie> fresh = new ArrayList<>(page.content().size());
+                for (Movie movie : page.content()) {
+                    if (seenIds.add(movie.id())) {
+                        fresh.add(movie);
+                    } else {
+                        duplicates.incrementAndGet();
+                    }
+                }
+                write(writer, writeLock, fresh);
+            };
+
+            List<CompletableFuture<Void>> listings = new ArrayList<>();
+            for (IntFunction<CompletableFuture<Optional<Page<Movie>>>> fetcher : fetchersFor(options)) {
+                listings.add(CompletableFuture.runAsync(
+                        () -> harvestListing(fetcher, options.maxPages(), inFlight, virtualThreadExecutor,
+                                sink, pagesFailed),
+                        virtualThreadExecutor));
+            }
+            joinAll(listings);
+        }
+
+        return new HarvestResult(pagesFetched.get(), pagesFailed.get(), seenIds.size(), duplicates.get(),
+                Duration.ofNanos(System.nanoTime() - start));
+    }
+
+    private List<IntFunction<CompletableFuture<Optional<Page<Movie>>>>> fetchersFor(HarvestOptions options) {
+        List<IntFunction<CompletableFuture<Optional<Page<Movie>>>>> fetchers = new ArrayList<>();
+        switch (options.listing()) {
+            case "popular" -> fetchers.add(movieService::getPopularMoviesAsync);
+            case "top_rated" -> fetchers.add(movieService::getTopRatedMoviesAsync);
+            case "now_playing" -> fetchers.add(movieService::getNowPlayingMoviesAsync);
+            case "upcoming" -> fetchers.add(movieService::getUpcomingMoviesAsync);
+            default -> {
+                if (options.year() != null) {
+                    int year = options.year();
+                    fetchers.add(page -> movieService.getMoviesByYearAsync(year, page));
+                } else if (options.genreId() != null) {
+                    int genreId = options.genreId();
+                    fetchers.add(page -> movieService.getMoviesByGenreAsync(genreId, page));
+                } else {
+                    for (Genre genre : movieService.getGenres()) {
+                        fetchers.add(page -> movieService.getMoviesByGenreAsync(genre.id(), page));
+                    }
+                }
+            }
+        }
+        return fetchers;
+    }
+
+    private void harvestListing(IntFunction<CompletableFuture<Optional<Page<Movie>>>> fetcher, int maxPages,
+                                Semaphore inFlight, ExecutorService executor, Consumer<Page<Movie>> sink,
+                                AtomicInteger pagesFailed) {
+        Optional<Page<Movie>> firstPage = fetchWithPermit(fetcher, 1, inFlight);
+        if (firstPage.isEmpty()) {
+            pagesFailed.incrementAndGet();
+            return;
+        }
+        sink.accept(firstPage.get());
+
+        int lastPage = Math.min(firstPage.get().totalPages(), maxPages);
+        List<CompletableFuture<Void>> pages = new ArrayList<>();
+        for (int pageNumber = 2; pageNumber <= lastPage; pageNumber++) {
+            int target = pageNumber;
+            pages.add(CompletableFuture.runAsync(() -> fetchWithPermit(fetcher, target, inFlight)
+                    .ifPresentOrElse(sink::accept, pagesFailed::incrementAndGet), executor));
+        }
+        joinAll(pages);
+    }
+
+    // A failed write surfaces as the HarvestException itself rather than wrapped, so callers can report it.
+    private static void joinAll(List<CompletableFuture<Void>> tasks) {
+        try {
+            CompletableFuture.allOf(tasks.toArray(CompletableFuture[]::new)).join();
+        } catch (CompletionException e) {
+            Throwable cause = e;
+            while (cause instanceof CompletionException && cause.getCause() != null) {
+                cause = cause.getCause();
+            }
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw e;
+        }
+    }
+
+    private Optional<Page<Movie>> fetchWithPermit(IntFunction<CompletableFuture<Optional<Page<Movie>>>> fetcher,
+                                                  int pageNumber, Semaphore inFlight) {
+        try {
+            inFlight.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return Optional.empty();
+        }
+        try {
+            return fetcher.apply(pageNumber).join();
+        } finally {
+            inFlight.release();
+        }
+    }
+
+    // A lock rather than synchronized: writers block on file I/O, which inside a monitor would pin their carrier.
+    private void write(BufferedWriter writer, ReentrantLock writeLock, List<Movie> movies) {
+        if (movies.isEmpty()) {
+            return;
+        }
+        try {
+            StringBuilder lines = new StringBuilder(movies.size() * 512);
+            for (Movie movie : movies) {
+                lines.append(objectMapper.writeValueAsString(movie)).append('\n');
+            }
+            writeLock.lock();
+            try {
+                writer.write(lines.toString());
+                writer.flush();
+            } finally {
+                writeLock.unlock();
+            }
+        } catch (IOException e) {
+            throw new HarvestException("Could not write harvested movies: " + e.getMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,8 @@
+package com.moviecliapplication.harvest;
+
+public class HarvestException extends RuntimeException {
+
+    public HarvestException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
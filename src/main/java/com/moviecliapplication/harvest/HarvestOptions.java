@@ -0,0 +1,84 @@
+package com.moviecliapplication.harvest;
+
+import java.nio.file.Path;
+
+public record HarvestOptions(
+        String listing,
+        Integer year,
+        Integer genreId,
+        boolean allGenres,
+        int concurrency,
+        int maxPages,
+        Path output
+) {
+
+    public static final String USAGE = """
+            Usage: --harvest <listing> [options]
+              listings: popular | top_rated | now_playing | upcoming | discover
+              --year <year>        discover movies released in the given year
+              --genre <id>         discover movies of a single genre
+              --all-genres         discover every genre returned by /genre/movie/list
+              --concurrency <n>    maximum in-flight requests (default 8)
+              --max-pages <n>      stop after this many pages per listing (default 500)
+              --output <file>      NDJSON output file (default harvest-<listing>.ndjson)""";
+
+    public static HarvestOptions parse(String[] args) {
+        if (args.length < 2) {
+            throw new IllegalArgumentException("Missing listing to harvest.");
+        }
+        String listing = args[1].toLowerCase();
+        Integer year = null;
+        Integer genreId = null;
+        boolean allGenres = false;
+        int concurrency = 8;
+        int maxPages = 500;
+        Path output = null;
+
+        for (int i = 2; i < args.length; i++) {
+            switch (args[i]) {
+                case "--year" -> year = parseInt(args, ++i);
+                case "--genre" -> genreId = parseInt(args, ++i);
+                case "--all-genres" -> allGenres = true;
+                case "--concurrency" -> concurrency = parseInt(args, ++i);
+                case "--max-pages" -> maxPages = parseInt(args, ++i);
+                case "--output" -> output = Path.of(value(args, ++i));
+                default -> throw new IllegalArgumentException("Unknown option: " + args[i]);
+            }
+        }
+
+        switch (listing) {
+            case "popular", "top_rated", "now_playing", "upcoming" -> {
+            }
+            case "discover" -> {
+                int criteria = (year != null ? 1 : 0) + (genreId != null ? 1 : 0) + (allGenres ? 1 : 0);
+                if (criteria != 1) {
+                    throw new IllegalArgumentException("discover needs exactly one of --year, --genre or --all-genres.");
+                }
+            }
+            default -> throw new IllegalArgumentException("Unknown listing: " + listing);
+        }
+        if (concurrency < 1 || maxPages < 1) {
+            throw new IllegalArgumentException("--concurrency and --max-pages must be positive.");
+        }
+        if (output == null) {
+            output = Path.of("harvest-" + listing + ".ndjson");
+        }
+        return new HarvestOptions(listing, year, genreId, allGenres, concurrency, maxPages, output);
+    }
+
+    private static int parseInt(String[] args, int index) {
+        String value = value(args, index);
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Expected a number but got: " + value);
+        }
+    }
+
+    private static String value(String[] args, int index) {
+        if (index >= args.length) {
+            throw new IllegalArgumentException("Missing value for " + args[index - 1]);
+        }
+        return args[index];
+    }
+}
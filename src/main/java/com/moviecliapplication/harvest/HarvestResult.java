@@ -0,0 +1,12 @@
+package com.moviecliapplication.harvest;
+
+import java.time.Duration;
+
+public record HarvestResult(
+        int pagesFetched,
+        int pagesFailed,
+        long moviesWritten,
+        long duplicatesSkipped,
+        Duration elapsed
+) {
+}
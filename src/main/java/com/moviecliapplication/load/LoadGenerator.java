@@ -0,0 +1,196 @@
+package com.moviecliapplication.load;
+
+import com.moviecliapplication.config.AppConfig;
+import com.moviecliapplication.metrics.HistogramSnapshot;
+import com.moviecliapplication.metrics.StatsReporter;
+import com.moviecliapplication.service.MovieService;
+import com.moviecliapplication.service.Prefetcher;
+
+import jakarta.inject.Inject;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryUsage;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+// Drives many simulated CLI sessions, one virtual thread each, through the injected service stack, so what is
+// measured is MovieServiceImpl, the caches, the throttle and the HttpClient together, as configured. Sessions
+// start evenly over the ramp-up and all stop at the deadline. Every interval the latest window of steps is
+// sampled together with heap and GC figures and printed to stderr.
+public class LoadGenerator {
+
+    private static final long MB = 1024 * 1024;
+
+    private final MovieService movieService;
+    private final Prefetcher prefetcher;
+    private final StatsReporter statsReporter;
+    private final AppConfig appConfig;
+
+    @Inject
+    public LoadGenerator(MovieService movieService, Prefetcher prefetcher, StatsReporter statsReporter,
+                         AppConfig appConfig) {
+        this.movieService = movieService;
+        this.prefetcher = prefetcher;
+        this.statsReporter = statsReporter;
+        this.appConfig = appConfig;
+    }
+
+    public LoadReport run(LoadOptions options) throws InterruptedException {
+        Instant startedAt = Instant.now();
+        long start = System.nanoTime();
+        long deadline = start + options.duration().toNanos();
+        LoadRecorder recorder = new LoadRecorder();
+        AtomicInteger active = new AtomicInteger();
+        Sampler sampler = new Sampler(recorder, active, start);
+
+        ScheduledExecutorService ticker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "load-sampler");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long intervalNanos = options.interval().toNanos();
+        ticker.scheduleAtFixedRate(sampler::sample, intervalNanos, intervalNanos, TimeUnit.NANOSECONDS);
+
+        try (ExecutorService sessions = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < options.sessions(); i++) {
+                long startAt = start + options.rampUp().toNanos() * i / options.sessions();
+                long wait = startAt - System.nanoTime();
+                if (wait > 0) {
+                    Thread.sleep(Duration.ofNanos(wait));
+                }
+                if (System.nanoTime() - deadline >= 0) {
+                    break;
+                }
+                SimulatedSession session = new SimulatedSession(movieService, prefetcher, recorder, options, deadline,
+                        options.seed() * 1_000_003L + i);
+                active.incrementAndGet();
+                sessions.submit(() -> {
+                    try {
+                        session.run();
+                    } finally {
+                        active.decrementAndGet();
+                    }
+                });
+            }
+        } finally {
+            ticker.shutdownNow();
+            ticker.awaitTermination(5, TimeUnit.SECONDS);
+        }
+        // Whatever finished after the last tick, including steps still in flight at the deadline.
+        sampler.sample();
+
+        double elapsedSeconds = (System.nanoTime() - start) / 1e9;
+        HistogramSnapshot latency = recorder.overall();
+        long errors = recorder.errors();
+        long operations = latency.count() + errors;
+        Runtime runtime = Runtime.getRuntime();
+        String gc = ManagementFactory.getGarbageCollectorMXBeans().stream()
+                .map(GarbageCollectorMXBean::getName)
+                .collect(Collectors.joining(", "));
+        return new LoadReport(
+                startedAt.toString(),
+                new LoadReport.Environment(System.getProperty("java.version"), gc, runtime.availableProcessors(),
+                        runtime.maxMemory() / MB, appConfig.getTmdbBaseUrl()),
+                new LoadReport.Settings(options.sessions(), seconds(options.duration()), seconds(options.rampUp()),
+                        options.mix(), options.maxPages(), seconds(options.thinkTime()), options.seed()),
+                operations,
+                errors,
+                operations == 0 ? 0 : errors / (double) operations,
+                operations / elapsedSeconds,
+                elapsedSeconds,
+                latency,
+                recorder.byOperation(),
+                recorder.errorsByOperation(),
+                sampler.intervals(),
+                statsReporter.gauges());
+    }
+
+    private static double seconds(Duration duration) {
+        return duration.toMillis() / 1000.0;
+    }
+
+    private static final class Sampler {
+
+        private final LoadRecorder recorder;
+        private final AtomicInteger active;
+        private final long start;
+        private final List<LoadReport.Interval> intervals = new ArrayList<>();
+        private long lastSampleAt;
+        private long lastGcCount;
+        private long lastGcMillis;
+
+        Sampler(LoadRecorder recorder, AtomicInteger active, long start) {
+            this.recorder = recorder;
+            this.active = active;
+            this.start = start;
+            this.lastSampleAt = start;
+            this.lastGcCount = gcCount();
+            this.lastGcMillis = gcMillis();
+        }
+
+        synchronized void sample() {
+            long now = System.nanoTime();
+            LoadRecorder.Window window = recorder.roll();
+            HistogramSnapshot latencies = window.latencies();
+            long operations = latencies.count() + window.errors();
+            double seconds = Math.max(1e-9, (now - lastSampleAt) / 1e9);
+            MemoryUsage heap = ManagementFactory.getMemoryMXBean().getHeapMemoryUsage();
+            long gcCount = gcCount();
+            long gcMillis = gcMillis();
+            LoadReport.Interval interval = new LoadReport.Interval(
+                    (now - start) / 1e9,
+                    active.get(),
+                    operations,
+                    window.errors(),
+                    operations / seconds,
+                    latencies.p50Millis(),
+                    latencies.p99Millis(),
+                    latencies.p999Millis(),
+                    latencies.maxMillis(),
+                    heap.getUsed() / MB,
+                    heap.getCommitted() / MB,
+                    gcCount - lastGcCount,
+                    gcMillis - lastGcMillis);
+            intervals.add(interval);
+            lastSampleAt = now;
+            lastGcCount = gcCount;
+            lastGcMillis = gcMillis;
+            System.err.printf(Locale.ROOT,
+                    "%6.1fs %5d sessions %9.1f ops/s  p50 %7.2f ms  p99 %7.2f ms  p99.9 %7.2f ms  %d errors"
+                            + "  heap %d/%d MB  gc %d (%d ms)%n",
+                    interval.atSeconds(), interval.activeSessions(), interval.throughput(), interval.p50Millis(),
+                    interval.p99Millis(), interval.p999Millis(), interval.errors(), interval.heapUsedMb(),
+                    interval.heapCommittedMb(), interval.gcCount(), interval.gcMillis());
+        }
+
+        synchronized List<LoadReport.Interval> intervals() {
+            return List.copyOf(intervals);
+        }
+
+        private static long gcCount() {
+            long count = 0;
+            for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+                count += Math.max(0, gc.getCollectionCount());
+            }
+            return count;
+        }
+
+        private static long gcMillis() {
+            long millis = 0;
+            for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+                millis += Math.max(0, gc.getCollectionTime());
+            }
+            return millis;
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package com.moviecliapplication.load;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.format.DateTimeParseException;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+public record LoadOptions(
+        int sessions,
+        Duration duration,
+        Duration rampUp,
+        Map<String, Integer> mix,
+        int maxPages,
+        Duration thinkTime,
+        Duration interval,
+        String endpoint,
+        long seed,
+        Path output
+) {
+
+    public static final String USAGE = """
+            Usage: --load [options]
+              --sessions <n>         simulated CLI sessions, one virtual thread each (default 100)
+              --duration <time>      how long to run, in seconds or ISO-8601 like PT5M (default 60)
+              --ramp-up <time>       spread session starts over this long (default 10)
+              --mix <weights>        share of each search, e.g. category=40,name=30,genre=15,year=15 (the default)
+              --pages <n>            most pages a session browses per search (default 3)
+              --think <time>         mean pause between a session's steps; 0 runs flat out (default 0.5)
+              --interval <time>      how often progress is printed and sampled into the report (default 5)
+              --endpoint <url>       TMDb base URL to load, e.g. a --stand-in server (default tmdb.base.url)
+              --seed <n>             seed for the sessions' choices (default 1)
+              --output <file>        JSON report (default load-report.json)""";
+
+    public static final String[] OPERATIONS = {"category", "name", "genre", "year"};
+
+    public static LoadOptions parse(String[] args) {
+        int sessions = 100;
+        Duration duration = Duration.ofSeconds(60);
+        Duration rampUp = Duration.ofSeconds(10);
+        Map<String, Integer> mix = parseMix("category=40,name=30,genre=15,year=15");
+        int maxPages = 3;
+        Duration thinkTime = Duration.ofMillis(500);
+        Duration interval = Duration.ofSeconds(5);
+        String endpoint = null;
+        long seed = 1;
+        Path output = Path.of("load-report.json");
+
+        for (int i = 1; i < args.length; i++) {
+            switch (args[i]) {
+                case "--sessions" -> sessions = parseInt(value(args, ++i));
+                case "--duration" -> duration = parseDuration(value(args, ++i));
+                case "--ramp-up" -> rampUp = parseDuration(value(args, ++i));
+                case "--mix" -> mix = parseMix(value(args, ++i));
+                case "--pages" -> maxPages = parseInt(value(args, ++i));
+                case "--think" -> thinkTime = parseDuration(value(args, ++i));
+                case "--interval" -> interval = parseDuration(value(args, ++i));
+                case "--endpoint" -> endpoint = value(args, ++i);
+                case "--seed" -> seed = parseInt(value(args, ++i));
+                case "--output" -> output = Path.of(value(args, ++i));
+                default -> throw new IllegalArgumentException("Unknown option: " + args[i]);
+            }
+        }
+
+        if (sessions < 1 || maxPages < 1) {
+            throw new IllegalArgumentException("--sessions and --pages must be positive.");
+        }
+        if (duration.isZero() || duration.isNegative() || interval.isZero() || interval.isNegative()) {
+            throw new IllegalArgumentException("--duration and --interval must be positive.");
+        }
+        if (rampUp.isNegative() || thinkTime.isNegative()) {
+            throw new IllegalArgumentException("--ramp-up and --think cannot be negative.");
+        }
+        return new LoadOptions(sessions, duration, rampUp, mix, maxPages, thinkTime, interval, endpoint, seed, output);
+    }
+
+    private static Map<String, Integer> parseMix(String value) {
+        Map<String, Integer> mix = new LinkedHashMap<>();
+        for (String operation : OPERATIONS) {
+            mix.put(operation, 0);
+        }
+        int total = 0;
+        for (String part : value.split(",")) {
+            String[] weight = part.split("=", 2);
+            String operation = weight[0].strip().toLowerCase();
+            if (weight.length != 2 || !mix.containsKey(operation)) {
+                throw new IllegalArgumentException("Expected weights like category=40,name=30 but got: " + part);
+            }
+            int share = parseInt(weight[1]);
+            if (share < 0) {
+                throw new IllegalArgumentException("Mix weights cannot be negative: " + part);
+            }
+            mix.put(operation, share);
+            total += share;
+        }
+        if (total == 0) {
+            throw new IllegalArgumentException("--mix needs at least one positive weight.");
+        }
+        return Collections.unmodifiableMap(mix);
+    }
+
+    private static Duration parseDuration(String value) {
+        try {
+            if (value.startsWith("P") || value.startsWith("p")) {
+                return Duration.parse(value);
+            }
+            return Duration.ofMillis(Math.round(Double.parseDouble(value) * 1000));
+        } catch (DateTimeParseException | NumberFormatException e) {
+            throw new IllegalArgumentException("Expected seconds or an ISO-8601 duration but got: " + value);
+        }
+    }
+
+    private static int parseInt(String value) {
+        try {
+            return Integer.parseInt(value.strip());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Expected a number but got: " + value);
+        }
+    }
+
+    private static String value(String[] args, int index) {
+        if (index >= args.length) {
+            throw new IllegalArgumentException("Missing value for " + args[index - 1]);
+        }
+        return args[index];
+    }
+}
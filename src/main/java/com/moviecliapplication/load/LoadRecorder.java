@@ -0,0 +1,81 @@
+package com.moviecliapplication.load;
+
+import com.moviecliapplication.metrics.HistogramSnapshot;
+import com.moviecliapplication.metrics.LatencyHistogram;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+// Latencies for the whole run per operation, plus a window over every operation that the sampler swaps out
+// once per interval. A step finishing during the swap can land in the previous window; at one step in thousands
+// that does not move the reported percentiles.
+final class LoadRecorder {
+
+    private final ConcurrentMap<String, LatencyHistogram> byOperation = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, LongAdder> errorsByOperation = new ConcurrentHashMap<>();
+    private final LatencyHistogram overall = new LatencyHistogram();
+    private final LongAdder errors = new LongAdder();
+    private final AtomicReference<Window> window = new AtomicReference<>(new Window());
+
+    void record(String operation, long nanos, boolean ok) {
+        long micros = nanos / 1000;
+        if (ok) {
+            byOperation.computeIfAbsent(operation, name -> new LatencyHistogram()).record(micros);
+            overall.record(micros);
+        } else {
+            errorsByOperation.computeIfAbsent(operation, name -> new LongAdder()).increment();
+            errors.increment();
+        }
+        window.get().record(micros, ok);
+    }
+
+    Window roll() {
+        return window.getAndSet(new Window());
+    }
+
+    HistogramSnapshot overall() {
+        return overall.snapshot();
+    }
+
+    long errors() {
+        return errors.sum();
+    }
+
+    Map<String, HistogramSnapshot> byOperation() {
+        Map<String, HistogramSnapshot> snapshots = new TreeMap<>();
+        byOperation.forEach((operation, histogram) -> snapshots.put(operation, histogram.snapshot()));
+        return snapshots;
+    }
+
+    Map<String, Long> errorsByOperation() {
+        Map<String, Long> counts = new TreeMap<>();
+        errorsByOperation.forEach((operation, count) -> counts.put(operation, count.sum()));
+        return counts;
+    }
+
+    static final class Window {
+
+        private final LatencyHistogram latencies = new LatencyHistogram();
+        private final LongAdder errors = new LongAdder();
+
+        private void record(long micros, boolean ok) {
+            if (ok) {
+                latencies.record(micros);
+            } else {
+                errors.increment();
+            }
+        }
+
+        HistogramSnapshot latencies() {
+            return latencies.snapshot();
+        }
+
+        long errors() {
+            return errors.sum();
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.moviecliapplication.load;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.moviecliapplication.metrics.HistogramSnapshot;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+// Everything needed to compare two runs: what was run and where, the totals, latency per operation, one sample
+// per interval (throughput, latency, errors, heap and GC), and the stack's own gauges at the end.
+public record LoadReport(
+        String startedAt,
+        Environment environment,
+        Settings settings,
+        long operations,
+        long errors,
+        double errorRate,
+        double throughput,
+        double elapsedSeconds,
+        HistogramSnapshot latency,
+        Map<String, HistogramSnapshot> latencyByOperation,
+        Map<String, Long> errorsByOperation,
+        List<Interval> intervals,
+        Map<String, Number> stats
+) {
+
+    public record Environment(
+            String javaVersion,
+            String gc,
+            int availableProcessors,
+            long maxHeapMb,
+            String endpoint
+    ) {
+    }
+
+    public record Settings(
+            int sessions,
+            double durationSeconds,
+            double rampUpSeconds,
+            Map<String, Integer> mix,
+            int maxPages,
+            double thinkSeconds,
+            long seed
+    ) {
+    }
+
+    // GC counts and times are for the interval alone; heap figures are at its end.
+    public record Interval(
+            double atSeconds,
+            int activeSessions,
+            long operations,
+            long errors,
+            double throughput,
+            double p50Millis,
+            double p99Millis,
+            double p999Millis,
+            double maxMillis,
+            long heapUsedMb,
+            long heapCommittedMb,
+            long gcCount,
+            long gcMillis
+    ) {
+    }
+
+    public void write(Path file) throws IOException {
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(file.toFile(), this);
+    }
+}
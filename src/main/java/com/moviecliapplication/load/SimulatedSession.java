@@ -0,0 +1,176 @@
+package com.moviecliapplication.load;
+
+import com.moviecliapplication.domain.Genre;
+import com.moviecliapplication.domain.Movie;
+import com.moviecliapplication.domain.Page;
+import com.moviecliapplication.render.MovieRenderer;
+import com.moviecliapplication.service.MovieService;
+import com.moviecliapplication.service.PrefetchSession;
+import com.moviecliapplication.service.Prefetcher;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.time.Duration;
+import java.time.Year;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+
+// One user at the menu: picks a search, reads its first page, browses a few pages with next / prev through a
+// prefetch session and renders each page, the same path MovieCliApp takes, with a pause before every step.
+// Each page shown is one timed step; an empty answer counts as an error, as the service only returns one
+// when the request failed.
+final class SimulatedSession implements Runnable {
+
+    private static final List<String> NAMES = List.of("Alien", "The Matrix", "Inception", "Star Wars", "Jaws",
+            "Toy Story", "Heat", "Casablanca", "Up", "The Godfather", "Parasite", "Arrival", "Her", "Drive",
+            "Vertigo", "Amelie", "Spirited Away", "Interstellar", "Fargo", "Memento");
+
+    private final MovieService movieService;
+    private final Prefetcher prefetcher;
+    private final LoadRecorder recorder;
+    private final LoadOptions options;
+    private final long deadline;
+    private final Random random;
+    private final MovieRenderer renderer;
+    private final int mixTotal;
+
+    SimulatedSession(MovieService movieService, Prefetcher prefetcher, LoadRecorder recorder, LoadOptions options,
+                     long deadline, long seed) {
+        this.movieService = movieService;
+        this.prefetcher = prefetcher;
+        this.recorder = recorder;
+        this.options = options;
+        this.deadline = deadline;
+        this.random = new Random(seed);
+        try {
+            this.renderer = MovieRenderer.create("plain", Writer.nullWriter(), 80);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        this.mixTotal = options.mix().values().stream().mapToInt(Integer::intValue).sum();
+    }
+
+    @Override
+    public void run() {
+        try {
+            while (!expired()) {
+                String operation = pick();
+                IntFunction<CompletableFuture<Optional<Page<Movie>>>> pageFetcher = fetcherFor(operation);
+                if (pageFetcher == null) {
+                    recorder.record(operation, 0, false);
+                } else {
+                    try (PrefetchSession<Movie> pages = prefetcher.open(pageFetcher)) {
+                        browse(operation, pages);
+                    }
+                }
+                think();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void browse(String operation, Function<Integer, Optional<Page<Movie>>> pages)
+            throws InterruptedException {
+        Optional<Page<Movie>> current = step(operation, pages, 1);
+        int steps = random.nextInt(options.maxPages());
+        for (int i = 0; i < steps && current.isPresent() && !expired(); i++) {
+            think();
+            Page<Movie> page = current.get();
+            boolean back = page.pageNumber() > 1 && random.nextInt(5) == 0;
+            if (!back && page.pageNumber() >= page.totalPages()) {
+                return;
+            }
+            current = back
+                    ? step("prev", pages, page.pageNumber() - 1)
+                    : step("next", pages, page.pageNumber() + 1);
+        }
+    }
+
+    private Optional<Page<Movie>> step(String operation, Function<Integer, Optional<Page<Movie>>> pages, int page) {
+        long start = System.nanoTime();
+        Optional<Page<Movie>> result;
+        try {
+            result = pages.apply(page);
+            if (result.isPresent()) {
+                render(result.get().content());
+            }
+        } catch (RuntimeException e) {
+            result = Optional.empty();
+        }
+        recorder.record(operation, System.nanoTime() - start, result.isPresent());
+        return result;
+    }
+
+    private void render(List<Movie> movies) {
+        try {
+            renderer.begin();
+            for (int i = 0; i < Math.min(10, movies.size()); i++) {
+                renderer.render(movies.get(i));
+            }
+            renderer.end();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private String pick() {
+        int target = random.nextInt(mixTotal);
+        for (String operation : LoadOptions.OPERATIONS) {
+            target -= options.mix().get(operation);
+            if (target < 0) {
+                return operation;
+            }
+        }
+        throw new IllegalStateException("Mix weights do not add up to " + mixTotal);
+    }
+
+    private IntFunction<CompletableFuture<Optional<Page<Movie>>>> fetcherFor(String operation) {
+        return switch (operation) {
+            case "category" -> switch (random.nextInt(4)) {
+                case 0 -> movieService::getPopularMoviesAsync;
+                case 1 -> movieService::getTopRatedMoviesAsync;
+                case 2 -> movieService::getNowPlayingMoviesAsync;
+                default -> movieService::getUpcomingMoviesAsync;
+            };
+            case "name" -> {
+                String name = NAMES.get(random.nextInt(NAMES.size()));
+                yield page -> movieService.searchByNameAsync(name, page);
+            }
+            case "genre" -> {
+                List<Genre> genres = movieService.getGenres();
+                if (genres.isEmpty()) {
+                    yield null;
+                }
+                int genreId = genres.get(random.nextInt(genres.size())).id();
+                yield page -> movieService.getMoviesByGenreAsync(genreId, page);
+            }
+            default -> {
+                int year = 1970 + random.nextInt(Year.now().getValue() - 1970 + 1);
+                yield page -> movieService.getMoviesByYearAsync(year, page);
+            }
+        };
+    }
+
+    // Pauses are exponentially distributed around the mean, so sessions do not fall into step with each other.
+    private void think() throws InterruptedException {
+        long mean = options.thinkTime().toNanos();
+        if (mean == 0) {
+            return;
+        }
+        long pause = (long) (-mean * Math.log(1 - random.nextDouble()));
+        long remaining = deadline - System.nanoTime();
+        if (remaining > 0) {
+            Thread.sleep(Duration.ofNanos(Math.min(pause, remaining)));
+        }
+    }
+
+    private boolean expired() {
+        return System.nanoTime() - deadline >= 0;
+    }
+}
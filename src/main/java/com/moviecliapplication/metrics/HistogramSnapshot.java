@@ -0,0 +1,12 @@
+package com.moviecliapplication.metrics;
+
+public record HistogramSnapshot(
+        long count,
+        double meanMillis,
+        double p50Millis,
+        double p90Millis,
+        double p99Millis,
+        double p999Millis,
+        double maxMillis
+) {
+}
@@ -0,0 +1,30 @@
+package com.moviecliapplication.metrics;
+
+public record MetricKey(
+        String name,
+        String labelName,
+        String labelValue
+) implements Comparable<MetricKey> {
+
+    public static MetricKey of(String name) {
+        return new MetricKey(name, null, null);
+    }
+
+    public static MetricKey of(String name, String labelName, String labelValue) {
+        return new MetricKey(name, labelName, labelValue);
+    }
+
+    @Override
+    public int compareTo(MetricKey other) {
+        int byName = name.compareTo(other.name);
+        if (byName != 0) {
+            return byName;
+        }
+        return String.valueOf(labelValue).compareTo(String.valueOf(other.labelValue));
+    }
+
+    @Override
+    public String toString() {
+        return labelName == null ? name : name + "{" + labelName + "=\"" + labelValue + "\"}";
+    }
+}
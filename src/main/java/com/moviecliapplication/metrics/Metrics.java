@@ -0,0 +1,70 @@
+package com.moviecliapplication.metrics;
+
+import com.moviecliapplication.config.AppConfig;
+
+import jakarta.inject.Inject;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+public class Metrics {
+
+    private final boolean enabled;
+    private final ConcurrentMap<MetricKey, LatencyHistogram> histograms = new ConcurrentHashMap<>();
+    private final ConcurrentMap<MetricKey, LongAdder> counters = new ConcurrentHashMap<>();
+
+    @Inject
+    public Metrics(AppConfig appConfig) {
+        this.enabled = appConfig.getBoolean("metrics.enabled", true);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public long start() {
+        return enabled ? System.nanoTime() : 0L;
+    }
+
+    public void recordSince(String stage, long startNanos) {
+        if (startNanos != 0L) {
+            record(MetricKey.of(stage), startNanos);
+        }
+    }
+
+    public void recordSince(String stage, String endpoint, long startNanos) {
+        if (startNanos != 0L) {
+            record(MetricKey.of(stage, "endpoint", endpoint), startNanos);
+        }
+    }
+
+    public void increment(String counter, String labelName, String labelValue) {
+        add(counter, labelName, labelValue, 1);
+    }
+
+    public void add(String counter, String labelName, String labelValue, long delta) {
+        if (enabled) {
+            counters.computeIfAbsent(MetricKey.of(counter, labelName, labelValue), key -> new LongAdder()).add(delta);
+        }
+    }
+
+    public Map<MetricKey, HistogramSnapshot> histograms() {
+        Map<MetricKey, HistogramSnapshot> snapshot = new TreeMap<>();
+        histograms.forEach((key, histogram) -> snapshot.put(key, histogram.snapshot()));
+        return snapshot;
+    }
+
+    public Map<MetricKey, Long> counters() {
+        Map<MetricKey, Long> snapshot = new TreeMap<>();
+        counters.forEach((key, counter) -> snapshot.put(key, counter.sum()));
+        return snapshot;
+    }
+
+    private void record(MetricKey key, long startNanos) {
+        long micros = (System.nanoTime() - startNanos) / 1_000;
+        histograms.computeIfAbsent(key, k -> new LatencyHistogram()).record(micros);
+    }
+}
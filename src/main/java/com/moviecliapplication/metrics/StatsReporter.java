@@ -0,0 +1,190 @@
+package com.moviecliapplication.metrics;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.moviecliapplication.client.RequestResilience;
+import com.moviecliapplication.client.RequestThrottle;
+import com.moviecliapplication.client.ResilienceStats;
+import com.moviecliapplication.client.SingleFlight;
+import com.moviecliapplication.client.ThrottleStats;
+import com.moviecliapplication.client.cache.CacheStats;
+import com.moviecliapplication.client.cache.ResponseCache;
+import com.moviecliapplication.config.AppConfig;
+import com.moviecliapplication.service.PrefetchStats;
+import com.moviecliapplication.service.Prefetcher;
+
+import jakarta.inject.Inject;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+public class StatsReporter {
+
+    private final Metrics metrics;
+    private final ResponseCache responseCache;
+    private final RequestThrottle throttle;
+    private final SingleFlight singleFlight;
+    private final RequestResilience resilience;
+    private final Prefetcher prefetcher;
+    private final String dumpFile;
+    private final ObjectMapper objectMapper = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+
+    @Inject
+    public StatsReporter(Metrics metrics, ResponseCache responseCache, RequestThrottle throttle,
+                         SingleFlight singleFlight, RequestResilience resilience, Prefetcher prefetcher,
+                         AppConfig appConfig) {
+        this.metrics = metrics;
+        this.responseCache = responseCache;
+        this.throttle = throttle;
+        this.singleFlight = singleFlight;
+        this.resilience = resilience;
+        this.prefetcher = prefetcher;
+        this.dumpFile = appConfig.getString("metrics.dumpFile", null);
+    }
+
+    public Map<String, Number> gauges() {
+        Map<String, Number> gauges = new LinkedHashMap<>();
+        CacheStats cache = responseCache.stats();
+        gauges.put("cache_memory_hits", cache.memoryHits());
+        gauges.put("cache_disk_hits", cache.diskHits());
+        gauges.put("cache_misses", cache.misses());
+        gauges.put("cache_stale_hits", cache.staleHits());
+        gauges.put("cache_not_modified", cache.notModified());
+        gauges.put("cache_stale_while_revalidate", cache.staleWhileRevalidate());
+        gauges.put("cache_evictions", cache.evictions());
+        gauges.put("cache_expirations", cache.expirations());
+        gauges.put("cache_memory_size", cache.memorySize());
+        gauges.put("cache_hit_rate", cache.hitRate());
+
+        ThrottleStats throttleStats = throttle.stats();
+        gauges.put("throttle_concurrency_limit", throttleStats.concurrencyLimit());
+        gauges.put("throttle_in_flight", throttleStats.inFlight());
+        gauges.put("throttle_available_permits", throttleStats.availablePermits());
+        gauges.put("throttle_queue_depth", throttleStats.queueDepth());
+        gauges.put("throttle_rejected", throttleStats.rejected());
+        gauges.put("throttle_rate_limited", throttleStats.rateLimited());
+
+        gauges.put("single_flight_executed", singleFlight.executed());
+        gauges.put("single_flight_coalesced", singleFlight.coalesced());
+
+        ResilienceStats resilienceStats = resilience.stats();
+        gauges.put("resilience_retries", resilienceStats.retries());
+        gauges.put("resilience_hedges_issued", resilienceStats.hedgesIssued());
+        gauges.put("resilience_hedge_wins", resilienceStats.hedgeWins());
+        gauges.put("resilience_circuit_state", resilienceStats.circuitState().ordinal());
+        gauges.put("resilience_circuit_rejected", resilienceStats.circuitRejected());
+
+        PrefetchStats prefetch = prefetcher.stats();
+        gauges.put("prefetch_issued", prefetch.issued());
+        gauges.put("prefetch_hits", prefetch.hits());
+        gauges.put("prefetch_misses", prefetch.misses());
+        gauges.put("prefetch_wasted", prefetch.wasted());
+        gauges.put("prefetch_hit_rate", prefetch.hitRate());
+        return gauges;
+    }
+
+    public String toText() {
+        StringBuilder out = new StringBuilder();
+        out.append("\n--- Latency (ms) ---\n");
+        out.append(String.format(Locale.ROOT, "%-48s %8s %9s %9s %9s %9s %9s%n",
+                "stage", "count", "p50", "p90", "p99", "p99.9", "max"));
+        metrics.histograms().forEach((key, h) -> out.append(String.format(Locale.ROOT,
+                "%-48s %8d %9.2f %9.2f %9.2f %9.2f %9.2f%n",
+                key, h.count(), h.p50Millis(), h.p90Millis(), h.p99Millis(), h.p999Millis(), h.maxMillis())));
+        out.append("\n--- Counters ---\n");
+        metrics.counters().forEach((key, value) -> out.append(String.format("%-48s %d%n", key, value)));
+        gauges().forEach((name, value) -> out.append(String.format(Locale.ROOT, "%-48s %s%n", name, format(value))));
+        if (!metrics.isEnabled()) {
+            out.append("\n(latency metrics are disabled; set metrics.enabled=true)\n");
+        }
+        return out.toString();
+    }
+
+    public String toJson() throws IOException {
+        Map<String, Object> root = new LinkedHashMap<>();
+        Map<String, HistogramSnapshot> histograms = new LinkedHashMap<>();
+        metrics.histograms().forEach((key, h) -> histograms.put(key.toString(), h));
+        Map<String, Long> counters = new LinkedHashMap<>();
+        metrics.counters().forEach((key, value) -> counters.put(key.toString(), value));
+        root.put("histograms", histograms);
+        root.put("counters", counters);
+        root.put("gauges", gauges());
+        return objectMapper.writeValueAsString(root);
+    }
+
+    public String toPrometheus() {
+        StringBuilder out = new StringBuilder();
+        String lastName = null;
+        for (Map.Entry<MetricKey, HistogramSnapshot> entry : metrics.histograms().entrySet()) {
+            MetricKey key = entry.getKey();
+            HistogramSnapshot h = entry.getValue();
+            String name = "moviecli_" + key.name() + "_seconds";
+            if (!name.equals(lastName)) {
+                out.append("# TYPE ").append(name).append(" summary\n");
+                lastName = name;
+            }
+            appendQuantile(out, name, key, "0.5", h.p50Millis());
+            appendQuantile(out, name, key, "0.9", h.p90Millis());
+            appendQuantile(out, name, key, "0.99", h.p99Millis());
+            appendQuantile(out, name, key, "0.999", h.p999Millis());
+            out.append(name).append("_count").append(labels(key, null)).append(' ').append(h.count()).append('\n');
+            out.append(name).append("_sum").append(labels(key, null)).append(' ')
+                    .append(format(h.meanMillis() * h.count() / 1000.0)).append('\n');
+        }
+        lastName = null;
+        for (Map.Entry<MetricKey, Long> entry : metrics.counters().entrySet()) {
+            String name = "moviecli_" + entry.getKey().name() + "_total";
+            if (!name.equals(lastName)) {
+                out.append("# TYPE ").append(name).append(" counter\n");
+                lastName = name;
+            }
+            out.append(name).append(labels(entry.getKey(), null)).append(' ').append(entry.getValue()).append('\n');
+        }
+        gauges().forEach((name, value) -> out.append("# TYPE moviecli_").append(name).append(" gauge\n")
+                .append("moviecli_").append(name).append(' ').append(format(value)).append('\n'));
+        return out.toString();
+    }
+
+    public void dumpIfConfigured() {
+        if (dumpFile == null) {
+            return;
+        }
+        try {
+            Path file = Path.of(dumpFile);
+            String content = dumpFile.endsWith(".json") ? toJson() : toPrometheus();
+            Files.writeString(file, content);
+            System.err.println("Metrics written to " + file.toAbsolutePath());
+        } catch (IOException e) {
+            System.err.println("Could not write metrics to " + dumpFile + ": " + e.getMessage());
+        }
+    }
+
+    private static void appendQuantile(StringBuilder out, String name, MetricKey key, String quantile, double millis) {
+        out.append(name).append(labels(key, quantile)).append(' ').append(format(millis / 1000.0)).append('\n');
+    }
+
+    private static String labels(MetricKey key, String quantile) {
+        StringBuilder labels = new StringBuilder();
+        if (key.labelName() != null) {
+            labels.append(key.labelName()).append("=\"").append(key.labelValue()).append('"');
+        }
+        if (quantile != null) {
+            if (!labels.isEmpty()) {
+                labels.append(',');
+            }
+            labels.append("quantile=\"").append(quantile).append('"');
+        }
+        return labels.isEmpty() ? "" : "{" + labels + "}";
+    }
+
+    private static String format(Number value) {
+        if (value instanceof Double d) {
+            return String.format(Locale.ROOT, "%.6f", d);
+        }
+        return String.valueOf(value);
+    }
+}
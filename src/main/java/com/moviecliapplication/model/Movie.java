@@ -11,7 +11,7 @@ public record Movie(
         String overview,
         @JsonProperty("vote_average") double voteAverage,
         @JsonProperty("release_date") String releaseDate,
-        @JsonProperty("genre_ids") List<Integer> genreIds,
+        @JsonProperty("genre_ids") int[] genreIds,
         List<String> genres
 ) {
 
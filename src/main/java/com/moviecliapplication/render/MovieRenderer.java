@@ -0,0 +1,30 @@
+package com.moviecliapplication.render;
+
+import com.moviecliapplication.domain.Movie;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.List;
+
+// Writes movies one at a time to a Writer, so a result of any size can be streamed. Renderers never flush;
+// the owner of the Writer decides when output becomes visible.
+public interface MovieRenderer {
+
+    List<String> FORMATS = List.of("plain", "table", "ndjson");
+
+    void begin() throws IOException;
+
+    void render(Movie movie) throws IOException;
+
+    void end() throws IOException;
+
+    static MovieRenderer create(String format, Writer writer, int width) throws IOException {
+        return switch (format) {
+            case "plain" -> new PlainRenderer(writer, width);
+            case "table" -> new TableRenderer(writer, width);
+            case "ndjson" -> new NdjsonRenderer(writer);
+            default -> throw new IllegalArgumentException("Unknown output format: " + format + " (expected one of "
+                    + String.join(", ", FORMATS) + ")");
+        };
+    }
+}
@@ -0,0 +1,38 @@
+package com.moviecliapplication.render;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.moviecliapplication.domain.Movie;
+
+import java.io.IOException;
+import java.io.Writer;
+
+// One JSON object per line, in the same shape as the "movie" field of batch output.
+class NdjsonRenderer implements MovieRenderer {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final JsonGenerator generator;
+
+    NdjsonRenderer(Writer writer) throws IOException {
+        this.generator = objectMapper.getFactory().createGenerator(writer);
+        generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        generator.disable(JsonGenerator.Feature.FLUSH_PASSED_TO_STREAM);
+        generator.setRootValueSeparator(null);
+    }
+
+    @Override
+    public void begin() {
+    }
+
+    @Override
+    public void render(Movie movie) throws IOException {
+        objectMapper.writeValue(generator, movie);
+        generator.writeRaw('\n');
+    }
+
+    // The generator buffers internally; hand everything to the Writer so its owner's flush sees it.
+    @Override
+    public void end() throws IOException {
+        generator.flush();
+    }
+}
@@ -0,0 +1,70 @@
+package com.moviecliapplication.render;
+
+import com.moviecliapplication.domain.Movie;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.List;
+
+// The original console layout: one block per movie with the overview wrapped to the configured width.
+class PlainRenderer implements MovieRenderer {
+
+    private static final String RULE = "--------------------------\n";
+
+    private final Writer writer;
+    private final int width;
+    private final StringBuilder rating = new StringBuilder(8);
+
+    PlainRenderer(Writer writer, int width) {
+        this.writer = writer;
+        this.width = width;
+    }
+
+    @Override
+    public void begin() {
+    }
+
+    @Override
+    public void render(Movie movie) throws IOException {
+        writer.write(RULE);
+        writer.write("Title: ");
+        writer.write(String.valueOf(movie.title()));
+        writer.write(" (");
+        writer.write(String.valueOf(movie.releaseDate()));
+        writer.write(")\nRating: ");
+        rating.setLength(0);
+        writer.append(appendRating(rating, movie.voteAverage()));
+        writer.write("/10\nGenres: ");
+        writeGenres(writer, movie.genres(), ", ");
+        writer.write("\n\nOverview:\n");
+        TextWrapper.wrap(movie.overview(), width, writer);
+        writer.write('\n');
+    }
+
+    @Override
+    public void end() throws IOException {
+        writer.write(RULE);
+    }
+
+    // One decimal, rounded half-up like "%.1f", without going through Formatter.
+    static StringBuilder appendRating(StringBuilder target, double voteAverage) {
+        long tenths = Math.round(voteAverage * 10);
+        if (tenths < 0) {
+            target.append('-');
+            tenths = -tenths;
+        }
+        return target.append(tenths / 10).append('.').append(tenths % 10);
+    }
+
+    static void writeGenres(Writer writer, List<String> genres, String separator) throws IOException {
+        if (genres == null) {
+            return;
+        }
+        for (int i = 0; i < genres.size(); i++) {
+            if (i > 0) {
+                writer.write(separator);
+            }
+            writer.write(genres.get(i));
+        }
+    }
+}
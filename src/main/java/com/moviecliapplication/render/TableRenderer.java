@@ -0,0 +1,84 @@
+package com.moviecliapplication.render;
+
+import com.moviecliapplication.domain.Movie;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Arrays;
+import java.util.List;
+
+// One fixed-width row per movie: year, rating, title and genres, truncated to fit the configured width.
+class TableRenderer implements MovieRenderer {
+
+    private static final int YEAR = 4;
+    private static final int RATING = 4;
+    private static final int GENRES = 28;
+    private static final int GAP = 2;
+
+    private final Writer writer;
+    private final int titleWidth;
+    private final char[] blanks;
+    private final StringBuilder cell = new StringBuilder(64);
+
+    TableRenderer(Writer writer, int width) {
+        this.writer = writer;
+        this.titleWidth = Math.max(20, width - YEAR - RATING - GENRES - 3 * GAP);
+        this.blanks = new char[Math.max(titleWidth, GENRES) + GAP];
+        Arrays.fill(blanks, ' ');
+    }
+
+    @Override
+    public void begin() throws IOException {
+        cell("Year", YEAR);
+        cell("Rate", RATING);
+        cell("Title", titleWidth);
+        writer.write("Genres\n");
+        char[] rule = new char[YEAR + RATING + titleWidth + GENRES + 3 * GAP];
+        Arrays.fill(rule, '-');
+        writer.write(rule);
+        writer.write('\n');
+    }
+
+    @Override
+    public void render(Movie movie) throws IOException {
+        String releaseDate = movie.releaseDate();
+        cell(releaseDate != null && releaseDate.length() >= YEAR ? releaseDate.substring(0, YEAR) : "", YEAR);
+        cell.setLength(0);
+        cell(PlainRenderer.appendRating(cell, movie.voteAverage()), RATING);
+        cell(movie.title(), titleWidth);
+        cell.setLength(0);
+        List<String> genres = movie.genres();
+        if (genres != null) {
+            for (int i = 0; i < genres.size(); i++) {
+                cell.append(i > 0 ? ", " : "").append(genres.get(i));
+            }
+        }
+        truncate(cell, GENRES);
+        writer.append(cell).append('\n');
+    }
+
+    @Override
+    public void end() {
+    }
+
+    private void cell(CharSequence value, int width) throws IOException {
+        int length = 0;
+        if (value != null) {
+            if (value.length() > width) {
+                writer.append(value, 0, width - 3).append("...");
+                length = width;
+            } else {
+                writer.append(value);
+                length = value.length();
+            }
+        }
+        writer.write(blanks, 0, width - length + GAP);
+    }
+
+    private static void truncate(StringBuilder value, int width) {
+        if (value.length() > width) {
+            value.setLength(width - 3);
+            value.append("...");
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.moviecliapplication.render;
+
+import java.io.IOException;
+import java.io.Writer;
+
+// Greedy word wrap that writes slices of the input straight to the Writer instead of splitting it into words.
+public final class TextWrapper {
+
+    private TextWrapper() {
+    }
+
+    public static void wrap(String text, int width, Writer out) throws IOException {
+        if (text == null) {
+            return;
+        }
+        int lineLength = 0;
+        int length = text.length();
+        int i = 0;
+        while (i < length) {
+            while (i < length && text.charAt(i) == ' ') {
+                i++;
+            }
+            int wordStart = i;
+            while (i < length && text.charAt(i) != ' ') {
+                i++;
+            }
+            int wordLength = i - wordStart;
+            if (wordLength == 0) {
+                break;
+            }
+            if (lineLength > 0 && lineLength + 1 + wordLength > width) {
+                out.write('\n');
+                lineLength = 0;
+            } else if (lineLength > 0) {
+                out.write(' ');
+                lineLength++;
+            }
+            out.write(text, wordStart, wordLength);
+            lineLength += wordLength;
+        }
+    }
+}
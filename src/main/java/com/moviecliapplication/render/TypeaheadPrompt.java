@@ -0,0 +1,224 @@
+package com.moviecliapplication.render;
+
+import com.moviecliapplication.domain.Movie;
+
+import java.io.Console;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+// A one-line prompt that reads key by key and keeps a list of suggestions drawn under it. Java cannot switch the
+// terminal out of line mode itself, so this goes through stty; when that is not possible (no terminal, piped
+// input, Windows) open() returns empty and callers fall back to reading a whole line.
+public final class TypeaheadPrompt implements AutoCloseable {
+
+    private static final String PROMPT = "Search: ";
+    private static final String CLEAR_BELOW = "\r\033[J";
+
+    private final Writer writer;
+    private final int width;
+    private final InputStream in = System.in;
+    private final String savedMode;
+    private final Thread restoreOnExit;
+    private final StringBuilder text = new StringBuilder();
+
+    private TypeaheadPrompt(Writer writer, int width, String savedMode) {
+        this.writer = writer;
+        this.width = width;
+        this.savedMode = savedMode;
+        this.restoreOnExit = Thread.ofPlatform().unstarted(this::restoreMode);
+        Runtime.getRuntime().addShutdownHook(restoreOnExit);
+    }
+
+    public static Optional<TypeaheadPrompt> open(Writer writer, int width) {
+        // Since JDK 22 System.console() is non-null even when stdin is redirected, so ask whether it is a terminal.
+        Console console = System.console();
+        if (console == null || !console.isTerminal()) {
+            return Optional.empty();
+        }
+        try {
+            String savedMode = stty("-g");
+            stty("-icanon", "-echo", "min", "1");
+            return Optional.of(new TypeaheadPrompt(writer, width, savedMode));
+        } catch (IOException e) {
+            return Optional.empty();
+        }
+    }
+
+    // Returns the text once Enter is pressed, or empty on Escape / Ctrl-D. Every edit is passed to onChange.
+    public Optional<String> read(Consumer<String> onChange) throws IOException {
+        redraw(List.of(), false, null);
+        while (true) {
+            int key = in.read();
+            if (key < 0 || key == 4) {
+                finish(false);
+                return Optional.empty();
+            }
+            if (key == '\r' || key == '\n') {
+                finish(true);
+                return Optional.of(snapshot());
+            }
+            if (key == 27) {
+                // Arrow and function keys arrive as one burst starting with ESC; a lone ESC cancels.
+                if (in.available() == 0) {
+                    finish(false);
+                    return Optional.empty();
+                }
+                skipEscapeSequence();
+                continue;
+            }
+
+            synchronized (this) {
+                if (key == 127 || key == 8) {
+                    if (text.isEmpty()) {
+                        continue;
+                    }
+                    text.setLength(text.offsetByCodePoints(text.length(), -1));
+                } else if (key == 21) {
+                    text.setLength(0);
+                } else if (key >= 32) {
+                    text.append(decode(key));
+                } else {
+                    continue;
+                }
+            }
+            onChange.accept(snapshot());
+        }
+    }
+
+    // Draws suggestions for `forText`, unless the user has typed on since they were looked up. A lookup error is
+    // drawn as the last suggestion line, since anything written to stderr would land in the middle of the prompt.
+    public synchronized void show(String forText, List<Movie> movies, boolean pending, String error) {
+        if (!forText.contentEquals(text)) {
+            return;
+        }
+        try {
+            redraw(movies, pending, error);
+        } catch (IOException e) {
+            System.err.println("Could not draw suggestions: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public void close() {
+        restoreMode();
+        try {
+            Runtime.getRuntime().removeShutdownHook(restoreOnExit);
+        } catch (IllegalStateException ignored) {
+            // Already shutting down; the hook restores the terminal.
+        }
+    }
+
+    private synchronized String snapshot() {
+        return text.toString();
+    }
+
+    private synchronized void redraw(List<Movie> movies, boolean pending, String error) throws IOException {
+        writer.write(CLEAR_BELOW);
+        writer.write(PROMPT);
+        writer.append(text);
+        int lines = 0;
+        for (Movie movie : movies) {
+            writer.write("\n  ");
+            writer.write(line(movie));
+            lines++;
+        }
+        if (pending) {
+            writer.write("\n  ...");
+            lines++;
+        }
+        if (error != null) {
+            writer.write("\n  ");
+            writer.write(fit("TMDb suggestions unavailable: " + error));
+            lines++;
+        }
+        if (lines > 0) {
+            writer.write("\033[" + lines + "A");
+        }
+        writer.write("\r\033[" + (PROMPT.length() + text.length()) + "C");
+        writer.flush();
+    }
+
+    private synchronized void finish(boolean keepLine) throws IOException {
+        writer.write(CLEAR_BELOW);
+        if (keepLine) {
+            writer.write(PROMPT);
+            writer.append(text);
+        }
+        writer.write("\n");
+        writer.flush();
+    }
+
+    private String line(Movie movie) {
+        String title = String.valueOf(movie.title());
+        String releaseDate = movie.releaseDate();
+        if (releaseDate != null && releaseDate.length() >= 4) {
+            title += " (" + releaseDate.substring(0, 4) + ")";
+        }
+        return fit(title);
+    }
+
+    private String fit(String line) {
+        int room = Math.max(8, width - 2);
+        return line.length() <= room ? line : line.substring(0, room - 3) + "...";
+    }
+
+    // Multi-byte UTF-8 characters arrive one byte per read().
+    private String decode(int first) throws IOException {
+        int continuation = first >= 0xF0 ? 3 : first >= 0xE0 ? 2 : first >= 0xC0 ? 1 : 0;
+        byte[] bytes = new byte[continuation + 1];
+        bytes[0] = (byte) first;
+        for (int i = 1; i <= continuation; i++) {
+            int next = in.read();
+            if (next < 0) {
+                break;
+            }
+            bytes[i] = (byte) next;
+        }
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private void skipEscapeSequence() throws IOException {
+        int introducer = in.read();
+        if (introducer != '[' && introducer != 'O') {
+            return;
+        }
+        int next;
+        do {
+            next = in.read();
+        } while (next >= 0 && (next < 0x40 || next > 0x7E));
+    }
+
+    private void restoreMode() {
+        try {
+            stty(savedMode);
+        } catch (IOException e) {
+            System.err.println("Could not restore the terminal; run 'stty sane': " + e.getMessage());
+        }
+    }
+
+    private static String stty(String... args) throws IOException {
+        String[] command = new String[args.length + 1];
+        command[0] = "stty";
+        System.arraycopy(args, 0, command, 1, args.length);
+        Process process = new ProcessBuilder(command)
+                .redirectInput(new File("/dev/tty"))
+                .redirectError(ProcessBuilder.Redirect.DISCARD)
+                .start();
+        String output = new String(process.getInputStream().readAllBytes(), StandardCharsets.UTF_8).strip();
+        try {
+            if (process.waitFor() != 0) {
+                throw new IOException("stty exited with " + process.exitValue());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while running stty", e);
+        }
+        return output;
+    }
+}
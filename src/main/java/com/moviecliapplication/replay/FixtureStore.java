@@ -0,0 +1,151 @@
+package com.moviecliapplication.replay;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+public class FixtureStore {
+
+    private static final String GENRE_LIST_ENDPOINT = "/genre/movie/list";
+    // Endpoint segments become a fixture folder name, so anything like ".." must never reach fileFor.
+    private static final Pattern ENDPOINT = Pattern.compile("(/[A-Za-z0-9_]+)+");
+
+    private final Path directory;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final ConcurrentMap<String, byte[]> syntheticPages = new ConcurrentHashMap<>();
+    private final byte[] bundledGenreList;
+    private final JsonNode bundledMovieList;
+
+    public FixtureStore(Path directory) {
+        this.directory = directory;
+        this.bundledGenreList = readBundled("genre-list.json");
+        try {
+            this.bundledMovieList = objectMapper.readTree(readBundled("movie-list.json"));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public Optional<byte[]> find(String endpoint, String rawQuery) {
+        Path file = fileFor(endpoint, rawQuery);
+        if (Files.exists(file)) {
+            try {
+                return Optional.of(Files.readAllBytes(file));
+            } catch (IOException e) {
+                System.err.println("Could not read fixture " + file + ": " + e.getMessage());
+            }
+        }
+        return Optional.empty();
+    }
+
+    public Optional<byte[]> findOrSynthesize(String endpoint, String rawQuery) {
+        Optional<byte[]> recorded = find(endpoint, rawQuery);
+        if (recorded.isPresent()) {
+            return recorded;
+        }
+        if (endpoint.equals(GENRE_LIST_ENDPOINT)) {
+            return Optional.of(bundledGenreList);
+        }
+        if (endpoint.equals("/search/movie") || endpoint.equals("/discover/movie") || endpoint.startsWith("/movie/")) {
+            int page = pageOf(rawQuery);
+            if (page < 1 || page > bundledMovieList.path("total_pages").asInt()) {
+                return Optional.empty();
+            }
+            return Optional.of(syntheticPages.computeIfAbsent(canonicalQuery(endpoint, rawQuery),
+                    key -> synthesizePage(endpoint, page)));
+        }
+        return Optional.empty();
+    }
+
+    public void save(String endpoint, String rawQuery, byte[] body) {
+        Path file = fileFor(endpoint, rawQuery);
+        try {
+            Files.createDirectories(file.getParent());
+            Path temp = Files.createTempFile(file.getParent(), "fixture", ".tmp");
+            Files.write(temp, body);
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            System.err.println("Could not record fixture " + file + ": " + e.getMessage());
+        }
+    }
+
+    public static boolean isValidEndpoint(String endpoint) {
+        return ENDPOINT.matcher(endpoint).matches();
+    }
+
+    Path fileFor(String endpoint, String rawQuery) {
+        if (!isValidEndpoint(endpoint)) {
+            throw new IllegalArgumentException("Invalid endpoint: " + endpoint);
+        }
+        String folder = endpoint.replaceAll("^/+", "").replace('/', '_');
+        String query = canonicalQuery(endpoint, rawQuery).replaceAll("[^A-Za-z0-9=._-]", "_");
+        return directory.resolve(folder).resolve((query.isEmpty() ? "default" : query) + ".json");
+    }
+
+    private static String canonicalQuery(String endpoint, String rawQuery) {
+        if (rawQuery == null || rawQuery.isEmpty()) {
+            return "";
+        }
+        return Arrays.stream(rawQuery.split("&"))
+                .filter(param -> !param.isEmpty() && !param.startsWith("api_key="))
+                .map(param -> URLDecoder.decode(param, StandardCharsets.UTF_8).toLowerCase())
+                .filter(param -> !endpoint.equals(GENRE_LIST_ENDPOINT) || !param.startsWith("page="))
+                .sorted()
+                .collect(Collectors.joining("&"));
+    }
+
+    private static int pageOf(String rawQuery) {
+        if (rawQuery != null) {
+            for (String param : rawQuery.split("&")) {
+                if (param.startsWith("page=")) {
+                    try {
+                        return Integer.parseInt(param.substring(5));
+                    } catch (NumberFormatException e) {
+                        return -1;
+                    }
+                }
+            }
+        }
+        return 1;
+    }
+
+    private byte[] synthesizePage(String endpoint, int page) {
+        ObjectNode copy = bundledMovieList.deepCopy();
+        copy.put("page", page);
+        long idOffset = (long) Math.abs(endpoint.hashCode() % 1000) * 1_000_000L + page * 1_000L;
+        for (JsonNode movie : copy.path("results")) {
+            ((ObjectNode) movie).put("id", idOffset + movie.path("id").asLong() % 1_000L);
+        }
+        try {
+            return objectMapper.writeValueAsBytes(copy);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static byte[] readBundled(String name) {
+        try (InputStream in = FixtureStore.class.getResourceAsStream("/standin/" + name)) {
+            if (in == null) {
+                throw new IOException("Missing bundled fixture " + name);
+            }
+            return in.readAllBytes();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.moviecliapplication.replay;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+public record StandInOptions(
+        int port,
+        Path fixtureDirectory,
+        Duration latency,
+        Duration latencyJitter,
+        double errorRate,
+        double rateLimitRate,
+        boolean record
+) {
+
+    public static final String USAGE = """
+            Usage: --stand-in [options]
+              --port <port>              port to listen on (default 8089)
+              --fixtures <dir>           recorded responses to serve (default ./fixtures)
+              --latency <ms>             fixed delay added to every response (default 0)
+              --jitter <ms>              random extra delay of up to this many milliseconds (default 0)
+              --error-rate <0..1>        fraction of requests answered with HTTP 500 (default 0)
+              --rate-limit-rate <0..1>   fraction of requests answered with HTTP 429 (default 0)
+              --record                   forward unknown requests to the live TMDb API and save the responses""";
+
+    public static StandInOptions parse(String[] args) {
+        int port = 8089;
+        Path fixtureDirectory = Path.of("fixtures");
+        long latencyMillis = 0;
+        long jitterMillis = 0;
+        double errorRate = 0;
+        double rateLimitRate = 0;
+        boolean record = false;
+
+        for (int i = 1; i < args.length; i++) {
+            switch (args[i]) {
+                case "--port" -> port = (int) parseNumber(args, ++i);
+                case "--fixtures" -> fixtureDirectory = Path.of(value(args, ++i));
+                case "--latency" -> latencyMillis = (long) parseNumber(args, ++i);
+                case "--jitter" -> jitterMillis = (long) parseNumber(args, ++i);
+                case "--error-rate" -> errorRate = parseNumber(args, ++i);
+                case "--rate-limit-rate" -> rateLimitRate = parseNumber(args, ++i);
+                case "--record" -> record = true;
+                default -> throw new IllegalArgumentException("Unknown option: " + args[i]);
+            }
+        }
+        if (errorRate < 0 || rateLimitRate < 0 || errorRate + rateLimitRate > 1) {
+            throw new IllegalArgumentException("--error-rate and --rate-limit-rate must be between 0 and 1.");
+        }
+        return new StandInOptions(port, fixtureDirectory, Duration.ofMillis(latencyMillis),
+                Duration.ofMillis(jitterMillis), errorRate, rateLimitRate, record);
+    }
+
+    private static double parseNumber(String[] args, int index) {
+        String value = value(args, index);
+        try {
+            return Double.parseDouble(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Expected a number but got: " + value);
+        }
+    }
+
+    private static String value(String[] args, int index) {
+        if (index >= args.length) {
+            throw new IllegalArgumentException("Missing value for " + args[index - 1]);
+        }
+        return args[index];
+    }
+}
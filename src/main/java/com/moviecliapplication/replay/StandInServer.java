@@ -0,0 +1,203 @@
+package com.moviecliapplication.replay;
+
+import com.moviecliapplication.config.AppConfig;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.zip.CRC32;
+import java.util.zip.GZIPOutputStream;
+
+public class StandInServer implements AutoCloseable {
+
+    private static final String PATH_PREFIX = "/3";
+    private static final byte[] NOT_FOUND = """
+            {"success":false,"status_code":34,"status_message":"The resource you requested could not be found."}"""
+            .getBytes(StandardCharsets.UTF_8);
+    private static final byte[] SERVER_ERROR = """
+            {"success":false,"status_code":11,"status_message":"Internal error: Injected failure."}"""
+            .getBytes(StandardCharsets.UTF_8);
+    private static final byte[] RATE_LIMITED = """
+            {"success":false,"status_code":25,"status_message":"Your request count is over the allowed limit."}"""
+            .getBytes(StandardCharsets.UTF_8);
+
+    private final StandInOptions options;
+    private final FixtureStore fixtureStore;
+    private final String upstreamBaseUrl;
+    private final String apiKey;
+    private final HttpClient upstream;
+    private final ExecutorService virtualThreadExecutor = Executors.newVirtualThreadPerTaskExecutor();
+    private final LongAdder served = new LongAdder();
+    private final LongAdder recorded = new LongAdder();
+    private final Set<InetSocketAddress> connections = ConcurrentHashMap.newKeySet();
+    private HttpServer server;
+
+    public StandInServer(StandInOptions options, AppConfig appConfig) {
+        this.options = options;
+        this.fixtureStore = new FixtureStore(options.fixtureDirectory());
+        this.upstreamBaseUrl = appConfig.getString("standin.upstream.url", "https://api.themoviedb.org/3");
+        this.apiKey = appConfig.getTmdbApiKey();
+        this.upstream = options.record() ? HttpClient.newHttpClient() : null;
+    }
+
+    public void start() throws IOException {
+        // Without TCP_NODELAY, headers and body go out as separate small writes and wait on delayed ACKs,
+        // capping each keep-alive connection at a few dozen requests per second.
+        if (System.getProperty("sun.net.httpserver.nodelay") == null) {
+            System.setProperty("sun.net.httpserver.nodelay", "true");
+        }
+        // Loopback only: in record mode every request is forwarded to TMDb with the owner's API key.
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), options.port()), 512);
+        server.setExecutor(virtualThreadExecutor);
+        server.createContext("/", this::handle);
+        server.start();
+    }
+
+    public int port() {
+        return server.getAddress().getPort();
+    }
+
+    public String baseUrl() {
+        return "http://127.0.0.1:" + port() + PATH_PREFIX;
+    }
+
+    public long served() {
+        return served.sum();
+    }
+
+    public long recorded() {
+        return recorded.sum();
+    }
+
+    // Distinct client sockets seen so far, i.e. TCP connections the clients had to open.
+    public long connections() {
+        return connections.size();
+    }
+
+    @Override
+    public void close() {
+        if (server != null) {
+            server.stop(0);
+        }
+        virtualThreadExecutor.shutdownNow();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            served.increment();
+            connections.add(exchange.getRemoteAddress());
+            String path = exchange.getRequestURI().getPath();
+            String endpoint = path.startsWith(PATH_PREFIX + "/") ? path.substring(PATH_PREFIX.length()) : path;
+            String query = exchange.getRequestURI().getRawQuery();
+            if (!FixtureStore.isValidEndpoint(endpoint)) {
+                respond(exchange, 404, NOT_FOUND);
+                return;
+            }
+
+            delay();
+            double roll = ThreadLocalRandom.current().nextDouble();
+            if (roll < options.rateLimitRate()) {
+                exchange.getResponseHeaders().add("Retry-After", "1");
+                respond(exchange, 429, RATE_LIMITED);
+                return;
+            }
+            if (roll < options.rateLimitRate() + options.errorRate()) {
+                respond(exchange, 500, SERVER_ERROR);
+                return;
+            }
+
+            Optional<byte[]> body = options.record()
+                    ? fixtureStore.find(endpoint, query).or(() -> record(endpoint, query))
+                    : fixtureStore.findOrSynthesize(endpoint, query);
+            if (body.isPresent()) {
+                // Fixtures never change while the server runs, so a checksum of the body serves as its ETag.
+                String etag = etagOf(body.get());
+                exchange.getResponseHeaders().set("ETag", etag);
+                if (etag.equals(exchange.getRequestHeaders().getFirst("If-None-Match"))) {
+                    exchange.sendResponseHeaders(304, -1);
+                    return;
+                }
+                respond(exchange, 200, body.get());
+            } else {
+                respond(exchange, 404, NOT_FOUND);
+            }
+        }
+    }
+
+    private Optional<byte[]> record(String endpoint, String query) {
+        String separator = (query == null || query.isEmpty()) ? "" : "&";
+        URI uri = URI.create(upstreamBaseUrl + endpoint + "?api_key=" + apiKey + separator + (query == null ? "" : query));
+        try {
+            HttpResponse<byte[]> response = upstream.send(HttpRequest.newBuilder(uri)
+                    .header("Accept", "application/json")
+                    .timeout(Duration.ofSeconds(30))
+                    .build(), HttpResponse.BodyHandlers.ofByteArray());
+            if (response.statusCode() != 200) {
+                System.err.println("Upstream returned " + response.statusCode() + " for " + endpoint);
+                return Optional.empty();
+            }
+            fixtureStore.save(endpoint, query, response.body());
+            recorded.increment();
+            return Optional.of(response.body());
+        } catch (IOException e) {
+            System.err.println("Could not record " + endpoint + ": " + e.getMessage());
+            return Optional.empty();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return Optional.empty();
+        }
+    }
+
+    private void delay() {
+        long millis = options.latency().toMillis();
+        if (options.latencyJitter().toMillis() > 0) {
+            millis += ThreadLocalRandom.current().nextLong(options.latencyJitter().toMillis() + 1);
+        }
+        if (millis > 0) {
+            try {
+                Thread.sleep(millis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private static String etagOf(byte[] body) {
+        CRC32 crc = new CRC32();
+        crc.update(body);
+        return "\"" + Long.toHexString(crc.getValue()) + "-" + body.length + "\"";
+    }
+
+    private static void respond(HttpExchange exchange, int statusCode, byte[] body) throws IOException {
+        exchange.getResponseHeaders().set("Content-Type", "application/json;charset=utf-8");
+        String acceptEncoding = exchange.getRequestHeaders().getFirst("Accept-Encoding");
+        if (acceptEncoding != null && acceptEncoding.contains("gzip") && body.length > 1024) {
+            exchange.getResponseHeaders().set("Content-Encoding", "gzip");
+            exchange.sendResponseHeaders(statusCode, 0);
+            try (OutputStream out = new GZIPOutputStream(exchange.getResponseBody(), 8192)) {
+                out.write(body);
+            }
+            return;
+        }
+        exchange.sendResponseHeaders(statusCode, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+}
@@ -0,0 +1,299 @@
+package com.moviecliapplication.search;
+
+import com.moviecliapplication.config.AppConfig;
+import com.moviecliapplication.domain.Movie;
+
+import jakarta.inject.Inject;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+public class MovieIndex {
+
+    private static final double TITLE_WEIGHT = 3.0;
+    private static final double META_WEIGHT = 1.5;
+    private static final double OVERVIEW_WEIGHT = 1.0;
+    private static final double PREFIX_FACTOR = 0.7;
+    private static final double FUZZY_FACTOR = 0.5;
+
+    private final List<Movie> documents = new ArrayList<>();
+    private final Map<Long, Integer> documentIds = new HashMap<>();
+    private final NavigableMap<String, IntList> titleTerms = new TreeMap<>();
+    private final NavigableMap<String, IntList> overviewTerms = new TreeMap<>();
+    private final NavigableMap<String, IntList> metaTerms = new TreeMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Path indexFile;
+    private final CompletableFuture<Void> loaded;
+    private final List<Movie> queued = new ArrayList<>();
+    private boolean drainScheduled;
+    private boolean dirty;
+
+    @Inject
+    public MovieIndex(AppConfig appConfig) {
+        this.indexFile = appConfig.getBoolean("index.persist", true)
+                ? Path.of(appConfig.getString("index.file", System.getProperty("user.home") + "/.movie-cli/movie-index.bin"))
+                : null;
+        if (indexFile != null) {
+            loaded = CompletableFuture.runAsync(() -> loadFrom(indexFile),
+                    runnable -> Thread.ofVirtual().name("movie-index-loader").start(runnable));
+            Runtime.getRuntime().addShutdownHook(Thread.ofPlatform().unstarted(this::save));
+        } else {
+            loaded = CompletableFuture.completedFuture(null);
+        }
+    }
+
+    // Only queues the movies: they are indexed on a background thread once the index has loaded, so a caller on
+    // an HTTP completion stage waits for neither. Searches, size() and save() index what is still queued first.
+    public void addAll(Collection<Movie> movies) {
+        if (movies.isEmpty()) {
+            return;
+        }
+        synchronized (queued) {
+            queued.addAll(movies);
+            if (drainScheduled) {
+                return;
+            }
+            drainScheduled = true;
+        }
+        loaded.thenRunAsync(this::drainQueued, runnable -> Thread.ofVirtual().name("movie-indexer").start(runnable));
+    }
+
+    // Takes the batch under the write lock, so batches are applied in the order they were queued.
+    private void drainQueued() {
+        lock.writeLock().lock();
+        try {
+            List<Movie> batch;
+            synchronized (queued) {
+                drainScheduled = false;
+                if (queued.isEmpty()) {
+                    return;
+                }
+                batch = new ArrayList<>(queued);
+                queued.clear();
+            }
+            addAllLoaded(batch);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private boolean hasQueued() {
+        synchronized (queued) {
+            return !queued.isEmpty();
+        }
+    }
+
+    private void addAllLoaded(Collection<Movie> movies) {
+        lock.writeLock().lock();
+        try {
+            for (Movie movie : movies) {
+                addOrReplace(movie);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        loaded.join();
+        if (hasQueued()) {
+            drainQueued();
+        }
+        lock.readLock().lock();
+        try {
+            return documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public List<SearchHit> search(String query, int limit) {
+        List<String> queryTokens = Tokenizer.tokenize(query, false);
+        if (queryTokens.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+
+        loaded.join();
+        if (hasQueued()) {
+            drainQueued();
+        }
+        lock.readLock().lock();
+        try {
+            int documentCount = documents.size();
+            double[] scores = new double[documentCount];
+            int[] matchedTokens = new int[documentCount];
+            int[] titleMatchedTokens = new int[documentCount];
+
+            for (String token : queryTokens) {
+                double[] tokenScores = new double[documentCount];
+                boolean[] titleHit = new boolean[documentCount];
+                scoreField(titleTerms, token, TITLE_WEIGHT, true, tokenScores, titleHit);
+                scoreField(metaTerms, token, META_WEIGHT, false, tokenScores, null);
+                scoreField(overviewTerms, token, OVERVIEW_WEIGHT, false, tokenScores, null);
+                for (int doc = 0; doc < documentCount; doc++) {
+                    if (tokenScores[doc] > 0) {
+                        scores[doc] += tokenScores[doc];
+                        matchedTokens[doc]++;
+                        if (titleHit[doc]) {
+                            titleMatchedTokens[doc]++;
+                        }
+                    }
+                }
+            }
+
+            List<SearchHit> hits = new ArrayList<>();
+            for (int doc = 0; doc < documentCount; doc++) {
+                if (matchedTokens[doc] == queryTokens.size()) {
+                    hits.add(new SearchHit(documents.get(doc), scores[doc],
+                            titleMatchedTokens[doc] == queryTokens.size()));
+                }
+            }
+            hits.sort((a, b) -> {
+                int byScore = Double.compare(b.score(), a.score());
+                return byScore != 0 ? byScore : Double.compare(b.movie().voteAverage(), a.movie().voteAverage());
+            });
+            return hits.size() > limit ? List.copyOf(hits.subList(0, limit)) : hits;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public void save() {
+        if (indexFile == null) {
+            return;
+        }
+        loaded.join();
+        drainQueued();
+        lock.readLock().lock();
+        try {
+            if (!dirty) {
+                return;
+            }
+            MovieIndexStore.save(indexFile, documents);
+            dirty = false;
+        } catch (IOException e) {
+            System.err.println("Could not save movie index to " + indexFile + ": " + e.getMessage());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void loadFrom(Path file) {
+        if (!Files.exists(file)) {
+            return;
+        }
+        try {
+            addAllLoaded(MovieIndexStore.load(file));
+            dirty = false;
+        } catch (IOException e) {
+            System.err.println("Ignoring unreadable movie index " + file + ": " + e.getMessage());
+        }
+    }
+
+    private void scoreField(NavigableMap<String, IntList> terms, String token, double weight, boolean fuzzy,
+                            double[] tokenScores, boolean[] titleHit) {
+        double documentCount = Math.max(1, documents.size());
+
+        for (Map.Entry<String, IntList> entry : terms.subMap(token, true, token + Character.MAX_VALUE, true).entrySet()) {
+            double factor = entry.getKey().length() == token.length() ? 1.0 : PREFIX_FACTOR;
+            addPostings(entry.getValue(), weight * factor * idf(entry.getValue(), documentCount), tokenScores, titleHit);
+        }
+
+        if (fuzzy && token.length() >= 4) {
+            int maxDistance = token.length() >= 8 ? 2 : 1;
+            String from = token.substring(0, 1);
+            for (Map.Entry<String, IntList> entry : terms.subMap(from, true, from + Character.MAX_VALUE, true).entrySet()) {
+                String term = entry.getKey();
+                if (!term.startsWith(token) && Tokenizer.withinEditDistance(token, term, maxDistance)) {
+                    addPostings(entry.getValue(), weight * FUZZY_FACTOR * idf(entry.getValue(), documentCount),
+                            tokenScores, titleHit);
+                }
+            }
+        }
+    }
+
+    private static double idf(IntList postings, double documentCount) {
+        return 1.0 + Math.log(documentCount / postings.size());
+    }
+
+    private static void addPostings(IntList postings, double score, double[] tokenScores, boolean[] titleHit) {
+        for (int i = 0; i < postings.size(); i++) {
+            int doc = postings.get(i);
+            if (score > tokenScores[doc]) {
+                tokenScores[doc] = score;
+            }
+            if (titleHit != null) {
+                titleHit[doc] = true;
+            }
+        }
+    }
+
+    private void addOrReplace(Movie movie) {
+        Integer existing = documentIds.get(movie.id());
+        if (existing != null) {
+            Movie previous = documents.get(existing);
+            if (previous.equals(movie)) {
+                return;
+            }
+            unindex(existing, previous);
+            documents.set(existing, movie);
+            index(existing, movie);
+        } else {
+            int doc = documents.size();
+            documents.add(movie);
+            documentIds.put(movie.id(), doc);
+            index(doc, movie);
+        }
+        dirty = true;
+    }
+
+    private void index(int doc, Movie movie) {
+        Tokenizer.tokenize(movie.title(), false)
+                .forEach(term -> titleTerms.computeIfAbsent(term, t -> new IntList()).add(doc));
+        Tokenizer.tokenize(movie.overview(), true)
+                .forEach(term -> overviewTerms.computeIfAbsent(term, t -> new IntList()).add(doc));
+        metaTokens(movie).forEach(term -> metaTerms.computeIfAbsent(term, t -> new IntList()).add(doc));
+    }
+
+    private void unindex(int doc, Movie movie) {
+        Tokenizer.tokenize(movie.title(), false).forEach(term -> removePosting(titleTerms, term, doc));
+        Tokenizer.tokenize(movie.overview(), true).forEach(term -> removePosting(overviewTerms, term, doc));
+        metaTokens(movie).forEach(term -> removePosting(metaTerms, term, doc));
+    }
+
+    private static void removePosting(Map<String, IntList> terms, String term, int doc) {
+        IntList postings = terms.get(term);
+        if (postings != null) {
+            postings.remove(doc);
+            if (postings.isEmpty()) {
+                terms.remove(term);
+            }
+        }
+    }
+
+    private static List<String> metaTokens(Movie movie) {
+        List<String> tokens = new ArrayList<>();
+        if (movie.genres() != null) {
+            movie.genres().stream()
+                    .filter(Objects::nonNull)
+                    .forEach(genre -> tokens.addAll(Tokenizer.tokenize(genre, false)));
+        }
+        String releaseDate = movie.releaseDate();
+        if (releaseDate != null && releaseDate.length() >= 4) {
+            tokens.add(releaseDate.substring(0, 4));
+        }
+        return tokens;
+    }
+}
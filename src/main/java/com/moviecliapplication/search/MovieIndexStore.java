@@ -0,0 +1,93 @@
+package com.moviecliapplication.search;
+
+import com.moviecliapplication.domain.Movie;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+final class MovieIndexStore {
+
+    private static final int MAGIC = 0x4D564958;
+    private static final int VERSION = 1;
+
+    private MovieIndexStore() {
+    }
+
+    static List<Movie> load(Path file) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file), 1 << 16))) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+                throw new IOException("Unrecognized index file format");
+            }
+            int count = in.readInt();
+            List<Movie> movies = new ArrayList<>(count);
+            // Genre combinations repeat across nearly every movie, so each distinct list is kept once.
+            Map<List<String>, List<String>> genreLists = new HashMap<>();
+            Map<String, String> genreNames = new HashMap<>();
+            List<String> scratch = new ArrayList<>();
+            for (int i = 0; i < count; i++) {
+                long id = in.readLong();
+                String title = readNullable(in);
+                String overview = readNullable(in);
+                String releaseDate = readNullable(in);
+                double voteAverage = in.readDouble();
+                int genreCount = in.readUnsignedByte();
+                scratch.clear();
+                for (int g = 0; g < genreCount; g++) {
+                    scratch.add(genreNames.computeIfAbsent(in.readUTF(), name -> name));
+                }
+                List<String> genres = genreLists.get(scratch);
+                if (genres == null) {
+                    genres = List.copyOf(scratch);
+                    genreLists.put(genres, genres);
+                }
+                movies.add(new Movie(id, title, overview, releaseDate, voteAverage, genres));
+            }
+            return movies;
+        }
+    }
+
+    static void save(Path file, Collection<Movie> movies) throws IOException {
+        Files.createDirectories(file.toAbsolutePath().getParent());
+        Path temp = Files.createTempFile(file.toAbsolutePath().getParent(), "index", ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp), 1 << 16))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(movies.size());
+            for (Movie movie : movies) {
+                out.writeLong(movie.id());
+                writeNullable(out, movie.title());
+                writeNullable(out, movie.overview());
+                writeNullable(out, movie.releaseDate());
+                out.writeDouble(movie.voteAverage());
+                List<String> genres = movie.genres() != null ? movie.genres() : List.of();
+                out.writeByte(Math.min(genres.size(), 255));
+                for (int g = 0; g < Math.min(genres.size(), 255); g++) {
+                    out.writeUTF(genres.get(g));
+                }
+            }
+        }
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private static String readNullable(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+
+    private static void writeNullable(DataOutputStream out, String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeUTF(value.length() > 20_000 ? value.substring(0, 20_000) : value);
+        }
+    }
+}
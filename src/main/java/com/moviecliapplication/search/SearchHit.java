@@ -0,0 +1,10 @@
+package com.moviecliapplication.search;
+
+import com.moviecliapplication.domain.Movie;
+
+public record SearchHit(
+        Movie movie,
+        double score,
+        boolean titleMatch
+) {
+}
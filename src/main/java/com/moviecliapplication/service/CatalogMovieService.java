@@ -0,0 +1,121 @@
+package com.moviecliapplication.service;
+
+import com.moviecliapplication.catalog.CatalogStore;
+import com.moviecliapplication.domain.Genre;
+import com.moviecliapplication.domain.Movie;
+import com.moviecliapplication.domain.Page;
+import com.moviecliapplication.metrics.Metrics;
+
+import jakarta.inject.Inject;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+// Local backend (service.backend=local): genre, year and top-rated pages come straight from the catalog
+// store; everything else still goes through MovieServiceImpl.
+public class CatalogMovieService implements MovieService {
+
+    private final MovieServiceImpl remote;
+    private final CatalogStore catalogStore;
+    private final Metrics metrics;
+
+    @Inject
+    public CatalogMovieService(MovieServiceImpl remote, CatalogStore catalogStore, Metrics metrics) {
+        this.remote = remote;
+        this.catalogStore = catalogStore;
+        this.metrics = metrics;
+    }
+
+    @Override
+    public Optional<Page<Movie>> searchByName(String name, int page) {
+        return remote.searchByName(name, page);
+    }
+
+    @Override
+    public Optional<Page<Movie>> getMoviesByGenre(int genreId, int page) {
+        return getMoviesByGenreAsync(genreId, page).join();
+    }
+
+    @Override
+    public Optional<Page<Movie>> getMoviesByYear(int year, int page) {
+        return getMoviesByYearAsync(year, page).join();
+    }
+
+    @Override
+    public Optional<Page<Movie>> getPopularMovies(int page) {
+        return remote.getPopularMovies(page);
+    }
+
+    @Override
+    public Optional<Page<Movie>> getTopRatedMovies(int page) {
+        return getTopRatedMoviesAsync(page).join();
+    }
+
+    @Override
+    public Optional<Page<Movie>> getNowPlayingMovies(int page) {
+        return remote.getNowPlayingMovies(page);
+    }
+
+    @Override
+    public Optional<Page<Movie>> getUpcomingMovies(int page) {
+        return remote.getUpcomingMovies(page);
+    }
+
+    @Override
+    public List<Genre> getGenres() {
+        return remote.getGenres();
+    }
+
+    @Override
+    public CompletableFuture<Optional<Page<Movie>>> searchByNameAsync(String name, int page) {
+        return remote.searchByNameAsync(name, page);
+    }
+
+    @Override
+    public CompletableFuture<Optional<Page<Movie>>> getMoviesByGenreAsync(int genreId, int page) {
+        if (!catalogStore.isEnabled()) {
+            return remote.getMoviesByGenreAsync(genreId, page);
+        }
+        return local(() -> catalogStore.moviesByGenre(genreId, page));
+    }
+
+    @Override
+    public CompletableFuture<Optional<Page<Movie>>> getMoviesByYearAsync(int year, int page) {
+        if (!catalogStore.isEnabled()) {
+            return remote.getMoviesByYearAsync(year, page);
+        }
+        return local(() -> catalogStore.moviesByYear(year, page));
+    }
+
+    @Override
+    public CompletableFuture<Optional<Page<Movie>>> getPopularMoviesAsync(int page) {
+        return remote.getPopularMoviesAsync(page);
+    }
+
+    @Override
+    public CompletableFuture<Optional<Page<Movie>>> getTopRatedMoviesAsync(int page) {
+        if (!catalogStore.isEnabled()) {
+            return remote.getTopRatedMoviesAsync(page);
+        }
+        return local(() -> catalogStore.topRated(page));
+    }
+
+    @Override
+    public CompletableFuture<Optional<Page<Movie>>> getNowPlayingMoviesAsync(int page) {
+        return remote.getNowPlayingMoviesAsync(page);
+    }
+
+    @Override
+    public CompletableFuture<Optional<Page<Movie>>> getUpcomingMoviesAsync(int page) {
+        return remote.getUpcomingMoviesAsync(page);
+    }
+
+    private CompletableFuture<Optional<Page<Movie>>> local(Supplier<Page<Movie>> query) {
+        long start = metrics.start();
+        Page<Movie> page = query.get();
+        metrics.recordSince("service_catalog_query", start);
+        return CompletableFuture.completedFuture(Optional.of(page));
+    }
+}
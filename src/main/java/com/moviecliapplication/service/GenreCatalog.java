@@ -0,0 +1,160 @@
+package com.moviecliapplication.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.moviecliapplication.client.AsyncTMDbClient;
+import com.moviecliapplication.config.AppConfig;
+import com.moviecliapplication.domain.Genre;
+
+import jakarta.inject.Inject;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+public class GenreCatalog {
+
+    // The mask bit shared by all genre ids missing from the genre list.
+    public static final long UNKNOWN_GENRE = GenreTable.UNKNOWN;
+
+    private final AsyncTMDbClient tmDbClient;
+    private final Path snapshotFile;
+    private final Duration refreshInterval;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final CompletableFuture<Void> ready = new CompletableFuture<>();
+    private volatile GenreTable table = GenreTable.EMPTY;
+    private volatile Map<String, Integer> idsByName = Map.of();
+    private CompletableFuture<Void> refreshing;
+
+    @Inject
+    public GenreCatalog(AsyncTMDbClient tmDbClient, AppConfig appConfig) {
+        this.tmDbClient = tmDbClient;
+        this.snapshotFile = appConfig.getBoolean("genres.persist", true)
+                ? Path.of(appConfig.getString("genres.file", System.getProperty("user.home") + "/.movie-cli/genres.json"))
+                : null;
+        this.refreshInterval = appConfig.getDuration("genres.refreshInterval", Duration.ofDays(1));
+
+        if (!loadSnapshot()) {
+            refresh();
+        }
+    }
+
+    // Completes once genre names are known, from the snapshot or the first refresh attempt. It never fails:
+    // if TMDb is unreachable, movies are enriched with "Unknown" genres as before.
+    public CompletableFuture<Void> ready() {
+        return ready;
+    }
+
+    public String nameOf(int genreId) {
+        GenreTable current = table;
+        return current.namesOf(current.bitOf(genreId)).get(0);
+    }
+
+    // Genres as a 64-bit mask with one bit per known genre; ids missing from the genre list set a shared
+    // "Unknown" bit. The mask is only meaningful against this catalog's current genre list.
+    public long maskOf(int[] genreIds) {
+        return table.maskOf(genreIds);
+    }
+
+    // The genre names for a mask, in genre id order. Lists are shared between every movie with the same
+    // genre combination and are unmodifiable.
+    public List<String> namesOf(long mask) {
+        return table.namesOf(mask);
+    }
+
+    public int[] idsOf(long mask) {
+        return table.idsOf(mask);
+    }
+
+    // The TMDb id for a genre name, or -1 when the name is unknown.
+    public int idOf(String name) {
+        return idsByName.getOrDefault(name, -1);
+    }
+
+    public List<Genre> list() {
+        ready.join();
+        if (table.size() == 0) {
+            refresh().join();
+        }
+        return genres(table);
+    }
+
+    private static List<Genre> genres(GenreTable table) {
+        List<Genre> genres = new ArrayList<>(table.size());
+        for (int bit = 0; bit < table.size(); bit++) {
+            genres.add(new Genre(table.idAt(bit), table.nameAt(bit)));
+        }
+        return genres;
+    }
+
+    public synchronized CompletableFuture<Void> refresh() {
+        if (refreshing != null && !refreshing.isDone()) {
+            return refreshing;
+        }
+        refreshing = tmDbClient.getGenreListAsync()
+                .thenAccept(response -> {
+                    Map<Integer, String> loaded = new LinkedHashMap<>();
+                    response.genres().forEach(genreDto -> loaded.put(genreDto.id(), genreDto.name()));
+                    install(loaded);
+                    saveSnapshot();
+                })
+                .exceptionally(error -> {
+                    System.err.println("Error loading genres: " + AsyncTMDbClient.unwrap(error).getMessage());
+                    return null;
+                })
+                .whenComplete((ignored, error) -> ready.complete(null));
+        return refreshing;
+    }
+
+    private boolean loadSnapshot() {
+        if (snapshotFile == null || !Files.exists(snapshotFile)) {
+            return false;
+        }
+        try {
+            Map<Integer, String> loaded = new LinkedHashMap<>();
+            for (Genre genre : objectMapper.readValue(snapshotFile.toFile(), Genre[].class)) {
+                loaded.put(genre.id(), genre.name());
+            }
+            if (loaded.isEmpty()) {
+                return false;
+            }
+            install(loaded);
+            ready.complete(null);
+            Instant modified = Files.getLastModifiedTime(snapshotFile).toInstant();
+            return modified.plus(refreshInterval).isAfter(Instant.now());
+        } catch (IOException e) {
+            System.err.println("Ignoring unreadable genre snapshot " + snapshotFile + ": " + e.getMessage());
+            return false;
+        }
+    }
+
+    private void install(Map<Integer, String> loaded) {
+        Map<String, Integer> ids = new HashMap<>();
+        loaded.forEach((id, name) -> ids.put(name, id));
+        idsByName = Collections.unmodifiableMap(ids);
+        table = new GenreTable(loaded);
+    }
+
+    private void saveSnapshot() {
+        if (snapshotFile == null) {
+            return;
+        }
+        try {
+            Files.createDirectories(snapshotFile.getParent());
+            Path temp = Files.createTempFile(snapshotFile.getParent(), "genres", ".tmp");
+            objectMapper.writeValue(temp.toFile(), genres(table));
+            Files.move(temp, snapshotFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            System.err.println("Could not save genre snapshot to " + snapshotFile + ": " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package com.moviecliapplication.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+// Immutable, primitive view of the genre list. TMDb genre ids are small (under 11000), so a byte[] indexed
+// by id gives each genre its bit in a 64-bit mask. Name lists are interned per mask, since there are only a
+// few hundred distinct genre combinations.
+final class GenreTable {
+
+    static final int UNKNOWN_BIT = 63;
+    static final long UNKNOWN = 1L << UNKNOWN_BIT;
+    static final GenreTable EMPTY = new GenreTable(Map.of());
+
+    private static final int MAX_DENSE_ID = 1 << 16;
+
+    private final int[] ids;
+    private final String[] names;
+    private final byte[] bitById;
+    private volatile Interned interned = new Interned(new long[0], newLists(0));
+
+    GenreTable(Map<Integer, String> genres) {
+        int count = Math.min(genres.size(), UNKNOWN_BIT);
+        this.ids = new int[count];
+        this.names = new String[count];
+        int maxId = -1;
+        int bit = 0;
+        // Bits follow genre id order, so a refresh that returns the same genres produces the same masks.
+        for (Map.Entry<Integer, String> genre : new TreeMap<>(genres).entrySet()) {
+            int id = genre.getKey();
+            if (bit == count || id < 0 || id >= MAX_DENSE_ID) {
+                continue;
+            }
+            ids[bit] = id;
+            names[bit++] = genre.getValue();
+            maxId = Math.max(maxId, id);
+        }
+        this.bitById = new byte[maxId + 1];
+        Arrays.fill(bitById, (byte) -1);
+        for (int b = 0; b < bit; b++) {
+            bitById[ids[b]] = (byte) b;
+        }
+    }
+
+    int size() {
+        return ids.length;
+    }
+
+    long maskOf(int[] genreIds) {
+        long mask = 0;
+        for (int genreId : genreIds) {
+            mask |= bitOf(genreId);
+        }
+        return mask;
+    }
+
+    long bitOf(int genreId) {
+        int bit = genreId >= 0 && genreId < bitById.length ? bitById[genreId] : -1;
+        return bit < 0 ? UNKNOWN : 1L << bit;
+    }
+
+    int[] idsOf(long mask) {
+        int[] result = new int[Long.bitCount(mask & ~UNKNOWN)];
+        int i = 0;
+        for (long remaining = mask & ~UNKNOWN; remaining != 0; remaining &= remaining - 1) {
+            result[i++] = ids[Long.numberOfTrailingZeros(remaining)];
+        }
+        return result;
+    }
+
+    int idAt(int bit) {
+        return ids[bit];
+    }
+
+    String nameAt(int bit) {
+        return names[bit];
+    }
+
+    List<String> namesOf(long mask) {
+        Interned table = interned;
+        int found = Arrays.binarySearch(table.masks(), mask);
+        if (found >= 0) {
+            return table.lists()[found];
+        }
+        return intern(mask);
+    }
+
+    // Copy-on-write: lookups stay lock-free, and the table only ever grows to the few hundred combinations seen.
+    // Masks and lists are published together in one immutable holder, so a reader never pairs old masks with
+    // new lists.
+    private synchronized List<String> intern(long mask) {
+        Interned table = interned;
+        long[] masks = table.masks();
+        int found = Arrays.binarySearch(masks, mask);
+        if (found >= 0) {
+            return table.lists()[found];
+        }
+        List<String> list = new ArrayList<>(Long.bitCount(mask));
+        for (long remaining = mask & ~UNKNOWN; remaining != 0; remaining &= remaining - 1) {
+            list.add(names[Long.numberOfTrailingZeros(remaining)]);
+        }
+        if ((mask & UNKNOWN) != 0) {
+            list.add("Unknown");
+        }
+        List<String> result = Collections.unmodifiableList(list);
+
+        int insertAt = -found - 1;
+        long[] newMasks = new long[masks.length + 1];
+        List<String>[] newLists = newLists(masks.length + 1);
+        System.arraycopy(masks, 0, newMasks, 0, insertAt);
+        System.arraycopy(table.lists(), 0, newLists, 0, insertAt);
+        newMasks[insertAt] = mask;
+        newLists[insertAt] = result;
+        System.arraycopy(masks, insertAt, newMasks, insertAt + 1, masks.length - insertAt);
+        System.arraycopy(table.lists(), insertAt, newLists, insertAt + 1, masks.length - insertAt);
+        interned = new Interned(newMasks, newLists);
+        return result;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<String>[] newLists(int length) {
+        return (List<String>[]) new List<?>[length];
+    }
+
+    private record Interned(long[] masks, List<String>[] lists) {
+    }
+}
@@ -0,0 +1,121 @@
+package com.moviecliapplication.service;
+
+import com.moviecliapplication.domain.Movie;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+// A combined search: every given criterion must match. Years and rating are inclusive bounds; 0 means unbounded.
+// Genres are names or TMDb ids and a movie must have all of them. Text is matched against title and overview.
+public record MovieQuery(
+        List<String> genres,
+        int fromYear,
+        int toYear,
+        double minRating,
+        String text,
+        Sort sort
+) {
+
+    public static final String SYNTAX = """
+            genre:<name|id>[,<name|id>...]  year:<yyyy>|<yyyy>-<yyyy>|<yyyy>-  rating:<min>
+            sort:popularity|rating|newest|oldest|title  and any other words as free text
+            e.g. genre:action year:1995-2005 rating:7.5 sort:rating""";
+
+    public enum Sort {
+        POPULARITY("popularity.desc", null),
+        RATING("vote_average.desc", Comparator.comparingDouble(Movie::voteAverage).reversed()),
+        NEWEST("primary_release_date.desc",
+                Comparator.comparing(MovieQuery::releaseDateOf, Comparator.nullsLast(Comparator.reverseOrder()))),
+        OLDEST("primary_release_date.asc",
+                Comparator.comparing(MovieQuery::releaseDateOf, Comparator.nullsLast(Comparator.naturalOrder()))),
+        TITLE(null, Comparator.comparing(MovieQuery::titleOf, String.CASE_INSENSITIVE_ORDER));
+
+        // The /discover/movie sort_by value, or null when TMDb cannot sort this way.
+        final String discoverSort;
+        // The local order, or null to keep the order results arrive in.
+        final Comparator<Movie> comparator;
+
+        Sort(String discoverSort, Comparator<Movie> comparator) {
+            this.discoverSort = discoverSort;
+            this.comparator = comparator;
+        }
+    }
+
+    public static MovieQuery parse(String input) {
+        List<String> genres = new ArrayList<>();
+        int fromYear = 0;
+        int toYear = 0;
+        double minRating = 0;
+        Sort sort = Sort.POPULARITY;
+        StringBuilder text = new StringBuilder();
+
+        for (String token : input.strip().split("\\s+")) {
+            int colon = token.indexOf(':');
+            String key = colon < 0 ? "" : token.substring(0, colon).toLowerCase();
+            String value = colon < 0 ? token : token.substring(colon + 1);
+            switch (key) {
+                case "genre", "genres" -> {
+                    for (String genre : value.split(",")) {
+                        if (!genre.isBlank()) {
+                            genres.add(genre.strip().replace('_', ' '));
+                        }
+                    }
+                }
+                case "year", "years" -> {
+                    int dash = value.indexOf('-');
+                    fromYear = parseYear(dash < 0 ? value : value.substring(0, dash));
+                    toYear = dash < 0 ? fromYear : dash == value.length() - 1 ? 0 : parseYear(value.substring(dash + 1));
+                    if (toYear != 0 && toYear < fromYear) {
+                        throw new IllegalArgumentException("Year range is empty: " + value);
+                    }
+                }
+                case "rating" -> {
+                    try {
+                        minRating = Double.parseDouble(value.startsWith(">=") ? value.substring(2) : value);
+                    } catch (NumberFormatException e) {
+                        throw new IllegalArgumentException("Expected a minimum rating but got: " + value);
+                    }
+                }
+                case "sort" -> {
+                    try {
+                        sort = Sort.valueOf(value.toUpperCase());
+                    } catch (IllegalArgumentException e) {
+                        throw new IllegalArgumentException("Unknown sort order: " + value);
+                    }
+                }
+                default -> {
+                    if (!token.isEmpty()) {
+                        text.append(text.isEmpty() ? "" : " ").append(token);
+                    }
+                }
+            }
+        }
+        if (genres.isEmpty() && fromYear == 0 && minRating == 0 && text.isEmpty()) {
+            throw new IllegalArgumentException("Give at least one criterion: " + SYNTAX.lines().findFirst().orElse(""));
+        }
+        return new MovieQuery(List.copyOf(genres), fromYear, toYear, minRating,
+                text.isEmpty() ? null : text.toString(), sort);
+    }
+
+    private static int parseYear(String value) {
+        try {
+            int year = Integer.parseInt(value.strip());
+            if (year < 1800 || year > 9999) {
+                throw new IllegalArgumentException("Year out of range: " + value);
+            }
+            return year;
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Expected a year but got: " + value);
+        }
+    }
+
+    private static String releaseDateOf(Movie movie) {
+        String releaseDate = movie.releaseDate();
+        return releaseDate == null || releaseDate.isBlank() ? null : releaseDate;
+    }
+
+    private static String titleOf(Movie movie) {
+        return movie.title() == null ? "" : movie.title();
+    }
+}
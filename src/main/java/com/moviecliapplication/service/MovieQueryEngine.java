@@ -0,0 +1,274 @@
+package com.moviecliapplication.service;
+
+import com.moviecliapplication.config.AppConfig;
+import com.moviecliapplication.domain.Genre;
+import com.moviecliapplication.domain.Movie;
+import com.moviecliapplication.domain.Page;
+import com.moviecliapplication.metrics.Metrics;
+
+import jakarta.inject.Inject;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.IntFunction;
+import java.util.function.Predicate;
+
+// Runs a MovieQuery. Whatever /discover/movie can express is pushed down to TMDb; when that is everything,
+// the answer is a single TMDb page. Otherwise pages are streamed with a few requests in flight, filtered
+// locally and ranked in a heap that holds only the movies up to the requested page.
+public class MovieQueryEngine {
+
+    private static final int PAGE_SIZE = 20;
+
+    private final RemoteMovieSource movieService;
+    private final GenreCatalog genreCatalog;
+    private final Metrics metrics;
+    private final int maxPages;
+    private final int parallelism;
+    private final int minVotes;
+
+    @Inject
+    public MovieQueryEngine(RemoteMovieSource movieService, GenreCatalog genreCatalog, Metrics metrics,
+                            AppConfig appConfig) {
+        this.movieService = movieService;
+        this.genreCatalog = genreCatalog;
+        this.metrics = metrics;
+        this.maxPages = Math.max(1, appConfig.getInt("query.maxPages", 25));
+        this.parallelism = Math.max(1, appConfig.getInt("query.parallelism", 8));
+        this.minVotes = appConfig.getInt("query.minVotes", 50);
+    }
+
+    public Optional<Page<Movie>> find(MovieQuery query, int page) {
+        long start = metrics.start();
+        try {
+            return run(query, page);
+        } finally {
+            metrics.recordSince("service_query", start);
+        }
+    }
+
+    private Optional<Page<Movie>> run(MovieQuery query, int page) {
+        int[] genreIds = resolveGenres(query.genres());
+        MovieQuery.Sort sort = query.sort();
+
+        if (query.text() == null) {
+            Map<String, String> filters = discoverFilters(query, genreIds);
+            if (sort.discoverSort != null) {
+                count("pushdown");
+                return movieService.discoverAsync(filters, page).join();
+            }
+            // Only the order is left to do locally; the filter is re-checked because it costs next to nothing.
+            count("discover_scan");
+            return scan(p -> movieService.discoverAsync(filters, p), localFilter(query, genreIds), sort.comparator,
+                    page);
+        }
+
+        // /search/movie only takes the text, so the other criteria are applied here.
+        count("search_scan");
+        return scan(p -> movieService.searchRemotelyAsync(query.text(), p), localFilter(query, genreIds),
+                sort.comparator, page);
+    }
+
+    // Every page the query reads, with the local filter applied, for callers that consume all matches rather
+    // than one ranked page. Results keep TMDb's order; the sort only matters where it can be pushed down.
+    public IntFunction<CompletableFuture<Optional<Page<Movie>>>> pages(MovieQuery query) {
+        int[] genreIds = resolveGenres(query.genres());
+        Predicate<Movie> filter = localFilter(query, genreIds);
+        IntFunction<CompletableFuture<Optional<Page<Movie>>>> source;
+        if (query.text() == null) {
+            Map<String, String> filters = discoverFilters(query, genreIds);
+            source = page -> movieService.discoverAsync(filters, page);
+        } else {
+            source = page -> movieService.searchRemotelyAsync(query.text(), page);
+        }
+        return page -> source.apply(page).thenApply(result -> result.map(remote -> {
+            List<Movie> matches = new ArrayList<>(remote.content().size());
+            for (Movie movie : remote.content()) {
+                if (filter.test(movie)) {
+                    matches.add(movie);
+                }
+            }
+            return new Page<>(matches, remote.pageNumber(), remote.totalPages(), remote.totalResults());
+        }));
+    }
+
+    private Map<String, String> discoverFilters(MovieQuery query, int[] genreIds) {
+        Map<String, String> filters = new LinkedHashMap<>();
+        if (genreIds.length > 0) {
+            StringBuilder withGenres = new StringBuilder();
+            for (int genreId : genreIds) {
+                withGenres.append(withGenres.isEmpty() ? "" : ",").append(genreId);
+            }
+            filters.put("with_genres", withGenres.toString());
+        }
+        if (query.fromYear() > 0) {
+            filters.put("primary_release_date.gte", query.fromYear() + "-01-01");
+        }
+        if (query.toYear() > 0) {
+            filters.put("primary_release_date.lte", query.toYear() + "-12-31");
+        }
+        if (query.minRating() > 0) {
+            filters.put("vote_average.gte", Double.toString(query.minRating()));
+        }
+        // Ratings from a handful of votes crowd out everything else when filtering or sorting by rating.
+        if (minVotes > 0 && (query.minRating() > 0 || query.sort() == MovieQuery.Sort.RATING)) {
+            filters.put("vote_count.gte", Integer.toString(minVotes));
+        }
+        filters.put("sort_by", query.sort().discoverSort != null ? query.sort().discoverSort : "popularity.desc");
+        return filters;
+    }
+
+    private Predicate<Movie> localFilter(MovieQuery query, int[] genreIds) {
+        long requiredGenres = genreCatalog.maskOf(genreIds);
+        return movie -> {
+            if ((movie.genreMask() & requiredGenres) != requiredGenres) {
+                return false;
+            }
+            if (movie.voteAverage() < query.minRating()) {
+                return false;
+            }
+            if (query.fromYear() > 0 || query.toYear() > 0) {
+                int year = yearOf(movie);
+                return year > 0 && year >= query.fromYear() && (query.toYear() == 0 || year <= query.toYear());
+            }
+            return true;
+        };
+    }
+
+    // Pages are consumed in order with up to `parallelism` requests in flight. When results keep the source
+    // order, the scan stops as soon as the requested page is full.
+    private Optional<Page<Movie>> scan(IntFunction<CompletableFuture<Optional<Page<Movie>>>> source,
+                                       Predicate<Movie> filter, Comparator<Movie> order, int page) {
+        Optional<Page<Movie>> first = source.apply(1).join();
+        if (first.isEmpty()) {
+            return Optional.empty();
+        }
+        int remotePages = first.get().totalPages();
+        int lastPage = Math.min(remotePages, maxPages);
+        TopK topK = new TopK(page * PAGE_SIZE, order);
+        Set<Long> seen = new HashSet<>();
+        topK.offerAll(first.get().content(), filter, seen);
+
+        Deque<CompletableFuture<Optional<Page<Movie>>>> inFlight = new ArrayDeque<>();
+        int nextPage = 2;
+        int scanned = 1;
+        while (!(order == null && topK.isFull())) {
+            while (inFlight.size() < parallelism && nextPage <= lastPage) {
+                inFlight.add(source.apply(nextPage++));
+            }
+            if (inFlight.isEmpty()) {
+                break;
+            }
+            inFlight.poll().join().ifPresent(result -> topK.offerAll(result.content(), filter, seen));
+            scanned++;
+        }
+
+        List<Movie> ranked = topK.sorted();
+        int from = (page - 1) * PAGE_SIZE;
+        if (from >= ranked.size()) {
+            return Optional.empty();
+        }
+        // Stopping early leaves the total unknown, so only promise one more page.
+        boolean exhausted = scanned >= lastPage;
+        int totalPages = exhausted ? (int) ((topK.matches() + PAGE_SIZE - 1) / PAGE_SIZE) : page + 1;
+        return Optional.of(new Page<>(ranked.subList(from, ranked.size()), page, totalPages, topK.matches()));
+    }
+
+    private int[] resolveGenres(List<String> genres) {
+        if (genres.isEmpty()) {
+            return new int[0];
+        }
+        List<Genre> known = genreCatalog.list();
+        int[] ids = new int[genres.size()];
+        for (int i = 0; i < ids.length; i++) {
+            String wanted = genres.get(i);
+            ids[i] = known.stream()
+                    .filter(genre -> genre.name().equalsIgnoreCase(wanted) || String.valueOf(genre.id()).equals(wanted))
+                    .mapToInt(Genre::id)
+                    .findFirst()
+                    .orElseThrow(() -> new IllegalArgumentException("Unknown genre: " + wanted));
+        }
+        return ids;
+    }
+
+    private static int yearOf(Movie movie) {
+        String releaseDate = movie.releaseDate();
+        if (releaseDate == null || releaseDate.length() < 4) {
+            return 0;
+        }
+        try {
+            return Integer.parseInt(releaseDate, 0, 4, 10);
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    private void count(String plan) {
+        if (metrics.isEnabled()) {
+            metrics.increment("service_query_plan", "plan", plan);
+        }
+    }
+
+    // Keeps the best `limit` matches; the heap's head is the current worst so it can be evicted cheaply.
+    private static final class TopK {
+
+        private final int limit;
+        private final Comparator<Ranked> order;
+        private final PriorityQueue<Ranked> heap;
+        private long matches;
+
+        TopK(int limit, Comparator<Movie> movieOrder) {
+            Comparator<Ranked> byArrival = Comparator.comparingLong(Ranked::arrival);
+            this.limit = limit;
+            this.order = movieOrder == null
+                    ? byArrival
+                    : Comparator.comparing(Ranked::movie, movieOrder).thenComparing(byArrival);
+            this.heap = new PriorityQueue<>(limit + 1, order.reversed());
+        }
+
+        void offerAll(List<Movie> movies, Predicate<Movie> filter, Set<Long> seen) {
+            for (Movie movie : movies) {
+                // TMDb pages shift while they are read, so the same movie can show up twice.
+                if (!filter.test(movie) || !seen.add(movie.id())) {
+                    continue;
+                }
+                Ranked candidate = new Ranked(movie, matches++);
+                if (heap.size() < limit) {
+                    heap.add(candidate);
+                } else if (order.compare(candidate, heap.peek()) < 0) {
+                    heap.poll();
+                    heap.add(candidate);
+                }
+            }
+        }
+
+        boolean isFull() {
+            return heap.size() >= limit;
+        }
+
+        long matches() {
+            return matches;
+        }
+
+        List<Movie> sorted() {
+            List<Ranked> entries = new ArrayList<>(heap);
+            entries.sort(order);
+            List<Movie> movies = new ArrayList<>(entries.size());
+            entries.forEach(entry -> movies.add(entry.movie()));
+            return movies;
+        }
+    }
+
+    private record Ranked(Movie movie, long arrival) {
+    }
+}
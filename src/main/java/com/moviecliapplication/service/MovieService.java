@@ -3,10 +3,10 @@ package com.moviecliapplication.service;
 import com.moviecliapplication.domain.Genre;
 import com.moviecliapplication.domain.Movie;
 import com.moviecliapplication.domain.Page;
-import com.moviecliapplication.model.MovieListResponse;
 
 import java.util.Optional;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 public interface MovieService {
     Optional<Page<Movie>> searchByName(String name, int page);
@@ -17,4 +17,12 @@ public interface MovieService {
     Optional<Page<Movie>> getNowPlayingMovies(int page);
     Optional<Page<Movie>> getUpcomingMovies(int page);
     List<Genre> getGenres();
+
+    CompletableFuture<Optional<Page<Movie>>> searchByNameAsync(String name, int page);
+    CompletableFuture<Optional<Page<Movie>>> getMoviesByGenreAsync(int genreId, int page);
+    CompletableFuture<Optional<Page<Movie>>> getMoviesByYearAsync(int year, int page);
+    CompletableFuture<Optional<Page<Movie>>> getPopularMoviesAsync(int page);
+    CompletableFuture<Optional<Page<Movie>>> getTopRatedMoviesAsync(int page);
+    CompletableFuture<Optional<Page<Movie>>> getNowPlayingMoviesAsync(int page);
+    CompletableFuture<Optional<Page<Movie>>> getUpcomingMoviesAsync(int page);
 }
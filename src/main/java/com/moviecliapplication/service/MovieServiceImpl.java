@@ -1,141 +1,203 @@
 package com.moviecliapplication.service;
 
-import com.moviecliapplication.client.ApiClientException;
-import com.moviecliapplication.client.TMDbClient;
-import com.moviecliapplication.client.TMDbClientImpl;
+import com.moviecliapplication.catalog.CatalogStore;
+import com.moviecliapplication.client.AsyncTMDbClient;
+import com.moviecliapplication.config.AppConfig;
 import com.moviecliapplication.domain.Genre;
 import com.moviecliapplication.domain.Movie;
 import com.moviecliapplication.domain.Page;
+import com.moviecliapplication.metrics.Metrics;
 import com.moviecliapplication.model.MovieListResponse;
+import com.moviecliapplication.search.MovieIndex;
+import com.moviecliapplication.search.SearchHit;
 
 import jakarta.inject.Inject;
-import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
 
-public class MovieServiceImpl implements MovieService {
+public class MovieServiceImpl implements MovieService, RemoteMovieSource {
 
-    private final TMDbClient tmDbClient;
+    private static final int PAGE_SIZE = 20;
+    private static final int MAX_LOCAL_PAGES = 10;
 
-    private final Map<Integer, String> genreMap;
+    private final AsyncTMDbClient tmDbClient;
+    private final GenreCatalog genreCatalog;
+    private final MovieIndex movieIndex;
+    private final CatalogStore catalogStore;
+    private final Metrics metrics;
+    private final int minLocalMatches;
 
     @Inject
-    public MovieServiceImpl(TMDbClient tmDbClient) {
+    public MovieServiceImpl(AsyncTMDbClient tmDbClient, GenreCatalog genreCatalog, MovieIndex movieIndex,
+                            CatalogStore catalogStore, Metrics metrics, AppConfig appConfig) {
         this.tmDbClient = tmDbClient;
-        this.genreMap = new ConcurrentHashMap<>();
-        initializeGenres();
-    }
-
-    private void initializeGenres() {
-        tmDbClient.getGenreList()
-                .ifPresent(response -> response.genres()
-                        .forEach(genreDto -> genreMap.put(genreDto.id(), genreDto.name())));
+        this.genreCatalog = genreCatalog;
+        this.movieIndex = movieIndex;
+        this.catalogStore = catalogStore;
+        this.metrics = metrics;
+        this.minLocalMatches = appConfig.getInt("index.minLocalMatches", 5);
     }
 
     @Override
     public Optional<Page<Movie>> searchByName(String name, int page) {
-        try {
-            return tmDbClient.searchMoviesByName(name, page)
-                    .map(this::enrichAndCreatePage);
-        } catch (ApiClientException e) {
-            System.err.println("Error searching by name: " + e.getMessage());
-            return Optional.empty();
-        }
-
+        return searchByNameAsync(name, page).join();
     }
 
     @Override
     public Optional<Page<Movie>> getMoviesByGenre(int genreId, int page) {
-        try {
-            return tmDbClient.discoverMoviesByGenre(genreId, page)
-                    .map(this::enrichAndCreatePage);
-        } catch (ApiClientException e) {
-            System.err.println("Error searching by genre: " + e.getMessage());
-            return Optional.empty();
-        }
+        return getMoviesByGenreAsync(genreId, page).join();
     }
 
     @Override
     public Optional<Page<Movie>> getMoviesByYear(int year, int page) {
-        try {
-            return tmDbClient.discoverMoviesByYear(year, page)
-                    .map(this::enrichAndCreatePage);
-        } catch (ApiClientException e) {
-            System.err.println("Error searching by year: " + e.getMessage());
-            return Optional.empty();
-        }
+        return getMoviesByYearAsync(year, page).join();
     }
 
     @Override
     public Optional<Page<Movie>> getPopularMovies(int page) {
-        try {
-            return tmDbClient.getPopularMovies(page)
-                    .map(this::enrichAndCreatePage);
-        } catch (ApiClientException e) {
-            System.err.println("Error fetching popular movies: " + e.getMessage());
-            return Optional.empty();
-        }
+        return getPopularMoviesAsync(page).join();
     }
 
     @Override
     public Optional<Page<Movie>> getTopRatedMovies(int page) {
-        try {
-            return tmDbClient.getTopRatedMovies(page)
-                    .map(this::enrichAndCreatePage);
-        } catch (ApiClientException e) {
-            System.err.println("Error fetching top rated movies: " + e.getMessage());
-            return Optional.empty();
-        }
+        return getTopRatedMoviesAsync(page).join();
     }
 
     @Override
     public Optional<Page<Movie>> getNowPlayingMovies(int page) {
-        try {
-            return tmDbClient.getNowPlayingMovies(page)
-                    .map(this::enrichAndCreatePage);
-        } catch (ApiClientException e) {
-            System.err.println("Error fetching now playing movies: " + e.getMessage());
-            return Optional.empty();
-        }
+        return getNowPlayingMoviesAsync(page).join();
     }
 
     @Override
     public Optional<Page<Movie>> getUpcomingMovies(int page) {
-        try {
-            return tmDbClient.getUpcomingMovies(page)
-                    .map(this::enrichAndCreatePage);
-        } catch (ApiClientException e) {
-            System.err.println("Error fetching upcoming movies: " + e.getMessage());
-            return Optional.empty();
+        return getUpcomingMoviesAsync(page).join();
+    }
+
+    @Override
+    public CompletableFuture<Optional<Page<Movie>>> searchByNameAsync(String name, int page) {
+        Optional<Page<Movie>> local = searchLocally(name, page);
+        if (local.isPresent()) {
+            return CompletableFuture.completedFuture(local);
         }
+        return searchRemotelyAsync(name, page);
+    }
+
+    @Override
+    public CompletableFuture<Optional<Page<Movie>>> getMoviesByGenreAsync(int genreId, int page) {
+        return toPage(tmDbClient.discoverMoviesByGenreAsync(genreId, page), "Error searching by genre: ");
+    }
+
+    @Override
+    public CompletableFuture<Optional<Page<Movie>>> getMoviesByYearAsync(int year, int page) {
+        return toPage(tmDbClient.discoverMoviesByYearAsync(year, page), "Error searching by year: ");
+    }
+
+    @Override
+    public CompletableFuture<Optional<Page<Movie>>> getPopularMoviesAsync(int page) {
+        return toPage(tmDbClient.getPopularMoviesAsync(page), "Error fetching popular movies: ");
+    }
+
+    @Override
+    public CompletableFuture<Optional<Page<Movie>>> getTopRatedMoviesAsync(int page) {
+        return toPage(tmDbClient.getTopRatedMoviesAsync(page), "Error fetching top rated movies: ");
+    }
+
+    @Override
+    public CompletableFuture<Optional<Page<Movie>>> getNowPlayingMoviesAsync(int page) {
+        return toPage(tmDbClient.getNowPlayingMoviesAsync(page), "Error fetching now playing movies: ");
+    }
+
+    @Override
+    public CompletableFuture<Optional<Page<Movie>>> getUpcomingMoviesAsync(int page) {
+        return toPage(tmDbClient.getUpcomingMoviesAsync(page), "Error fetching upcoming movies: ");
+    }
+
+    @Override
+    public CompletableFuture<Optional<Page<Movie>>> discoverAsync(Map<String, String> filters, int page) {
+        return toPage(tmDbClient.discoverMoviesAsync(filters, page), "Error discovering movies: ");
+    }
+
+    @Override
+    public CompletableFuture<Optional<Page<Movie>>> searchRemotelyAsync(String text, int page) {
+        return orEmpty(searchRemotePageAsync(text, page), "Error searching by name: ");
+    }
+
+    @Override
+    public CompletableFuture<Page<Movie>> searchRemotePageAsync(String text, int page) {
+        return fetchPage(tmDbClient.searchMoviesByNameAsync(text, page));
     }
 
     @Override
     public List<Genre> getGenres() {
-        if (genreMap.isEmpty()) {
-            initializeGenres();
-        }
-        return genreMap.entrySet().stream()
-                .map(entry -> new Genre(entry.getKey(), entry.getValue()))
+        return genreCatalog.list();
+    }
+
+    // A query with enough local title matches is paged entirely through the index, with page counts taken from
+    // those matches, so every page of it comes from the same source and nothing is repeated or skipped.
+    private Optional<Page<Movie>> searchLocally(String name, int page) {
+        long start = metrics.start();
+        List<Movie> matches = movieIndex.search(name, MAX_LOCAL_PAGES * PAGE_SIZE).stream()
+                .filter(SearchHit::titleMatch)
+                .map(SearchHit::movie)
                 .collect(Collectors.toList());
+        metrics.recordSince("service_local_search", start);
+        if (matches.size() < minLocalMatches) {
+            return Optional.empty();
+        }
+        int totalPages = (matches.size() + PAGE_SIZE - 1) / PAGE_SIZE;
+        int from = Math.min((page - 1) * PAGE_SIZE, matches.size());
+        int to = Math.min(from + PAGE_SIZE, matches.size());
+        return Optional.of(new Page<>(List.copyOf(matches.subList(from, to)), page, totalPages, matches.size()));
     }
-    private Page<Movie> enrichAndCreatePage (MovieListResponse response) {
-        List<Movie> enrichedMovies =  response.results().stream()
-                .map(dto -> new Movie(
-                        dto.id(),
-                        dto.title(),
-                        dto.overview(),
-                        dto.releaseDate(),
-                        dto.voteAverage(),
-                        dto.genreIds().stream()
-                                .map(id -> genreMap.getOrDefault(id, "Unknown"))
-                                .collect(Collectors.toList())
-                ))
+
+    private CompletableFuture<Optional<Page<Movie>>> toPage(CompletableFuture<MovieListResponse> response,
+                                                           String errorPrefix) {
+        return orEmpty(fetchPage(response), errorPrefix);
+    }
+
+    private static CompletableFuture<Optional<Page<Movie>>> orEmpty(CompletableFuture<Page<Movie>> page,
+                                                                   String errorPrefix) {
+        return AsyncTMDbClient.forwardCancel(page
+                .thenApply(Optional::of)
+                .exceptionally(error -> {
+                    System.err.println(errorPrefix + AsyncTMDbClient.unwrap(error).getMessage());
+                    return Optional.empty();
+                }), page);
+    }
+
+    private CompletableFuture<Page<Movie>> fetchPage(CompletableFuture<MovieListResponse> response) {
+        return AsyncTMDbClient.forwardCancel(response
+                .thenCombine(genreCatalog.ready(), (body, ignored) -> body)
+                .thenApply(this::enrichAndCreatePage)
+                .thenApply(page -> {
+                    // Both only queue the movies; indexing and segment writes run on their own threads.
+                    movieIndex.addAll(page.content());
+                    catalogStore.append(page.content());
+                    return page;
+                }), response);
+    }
+
+    Page<Movie> enrichAndCreatePage (MovieListResponse response) {
+        long start = metrics.start();
+        List<Movie> enrichedMovies = response.results().stream()
+                .map(dto -> {
+                    long genreMask = dto.genreIds() == null ? 0 : genreCatalog.maskOf(dto.genreIds());
+                    return new Movie(
+                            dto.id(),
+                            dto.title(),
+                            dto.overview(),
+                            dto.releaseDate(),
+                            dto.voteAverage(),
+                            genreCatalog.namesOf(genreMask),
+                            genreMask
+                    );
+                })
                 .collect(Collectors.toList());
 
+        metrics.recordSince("service_enrich", start);
         return new Page<>(
                 enrichedMovies,
                 response.page(),
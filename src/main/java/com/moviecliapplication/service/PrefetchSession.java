@@ -0,0 +1,129 @@
+package com.moviecliapplication.service;
+
+import com.moviecliapplication.domain.Page;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+
+public class PrefetchSession<T> implements Function<Integer, Optional<Page<T>>>, AutoCloseable {
+
+    private static final class Slot<T> {
+        private final CompletableFuture<Optional<Page<T>>> future;
+        private boolean consumed;
+
+        private Slot(CompletableFuture<Optional<Page<T>>> future, boolean consumed) {
+            this.future = future;
+            this.consumed = consumed;
+        }
+    }
+
+    private final Prefetcher prefetcher;
+    private final IntFunction<CompletableFuture<Optional<Page<T>>>> pageFetcher;
+    private final int pagesAhead;
+    private final int pagesBehind;
+    private final Map<Integer, Slot<T>> buffer = new HashMap<>();
+    private final ReentrantLock lock = new ReentrantLock();
+    private int totalPages = Integer.MAX_VALUE;
+
+    // Pages are fetched through the service's async methods, so discarding a prefetch cancels its future, which
+    // the client carries down to the HTTP exchange and its throttle permit.
+    PrefetchSession(Prefetcher prefetcher, IntFunction<CompletableFuture<Optional<Page<T>>>> pageFetcher,
+                    int pagesAhead, int pagesBehind) {
+        this.prefetcher = prefetcher;
+        this.pageFetcher = pageFetcher;
+        this.pagesAhead = pagesAhead;
+        this.pagesBehind = pagesBehind;
+    }
+
+    // A lock rather than synchronized: apply() waits on the network, and a virtual thread blocked inside a monitor
+    // keeps its carrier thread, which under enough concurrent sessions leaves none to complete the responses.
+    @Override
+    public Optional<Page<T>> apply(Integer pageNumber) {
+        lock.lock();
+        try {
+            Slot<T> slot = buffer.get(pageNumber);
+            Optional<Page<T>> result = Optional.empty();
+            if (slot != null) {
+                slot.consumed = true;
+                result = await(slot.future);
+                if (result.isEmpty()) {
+                    // The service reports a failed fetch as an empty page, so a failed prefetch is retried once
+                    // below rather than ending the session.
+                    buffer.remove(pageNumber);
+                }
+            }
+            if (result.isPresent()) {
+                prefetcher.hits.increment();
+            } else {
+                prefetcher.misses.increment();
+                result = await(pageFetcher.apply(pageNumber));
+                if (result.isPresent()) {
+                    buffer.put(pageNumber, new Slot<>(CompletableFuture.completedFuture(result), true));
+                }
+            }
+
+            if (result.isPresent()) {
+                totalPages = result.get().totalPages();
+                refillAround(pageNumber);
+            }
+            return result;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static <T> Optional<Page<T>> await(CompletableFuture<Optional<Page<T>>> future) {
+        try {
+            return future.join();
+        } catch (CompletionException | CancellationException e) {
+            return Optional.empty();
+        }
+    }
+
+    private void refillAround(int current) {
+        int first = Math.max(1, current - pagesBehind);
+        int last = Math.min(totalPages, current + pagesAhead);
+
+        Iterator<Map.Entry<Integer, Slot<T>>> iterator = buffer.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<Integer, Slot<T>> entry = iterator.next();
+            if (entry.getKey() < first || entry.getKey() > last) {
+                discard(entry.getValue());
+                iterator.remove();
+            }
+        }
+
+        for (int page = first; page <= last; page++) {
+            if (!buffer.containsKey(page)) {
+                prefetcher.issued.increment();
+                buffer.put(page, new Slot<>(pageFetcher.apply(page), false));
+            }
+        }
+    }
+
+    private void discard(Slot<T> slot) {
+        if (!slot.consumed) {
+            prefetcher.wasted.increment();
+            slot.future.cancel(true);
+        }
+    }
+
+    @Override
+    public void close() {
+        lock.lock();
+        try {
+            buffer.values().forEach(this::discard);
+            buffer.clear();
+        } finally {
+            lock.unlock();
+        }
+    }
+}
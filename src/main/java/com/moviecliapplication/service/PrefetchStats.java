@@ -0,0 +1,14 @@
+package com.moviecliapplication.service;
+
+public record PrefetchStats(
+        long issued,
+        long hits,
+        long misses,
+        long wasted
+) {
+
+    public double hitRate() {
+        long requests = hits + misses;
+        return requests == 0 ? 0.0 : (double) hits / requests;
+    }
+}
@@ -0,0 +1,38 @@
+package com.moviecliapplication.service;
+
+import com.moviecliapplication.config.AppConfig;
+import com.moviecliapplication.domain.Page;
+
+import jakarta.inject.Inject;
+
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.IntFunction;
+
+public class Prefetcher {
+
+    private final boolean enabled;
+    private final int pagesAhead;
+    private final int pagesBehind;
+
+    final LongAdder issued = new LongAdder();
+    final LongAdder hits = new LongAdder();
+    final LongAdder misses = new LongAdder();
+    final LongAdder wasted = new LongAdder();
+
+    @Inject
+    public Prefetcher(AppConfig appConfig) {
+        this.enabled = appConfig.getBoolean("prefetch.enabled", true);
+        this.pagesAhead = Math.max(0, appConfig.getInt("prefetch.ahead", 1));
+        this.pagesBehind = Math.max(0, appConfig.getInt("prefetch.behind", 1));
+    }
+
+    public <T> PrefetchSession<T> open(IntFunction<CompletableFuture<Optional<Page<T>>>> pageFetcher) {
+        return new PrefetchSession<>(this, pageFetcher, enabled ? pagesAhead : 0, enabled ? pagesBehind : 0);
+    }
+
+    public PrefetchStats stats() {
+        return new PrefetchStats(issued.sum(), hits.sum(), misses.sum(), wasted.sum());
+    }
+}
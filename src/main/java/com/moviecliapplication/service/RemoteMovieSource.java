@@ -0,0 +1,17 @@
+package com.moviecliapplication.service;
+
+import com.moviecliapplication.domain.Movie;
+import com.moviecliapplication.domain.Page;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+// TMDb lookups that never go through the local index or catalog, for the query engine and typeahead.
+public interface RemoteMovieSource {
+    CompletableFuture<Optional<Page<Movie>>> discoverAsync(Map<String, String> filters, int page);
+    CompletableFuture<Optional<Page<Movie>>> searchRemotelyAsync(String text, int page);
+
+    // Fails with the client's exception instead of printing it, for callers that show errors themselves.
+    CompletableFuture<Page<Movie>> searchRemotePageAsync(String text, int page);
+}
@@ -0,0 +1,15 @@
+package com.moviecliapplication.service;
+
+import com.moviecliapplication.domain.Movie;
+
+import java.util.List;
+
+// What to show for the text typed so far. While pending, a /search/movie call for it is still to come and a
+// later Suggestions for the same text will replace this one. error is set, with the local matches alone, when
+// that call failed.
+public record Suggestions(String text, List<Movie> movies, boolean pending, String error) {
+
+    Suggestions(String text, List<Movie> movies, boolean pending) {
+        this(text, movies, pending, null);
+    }
+}
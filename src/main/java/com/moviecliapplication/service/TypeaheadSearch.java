@@ -0,0 +1,175 @@
+package com.moviecliapplication.service;
+
+import com.moviecliapplication.config.AppConfig;
+import com.moviecliapplication.domain.Movie;
+import com.moviecliapplication.metrics.Metrics;
+import com.moviecliapplication.search.MovieIndex;
+import com.moviecliapplication.search.SearchHit;
+import com.moviecliapplication.search.Tokenizer;
+
+import jakarta.inject.Inject;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.function.Consumer;
+
+// Suggestions for a title while it is being typed. Local index matches are returned at once; TMDb is only asked
+// once typing pauses, and only when the local index cannot fill the list. Remote answers are kept per query, and
+// a complete answer (every result fit on one page) also answers every longer query that starts with it.
+public class TypeaheadSearch {
+
+    private final MovieIndex movieIndex;
+    private final RemoteMovieSource movieService;
+    private final Metrics metrics;
+    private final Duration debounce;
+    private final int minChars;
+    private final int limit;
+    private final int cacheEntries;
+    private final Map<String, Remote> remoteResults;
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable ->
+            Thread.ofPlatform().daemon().name("typeahead").unstarted(runnable));
+
+    record Remote(List<Movie> movies, boolean complete) {
+    }
+
+    @Inject
+    public TypeaheadSearch(MovieIndex movieIndex, RemoteMovieSource movieService, Metrics metrics,
+                           AppConfig appConfig) {
+        this.movieIndex = movieIndex;
+        this.movieService = movieService;
+        this.metrics = metrics;
+        this.debounce = appConfig.getDuration("typeahead.debounce", Duration.ofMillis(150));
+        this.minChars = Math.max(1, appConfig.getInt("typeahead.minChars", 2));
+        this.limit = Math.max(1, appConfig.getInt("typeahead.limit", 8));
+        this.cacheEntries = Math.max(1, appConfig.getInt("typeahead.cacheEntries", 256));
+        this.remoteResults = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Remote> eldest) {
+                return size() > TypeaheadSearch.this.cacheEntries;
+            }
+        };
+    }
+
+    public TypeaheadSession open(Consumer<Suggestions> listener) {
+        return new TypeaheadSession(this, listener);
+    }
+
+    int minChars() {
+        return minChars;
+    }
+
+    Duration debounce() {
+        return debounce;
+    }
+
+    ScheduledExecutorService scheduler() {
+        return scheduler;
+    }
+
+    // Tokens joined by single spaces, so "Star  Wars" and "star wars" share an entry.
+    static String normalize(String text) {
+        return String.join(" ", Tokenizer.tokenize(text, false));
+    }
+
+    List<Movie> local(String text) {
+        long start = metrics.start();
+        List<Movie> movies = new ArrayList<>(limit);
+        for (SearchHit hit : movieIndex.search(text, limit)) {
+            if (hit.titleMatch()) {
+                movies.add(hit.movie());
+            }
+        }
+        metrics.recordSince("service_typeahead_local", start);
+        return movies;
+    }
+
+    boolean isFull(List<Movie> movies) {
+        return movies.size() >= limit;
+    }
+
+    // A remote answer for this exact query, or one narrowed down from a complete answer for a shorter prefix.
+    synchronized Optional<List<Movie>> cached(String key) {
+        Remote exact = remoteResults.get(key);
+        if (exact != null) {
+            count("cache");
+            return Optional.of(exact.movies());
+        }
+        for (int end = key.length() - 1; end >= minChars; end--) {
+            Remote prefix = remoteResults.get(key.substring(0, end));
+            if (prefix != null && prefix.complete()) {
+                List<String> tokens = Tokenizer.tokenize(key, false);
+                List<Movie> narrowed = new ArrayList<>();
+                for (Movie movie : prefix.movies()) {
+                    if (titleMatches(movie, tokens)) {
+                        narrowed.add(movie);
+                    }
+                }
+                remoteResults.put(key, new Remote(narrowed, true));
+                count("prefix");
+                return Optional.of(narrowed);
+            }
+        }
+        return Optional.empty();
+    }
+
+    // Only answers that arrived are cached; a failed lookup fails the future, so the next pause asks again.
+    CompletableFuture<List<Movie>> remote(String text, String key) {
+        count("remote");
+        long start = metrics.start();
+        return movieService.searchRemotePageAsync(text, 1).thenApply(page -> {
+            metrics.recordSince("service_typeahead_remote", start);
+            List<Movie> movies = page.content();
+            boolean complete = page.totalResults() <= movies.size();
+            synchronized (this) {
+                remoteResults.put(key, new Remote(movies, complete));
+            }
+            return movies;
+        });
+    }
+
+    // Local matches first so the list does not reshuffle when the remote answer lands, then TMDb's order.
+    List<Movie> merge(List<Movie> local, List<Movie> remote) {
+        List<Movie> merged = new ArrayList<>(limit);
+        Set<Long> ids = new HashSet<>();
+        for (List<Movie> source : List.of(local, remote)) {
+            for (Movie movie : source) {
+                if (merged.size() < limit && ids.add(movie.id())) {
+                    merged.add(movie);
+                }
+            }
+        }
+        return merged;
+    }
+
+    void count(String outcome) {
+        if (metrics.isEnabled()) {
+            metrics.increment("service_typeahead", "outcome", outcome);
+        }
+    }
+
+    private static boolean titleMatches(Movie movie, List<String> tokens) {
+        List<String> titleTokens = Tokenizer.tokenize(movie.title(), false);
+        for (String token : tokens) {
+            boolean found = false;
+            for (String titleToken : titleTokens) {
+                if (titleToken.startsWith(token)) {
+                    found = true;
+                    break;
+                }
+            }
+            if (!found) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
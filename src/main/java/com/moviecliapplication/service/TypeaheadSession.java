@@ -0,0 +1,95 @@
+package com.moviecliapplication.service;
+
+import com.moviecliapplication.client.AsyncTMDbClient;
+import com.moviecliapplication.domain.Movie;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+// One prompt's worth of typing. Every update supersedes the previous one: a remote call that has not started yet
+// is dropped, and one that is in flight is abandoned, not cancelled. Cancelling inFlight only detaches the stage
+// that would draw its answer; the HTTP request runs to completion, since it may be shared with other callers
+// through the single-flight and response caches, and its answer is still cached for the query it was sent for,
+// so typing back to that text is free.
+public class TypeaheadSession implements AutoCloseable {
+
+    private final TypeaheadSearch search;
+    private final Consumer<Suggestions> listener;
+    private long generation;
+    private ScheduledFuture<?> scheduled;
+    private CompletableFuture<Void> inFlight;
+
+    TypeaheadSession(TypeaheadSearch search, Consumer<Suggestions> listener) {
+        this.search = search;
+        this.listener = listener;
+    }
+
+    public synchronized void update(String text) {
+        generation++;
+        cancelPending();
+        String key = TypeaheadSearch.normalize(text);
+        if (key.length() < search.minChars()) {
+            listener.accept(new Suggestions(text, List.of(), false));
+            return;
+        }
+
+        List<Movie> local = search.local(text);
+        if (search.isFull(local)) {
+            search.count("local");
+            listener.accept(new Suggestions(text, local, false));
+            return;
+        }
+        Optional<List<Movie>> cached = search.cached(key);
+        if (cached.isPresent()) {
+            listener.accept(new Suggestions(text, search.merge(local, cached.get()), false));
+            return;
+        }
+
+        listener.accept(new Suggestions(text, local, true));
+        long expected = generation;
+        scheduled = search.scheduler().schedule(() -> sendRemote(text, key, local, expected),
+                search.debounce().toNanos(), TimeUnit.NANOSECONDS);
+    }
+
+    private synchronized void sendRemote(String text, String key, List<Movie> local, long expected) {
+        if (expected != generation) {
+            return;
+        }
+        scheduled = null;
+        inFlight = search.remote(text, key).handle((remote, error) -> {
+            synchronized (this) {
+                if (expected == generation) {
+                    listener.accept(error == null
+                            ? new Suggestions(text, search.merge(local, remote), false)
+                            : new Suggestions(text, local, false, AsyncTMDbClient.unwrap(error).getMessage()));
+                }
+            }
+            return null;
+        });
+    }
+
+    private void cancelPending() {
+        if (scheduled != null) {
+            if (scheduled.cancel(false)) {
+                search.count("debounced");
+            }
+            scheduled = null;
+        }
+        if (inFlight != null) {
+            if (inFlight.cancel(false)) {
+                search.count("superseded");
+            }
+            inFlight = null;
+        }
+    }
+
+    @Override
+    public synchronized void close() {
+        generation++;
+        cancelPending();
+    }
+}
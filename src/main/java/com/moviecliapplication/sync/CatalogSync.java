@@ -0,0 +1,233 @@
+package com.moviecliapplication.sync;
+
+import com.moviecliapplication.domain.Movie;
+import com.moviecliapplication.domain.Page;
+import com.moviecliapplication.service.MovieService;
+
+import jakarta.inject.Inject;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.IntFunction;
+
+// Refreshes listings against what the previous run saw. Listings go in priority order (what changes fastest
+// first), pages within a listing in order with a few requests in flight, and a listing stops once enough pages
+// in a row come back with the same fingerprint as last time; the rest of it is carried over. Every fetched page
+// also lands in the catalog through MovieService, so only the delta of ids has to be written here.
+public class CatalogSync {
+
+    private final MovieService movieService;
+
+    @Inject
+    public CatalogSync(MovieService movieService) {
+        this.movieService = movieService;
+    }
+
+    public SyncResult sync(SyncOptions options) throws IOException {
+        long start = System.nanoTime();
+        SyncState previous = SyncState.load(options.state());
+        SyncState next = previous.copy();
+        Run run = new Run(options);
+
+        for (Map.Entry<String, IntFunction<CompletableFuture<Optional<Page<Movie>>>>> listing
+                : listingsByPriority(options).entrySet()) {
+            SyncState.Listing last = options.full() ? null : previous.listing(listing.getKey());
+            SyncState.Listing synced = syncListing(listing.getValue(), last, next, run);
+            if (synced != null) {
+                next.putListing(listing.getKey(), synced);
+            }
+        }
+
+        int[] counts;
+        try (BufferedWriter writer = Files.newBufferedWriter(options.delta(), StandardCharsets.UTF_8)) {
+            counts = writeDelta(previous, next, writer);
+        }
+        next.save(options.state());
+        return new SyncResult(run.listings, run.fetched, run.unchanged, run.carried, run.failed, run.inFull,
+                counts[0], counts[1], counts[2], run.exhausted, Duration.ofNanos(System.nanoTime() - start));
+    }
+
+    // Now playing and upcoming turn over daily and recent years gain movies and votes, while the long tail of
+    // popular and top rated barely moves; with a request budget, the fast-moving listings are the ones refreshed.
+    private Map<String, IntFunction<CompletableFuture<Optional<Page<Movie>>>>> listingsByPriority(SyncOptions options) {
+        Map<String, IntFunction<CompletableFuture<Optional<Page<Movie>>>>> listings = new LinkedHashMap<>();
+        List<String> categories = options.listings();
+        if (categories.contains("now_playing")) {
+            listings.put("now_playing", movieService::getNowPlayingMoviesAsync);
+        }
+        if (categories.contains("upcoming")) {
+            listings.put("upcoming", movieService::getUpcomingMoviesAsync);
+        }
+        if (options.fromYear() > 0) {
+            for (int year = options.toYear(); year >= options.fromYear(); year--) {
+                int target = year;
+                listings.put("year:" + year, page -> movieService.getMoviesByYearAsync(target, page));
+            }
+        }
+        if (categories.contains("popular")) {
+            listings.put("popular", movieService::getPopularMoviesAsync);
+        }
+        if (categories.contains("top_rated")) {
+            listings.put("top_rated", movieService::getTopRatedMoviesAsync);
+        }
+        return listings;
+    }
+
+    // Returns null when nothing could be fetched, so the previous state of the listing is kept as it was.
+    private SyncState.Listing syncListing(IntFunction<CompletableFuture<Optional<Page<Movie>>>> fetcher,
+                                          SyncState.Listing last, SyncState next, Run run) {
+        run.listings++;
+        if (!run.take()) {
+            return null;
+        }
+        Optional<Page<Movie>> first = fetcher.apply(1).join();
+        if (first.isEmpty()) {
+            run.failed++;
+            return null;
+        }
+        int lastPage = Math.min(first.get().totalPages(), run.options.maxPages());
+        run.inFull += lastPage;
+        SyncState.Listing synced = new SyncState.Listing(Math.max(1, lastPage));
+        int unchangedInARow = record(synced, 1, first.get(), last, next, run) ? 1 : 0;
+
+        Deque<CompletableFuture<Optional<Page<Movie>>>> inFlight = new ArrayDeque<>();
+        Deque<Integer> inFlightPages = new ArrayDeque<>();
+        int nextPage = 2;
+        boolean stopped = false;
+        while (true) {
+            if (!stopped && last != null && unchangedInARow >= run.options.unchangedPages()) {
+                // The pages read so far match the last run, so the rest of it is taken as is. Only pages the last
+                // run never had (the listing grew) are still fetched.
+                stopped = true;
+                nextPage = Math.max(nextPage, last.pages() + 1);
+            }
+            // While pages keep matching, only the ones needed to confirm the stop are requested, so a listing
+            // that did not change costs `unchangedPages` requests rather than a full window.
+            int window = !stopped && unchangedInARow > 0
+                    ? Math.min(run.options.concurrency(), run.options.unchangedPages() - unchangedInARow)
+                    : run.options.concurrency();
+            while (inFlight.size() < window && nextPage <= lastPage && run.take()) {
+                inFlightPages.add(nextPage);
+                inFlight.add(fetcher.apply(nextPage++));
+            }
+            if (inFlight.isEmpty()) {
+                break;
+            }
+            int page = inFlightPages.poll();
+            Optional<Page<Movie>> result = inFlight.poll().join();
+            if (result.isEmpty()) {
+                run.failed++;
+                unchangedInARow = 0;
+            } else if (record(synced, page, result.get(), last, next, run)) {
+                unchangedInARow++;
+            } else {
+                unchangedInARow = 0;
+            }
+        }
+
+        // Pages skipped, failed or out of budget keep what the last run saw.
+        for (int page = 2; page <= lastPage; page++) {
+            if (!synced.has(page) && last != null && last.has(page)) {
+                synced.set(page, last.fingerprint(page), last.ids(page));
+                run.carried++;
+            }
+        }
+        return synced;
+    }
+
+    // Stores the page in the new state and returns whether it matches the previous run's page.
+    private boolean record(SyncState.Listing synced, int page, Page<Movie> result, SyncState.Listing last,
+                           SyncState next, Run run) {
+        List<Movie> movies = result.content();
+        long[] ids = new long[movies.size()];
+        long[] hashes = new long[movies.size()];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = movies.get(i).id();
+            hashes[i] = SyncState.hashOf(movies.get(i));
+            next.putHash(ids[i], hashes[i]);
+        }
+        long fingerprint = SyncState.fingerprintOf(ids, hashes);
+        if (page <= synced.pages()) {
+            synced.set(page, fingerprint, ids);
+        }
+        run.fetched++;
+        boolean unchanged = last != null && last.has(page) && last.fingerprint(page) == fingerprint;
+        if (unchanged) {
+            run.unchanged++;
+        }
+        return unchanged;
+    }
+
+    // One NDJSON line per id: added to the synced listings, changed since the last run, or gone from all of them.
+    // Returns the three counts in that order.
+    private static int[] writeDelta(SyncState previous, SyncState next, Writer writer) throws IOException {
+        long[] before = previous.members();
+        long[] after = next.members();
+        int[] counts = new int[3];
+        int b = 0;
+        int a = 0;
+        while (b < before.length || a < after.length) {
+            if (a < after.length && (b == before.length || after[a] < before[b])) {
+                writeLine(writer, "added", after[a++]);
+                counts[0]++;
+            } else if (b < before.length && (a == after.length || before[b] < after[a])) {
+                writeLine(writer, "removed", before[b++]);
+                counts[2]++;
+            } else {
+                long id = after[a++];
+                b++;
+                if (previous.hasHash(id) && previous.hash(id) != next.hash(id)) {
+                    writeLine(writer, "changed", id);
+                    counts[1]++;
+                }
+            }
+        }
+        return counts;
+    }
+
+    private static void writeLine(Writer writer, String change, long id) throws IOException {
+        writer.write("{\"change\":\"");
+        writer.write(change);
+        writer.write("\",\"id\":");
+        writer.write(Long.toString(id));
+        writer.write("}\n");
+    }
+
+    private static final class Run {
+
+        private final SyncOptions options;
+        private int budget;
+        private int listings;
+        private int fetched;
+        private int unchanged;
+        private int carried;
+        private int failed;
+        private int inFull;
+        private boolean exhausted;
+
+        Run(SyncOptions options) {
+            this.options = options;
+            this.budget = options.maxRequests();
+        }
+
+        boolean take() {
+            if (budget <= 0) {
+                exhausted = true;
+                return false;
+            }
+            budget--;
+            return true;
+        }
+    }
+}
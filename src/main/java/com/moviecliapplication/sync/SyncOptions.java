@@ -0,0 +1,101 @@
+package com.moviecliapplication.sync;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+public record SyncOptions(
+        List<String> listings,
+        int fromYear,
+        int toYear,
+        int concurrency,
+        int maxPages,
+        int unchangedPages,
+        int maxRequests,
+        boolean full,
+        Path state,
+        Path delta
+) {
+
+    public static final List<String> CATEGORIES = List.of("now_playing", "upcoming", "popular", "top_rated");
+
+    public static final String USAGE = """
+            Usage: --sync [listing...] [options]
+              listings: now_playing | upcoming | popular | top_rated (default: all four)
+              --years <from>-<to>    also sync discover listings for each release year in the range
+              --concurrency <n>      maximum in-flight requests (default 8)
+              --max-pages <n>        pages kept per listing (default 500)
+              --unchanged <n>        stop a listing after this many pages in a row match the last run (default 3)
+              --max-requests <n>     request budget for the run; listings are synced in priority order (default unlimited)
+              --full                 refetch every page, ignoring the previous run
+              --state <file>         fingerprints from the previous run (default ~/.movie-cli/sync-state.bin)
+              --delta <file>         NDJSON file for added, changed and removed ids (default sync-delta.ndjson)""";
+
+    public static SyncOptions parse(String[] args) {
+        List<String> listings = new ArrayList<>();
+        int fromYear = 0;
+        int toYear = 0;
+        int concurrency = 8;
+        int maxPages = 500;
+        int unchangedPages = 3;
+        int maxRequests = Integer.MAX_VALUE;
+        boolean full = false;
+        Path state = Path.of(System.getProperty("user.home"), ".movie-cli", "sync-state.bin");
+        Path delta = Path.of("sync-delta.ndjson");
+
+        for (int i = 1; i < args.length; i++) {
+            switch (args[i]) {
+                case "--years" -> {
+                    String range = value(args, ++i);
+                    int dash = range.indexOf('-');
+                    fromYear = parseInt(dash < 0 ? range : range.substring(0, dash));
+                    toYear = dash < 0 ? fromYear : parseInt(range.substring(dash + 1));
+                }
+                case "--concurrency" -> concurrency = parseInt(value(args, ++i));
+                case "--max-pages" -> maxPages = parseInt(value(args, ++i));
+                case "--unchanged" -> unchangedPages = parseInt(value(args, ++i));
+                case "--max-requests" -> maxRequests = parseInt(value(args, ++i));
+                case "--full" -> full = true;
+                case "--state" -> state = Path.of(value(args, ++i));
+                case "--delta" -> delta = Path.of(value(args, ++i));
+                default -> {
+                    String listing = args[i].toLowerCase();
+                    if (!CATEGORIES.contains(listing)) {
+                        throw new IllegalArgumentException("Unknown listing or option: " + args[i]);
+                    }
+                    if (!listings.contains(listing)) {
+                        listings.add(listing);
+                    }
+                }
+            }
+        }
+
+        if (listings.isEmpty() && fromYear == 0) {
+            listings.addAll(CATEGORIES);
+        }
+        if (fromYear > toYear || (fromYear != 0 && fromYear < 1874)) {
+            throw new IllegalArgumentException("--years needs a range like 2015-2024.");
+        }
+        if (concurrency < 1 || maxPages < 1 || unchangedPages < 1 || maxRequests < 1) {
+            throw new IllegalArgumentException(
+                    "--concurrency, --max-pages, --unchanged and --max-requests must be positive.");
+        }
+        return new SyncOptions(List.copyOf(listings), fromYear, toYear, concurrency, maxPages, unchangedPages,
+                maxRequests, full, state, delta);
+    }
+
+    private static int parseInt(String value) {
+        try {
+            return Integer.parseInt(value.strip());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Expected a number but got: " + value);
+        }
+    }
+
+    private static String value(String[] args, int index) {
+        if (index >= args.length) {
+            throw new IllegalArgumentException("Missing value for " + args[index - 1]);
+        }
+        return args[index];
+    }
+}
@@ -0,0 +1,19 @@
+package com.moviecliapplication.sync;
+
+import java.time.Duration;
+
+// pagesInFull is what a full crawl of the same listings would have fetched.
+public record SyncResult(
+        int listings,
+        int pagesFetched,
+        int pagesUnchanged,
+        int pagesCarried,
+        int pagesFailed,
+        int pagesInFull,
+        int added,
+        int changed,
+        int removed,
+        boolean budgetExhausted,
+        Duration elapsed
+) {
+}
@@ -0,0 +1,265 @@
+package com.moviecliapplication.sync;
+
+import com.moviecliapplication.catalog.LongIntMap;
+import com.moviecliapplication.domain.Movie;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// What one sync saw: for every listing, each page's movie ids and a fingerprint of its content, plus a hash
+// per movie. The next run compares against it to skip unchanged pages and to tell which movies changed.
+final class SyncState {
+
+    private static final int MAGIC = 0x4D53594E;
+    private static final int VERSION = 1;
+    private static final long FNV_OFFSET = 0xCBF29CE484222325L;
+    private static final long FNV_PRIME = 0x100000001B3L;
+
+    private final Map<String, Listing> listings = new LinkedHashMap<>();
+    private final LongIntMap movieSlots;
+    private long[] movieIds;
+    private long[] movieHashes;
+    private int movieCount;
+
+    SyncState(int expectedMovies) {
+        movieSlots = new LongIntMap(expectedMovies);
+        movieIds = new long[Math.max(16, expectedMovies)];
+        movieHashes = new long[movieIds.length];
+    }
+
+    static SyncState load(Path file) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file), 1 << 16))) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+                throw new IOException("Unrecognized sync state format");
+            }
+            int listingCount = in.readInt();
+            Map<String, Listing> listings = new LinkedHashMap<>();
+            for (int l = 0; l < listingCount; l++) {
+                String key = in.readUTF();
+                Listing listing = new Listing(in.readInt());
+                for (int p = 0; p < listing.pages(); p++) {
+                    long fingerprint = in.readLong();
+                    int idCount = in.readInt();
+                    if (idCount < 0) {
+                        continue;
+                    }
+                    long[] ids = new long[idCount];
+                    for (int i = 0; i < idCount; i++) {
+                        ids[i] = in.readLong();
+                    }
+                    listing.set(p + 1, fingerprint, ids);
+                }
+                listings.put(key, listing);
+            }
+            int movieCount = in.readInt();
+            SyncState state = new SyncState(movieCount);
+            state.listings.putAll(listings);
+            for (int m = 0; m < movieCount; m++) {
+                state.putHash(in.readLong(), in.readLong());
+            }
+            return state;
+        } catch (NoSuchFileException e) {
+            return new SyncState(0);
+        }
+    }
+
+    // Only the hashes of movies still on some listing are kept.
+    void save(Path file) throws IOException {
+        Path directory = file.toAbsolutePath().getParent();
+        Files.createDirectories(directory);
+        Path temp = Files.createTempFile(directory, "sync-state", ".tmp");
+        long[] members = members();
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp), 1 << 16))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(listings.size());
+            for (Map.Entry<String, Listing> entry : listings.entrySet()) {
+                Listing listing = entry.getValue();
+                out.writeUTF(entry.getKey());
+                out.writeInt(listing.pages());
+                for (int p = 1; p <= listing.pages(); p++) {
+                    long[] ids = listing.ids(p);
+                    out.writeLong(listing.fingerprint(p));
+                    out.writeInt(ids == null ? -1 : ids.length);
+                    if (ids != null) {
+                        for (long id : ids) {
+                            out.writeLong(id);
+                        }
+                    }
+                }
+            }
+            int known = 0;
+            for (long id : members) {
+                if (movieSlots.get(id) != LongIntMap.MISSING) {
+                    known++;
+                }
+            }
+            out.writeInt(known);
+            for (long id : members) {
+                int slot = movieSlots.get(id);
+                if (slot != LongIntMap.MISSING) {
+                    out.writeLong(id);
+                    out.writeLong(movieHashes[slot]);
+                }
+            }
+        }
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    // A new state that starts from this one's listings and hashes; listings a run does not touch stay as they were.
+    SyncState copy() {
+        SyncState copy = new SyncState(movieCount);
+        copy.listings.putAll(listings);
+        for (int i = 0; i < movieCount; i++) {
+            copy.putHash(movieIds[i], movieHashes[i]);
+        }
+        return copy;
+    }
+
+    boolean isEmpty() {
+        return listings.isEmpty();
+    }
+
+    Listing listing(String key) {
+        return listings.get(key);
+    }
+
+    void putListing(String key, Listing listing) {
+        listings.put(key, listing);
+    }
+
+    boolean hasHash(long id) {
+        return movieSlots.get(id) != LongIntMap.MISSING;
+    }
+
+    long hash(long id) {
+        int slot = movieSlots.get(id);
+        return slot == LongIntMap.MISSING ? 0 : movieHashes[slot];
+    }
+
+    void putHash(long id, long hash) {
+        int slot = movieSlots.get(id);
+        if (slot == LongIntMap.MISSING) {
+            if (movieCount == movieIds.length) {
+                movieIds = Arrays.copyOf(movieIds, movieCount * 2);
+                movieHashes = Arrays.copyOf(movieHashes, movieCount * 2);
+            }
+            slot = movieCount++;
+            movieIds[slot] = id;
+            movieSlots.put(id, slot);
+        }
+        movieHashes[slot] = hash;
+    }
+
+    // Every id on any page of any listing, once, in ascending order.
+    long[] members() {
+        LongIntMap seen = new LongIntMap(movieCount);
+        long[] ids = new long[Math.max(16, movieCount)];
+        int count = 0;
+        for (Listing listing : listings.values()) {
+            for (int p = 1; p <= listing.pages(); p++) {
+                long[] pageIds = listing.ids(p);
+                if (pageIds == null) {
+                    continue;
+                }
+                for (long id : pageIds) {
+                    if (seen.put(id, 0) == LongIntMap.MISSING) {
+                        if (count == ids.length) {
+                            ids = Arrays.copyOf(ids, count * 2);
+                        }
+                        ids[count++] = id;
+                    }
+                }
+            }
+        }
+        long[] members = Arrays.copyOf(ids, count);
+        Arrays.sort(members);
+        return members;
+    }
+
+    // Stable across runs and JVMs, unlike String.hashCode-based hashes of records. The rating is rounded to the
+    // precision it is shown with, so vote drift in the second decimal does not count as a change.
+    static long hashOf(Movie movie) {
+        long hash = FNV_OFFSET;
+        hash = mix(hash, movie.title());
+        hash = mix(hash, movie.overview());
+        hash = mix(hash, movie.releaseDate());
+        hash = mix(hash, Math.round(movie.voteAverage() * 10));
+        List<String> genres = movie.genres() != null ? movie.genres() : List.of();
+        for (String genre : genres) {
+            hash = mix(hash, genre);
+        }
+        return hash;
+    }
+
+    // Order matters: a page whose movies swapped places is a different page.
+    static long fingerprintOf(long[] ids, long[] hashes) {
+        long fingerprint = FNV_OFFSET;
+        for (int i = 0; i < ids.length; i++) {
+            fingerprint = mix(mix(fingerprint, ids[i]), hashes[i]);
+        }
+        return fingerprint;
+    }
+
+    private static long mix(long hash, String value) {
+        if (value == null) {
+            return mix(hash, -1L);
+        }
+        for (int i = 0; i < value.length(); i++) {
+            hash = (hash ^ value.charAt(i)) * FNV_PRIME;
+        }
+        return mix(hash, value.length());
+    }
+
+    private static long mix(long hash, long value) {
+        for (int shift = 0; shift < 64; shift += 8) {
+            hash = (hash ^ ((value >>> shift) & 0xFF)) * FNV_PRIME;
+        }
+        return hash;
+    }
+
+    // Pages are numbered from 1. A page without ids was never synced (the budget ran out, or it failed on a
+    // first run).
+    static final class Listing {
+
+        private final long[] fingerprints;
+        private final long[][] ids;
+
+        Listing(int pages) {
+            this.fingerprints = new long[pages];
+            this.ids = new long[pages][];
+        }
+
+        int pages() {
+            return ids.length;
+        }
+
+        boolean has(int page) {
+            return page <= ids.length && ids[page - 1] != null;
+        }
+
+        long fingerprint(int page) {
+            return fingerprints[page - 1];
+        }
+
+        long[] ids(int page) {
+            return ids[page - 1];
+        }
+
+        void set(int page, long fingerprint, long[] pageIds) {
+            fingerprints[page - 1] = fingerprint;
+            ids[page - 1] = pageIds;
+        }
+    }
+}